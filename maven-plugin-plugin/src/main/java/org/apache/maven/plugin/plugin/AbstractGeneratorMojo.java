@@ -23,7 +23,9 @@ import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.IncludesArtifactFilter;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.descriptor.InvalidPluginDescriptorException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
@@ -33,6 +35,7 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
 import org.apache.maven.tools.plugin.PluginToolsRequest;
 import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.ExtractionTimingReport;
 import org.apache.maven.tools.plugin.generator.Generator;
 import org.apache.maven.tools.plugin.generator.GeneratorException;
 import org.apache.maven.tools.plugin.generator.GeneratorUtils;
@@ -41,6 +44,7 @@ import org.codehaus.plexus.component.repository.ComponentDependency;
 import org.codehaus.plexus.util.ReaderFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -61,6 +65,14 @@ public abstract class AbstractGeneratorMojo
     @Parameter( defaultValue = "${project}", readonly = true )
     protected MavenProject project;
 
+    /**
+     * The current build session, in which the scan results of dependencies are shared between modules.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "${session}", readonly = true )
+    private MavenSession session;
+
     /**
      * The component used for scanning the source tree for mojos.
      */
@@ -145,6 +157,142 @@ public abstract class AbstractGeneratorMojo
     @Parameter
     private List<String> mojoDependencies;
 
+    /**
+     * Specify the packages of dependencies classes to scan for (abstract) Mojos, as package names where {@code *}
+     * matches part of a package name segment and {@code **} any number of segments, for example
+     * {@code org.example.plugins.**}. Classes of other packages are skipped without being read.
+     * By default, all packages of scanned dependencies are scanned.
+     *
+     * @see #mojoDependencies
+     * @since 3.6.1
+     */
+    @Parameter
+    private List<String> dependencyPackageIncludes;
+
+    /**
+     * Specify the packages of dependencies classes not to scan for (abstract) Mojos, with the same syntax as
+     * {@link #dependencyPackageIncludes}, for example {@code com.google.**}. Use it to prune the scan of large
+     * dependencies that don't contain Mojos.
+     *
+     * @see #mojoDependencies
+     * @since 3.6.1
+     */
+    @Parameter
+    private List<String> dependencyPackageExcludes;
+
+    /**
+     * Number of threads used to scan dependencies and classes directories for Mojo annotations.
+     * {@code 0}, the default, uses one thread per available processor. Set to {@code 1} to scan sequentially.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "0", property = "maven.plugin.scanThreads" )
+    private int scanThreads;
+
+    /**
+     * Directory where the results of dependencies annotations scans are cached between builds, for example
+     * {@code ${settings.localRepository}/.cache/maven-plugin-tools}. Entries are reused only when the dependency
+     * coordinates, file size, last modification time and checksum are unchanged.
+     * By default, no cache is used.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( property = "maven.plugin.scanCacheDirectory" )
+    private File scanCacheDirectory;
+
+    /**
+     * Set this to "true" to delete the dependencies scan results cached in {@link #scanCacheDirectory} before the
+     * first scan of the build. Modules built later reuse the results cached by the previous ones, and the other files
+     * of the directory are kept.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.purgeScanCache" )
+    private boolean purgeScanCache;
+
+    /**
+     * Set this to "true" to only analyze the project classes added or modified since the previous build.
+     * The state of the previous scan is kept in {@code ${project.build.directory}/maven-plugin-plugin-scan}.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.incrementalScan" )
+    private boolean incrementalScan;
+
+    /**
+     * Set this to "true" to only analyze the dependency classes that are ancestors of the project classes, instead
+     * of every class of every dependency. Dependencies are then only indexed by class name, which is much faster for
+     * plugins with large dependencies.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.lazyDependencyScan" )
+    private boolean lazyDependencyScan;
+
+    /**
+     * Set this to "true" to write the statistics of the Mojo annotations scan of each dependency and classes
+     * directory (time, entries seen, classes visited, classes with annotations, bytes read) to
+     * {@code ${project.build.directory}/maven-plugin-plugin-scan-report.json}, slowest sources first.
+     * The same statistics are logged at debug level. Slow dependencies can then be excluded with
+     * {@link #mojoDependencies} or {@link #dependencyPackageExcludes}.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.scanReport" )
+    private boolean scanReport;
+
+    /**
+     * Set this to "true" to only parse the source files of classes with Mojo annotations and of their ancestors to
+     * read their javadoc, instead of every source file of the project and of the sources artifacts of dependencies.
+     * Every source file is still parsed when the source file of a class is not found from its name.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.targetedJavadocScan" )
+    private boolean targetedJavadocScan;
+
+    /**
+     * Set this to "true" to cache the javadoc content (comments, {@code @since} and {@code @deprecated}) of the
+     * sources of the project in {@code ${project.build.directory}/maven-plugin-plugin-javadoc}, and of the sources
+     * artifacts of dependencies in {@link #scanCacheDirectory} when set. Sources are only parsed again when a source
+     * file, the sources artifact or the classpath changed.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.javadocCache" )
+    private boolean javadocCache;
+
+    /**
+     * How long, in minutes, a sources artifact of a dependency found missing is not resolved again. Missing sources
+     * artifacts are recorded in {@link #scanCacheDirectory} when set. Otherwise, or with {@code 0}, they are resolved
+     * on every build, once for all the modules of the build.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "1440", property = "maven.plugin.missingSourcesCacheTtl" )
+    private int missingSourcesCacheTtl;
+
+    /**
+     * Set this to "true" to run the mojo descriptor extractors concurrently, when more than one is active. Mojos are
+     * still added to the plugin descriptor in the same order as when extractors run one after the other.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.parallelExtractors" )
+    private boolean parallelExtractors;
+
+    /**
+     * Set this to "true" to write the duration of each mojo extractor, and of the phases of its extraction, to
+     * {@code ${project.build.directory}/maven-plugin-plugin-timing-report-<goal>.json}.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "false", property = "maven.plugin.timingReport" )
+    private boolean timingReport;
+
+    @Parameter( defaultValue = "${mojoExecution}", readonly = true )
+    private MojoExecution mojoExecution;
+
     /**
      * List of Remote Repositories used by the resolver
      *
@@ -179,6 +327,16 @@ public abstract class AbstractGeneratorMojo
      */
     protected abstract Generator createGenerator();
 
+    /**
+     * @return <code>true</code> if the extractors should write an index of the mojo annotations of the project
+     * classes to the classes directory.
+     * @since 3.6.1
+     */
+    protected boolean isMojoAnnotationsIndex()
+    {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -256,8 +414,36 @@ public abstract class AbstractGeneratorMojo
             request.setDependencies( filterMojoDependencies() );
             request.setLocal( this.local );
             request.setRemoteRepos( this.remoteRepos );
-
-            mojoScanner.populatePluginDescriptor( request );
+            request.setScanThreads( scanThreads > 0 ? scanThreads : Runtime.getRuntime().availableProcessors() );
+            request.setScanCacheDirectory( scanCacheDirectory );
+            request.setPurgeScanCache( purgeScanCache );
+            request.setIncrementalScan( incrementalScan );
+            request.setLazyDependencyScan( lazyDependencyScan );
+            request.setDependencyPackageIncludes( dependencyPackageIncludes );
+            request.setDependencyPackageExcludes( dependencyPackageExcludes );
+            request.setScanReport( scanReport );
+            request.setTargetedJavadocScan( targetedJavadocScan );
+            request.setJavadocCache( javadocCache );
+            request.setMissingSourcesCacheTtl( missingSourcesCacheTtl );
+            request.setParallelExtractors( parallelExtractors );
+            request.setSession( session );
+            request.setMojoAnnotationsIndex( isMojoAnnotationsIndex() );
+
+            ExtractionTimingReport extractionTimingReport = timingReport ? new ExtractionTimingReport() : null;
+            request.setExtractionListener( extractionTimingReport );
+
+            try
+            {
+                mojoScanner.populatePluginDescriptor( request );
+            }
+            finally
+            {
+                // also report the durations up to a failed extraction
+                if ( extractionTimingReport != null )
+                {
+                    writeTimingReport( extractionTimingReport );
+                }
+            }
 
             getOutputDirectory().mkdirs();
 
@@ -284,6 +470,20 @@ public abstract class AbstractGeneratorMojo
         }
     }
 
+    private void writeTimingReport( ExtractionTimingReport extractionTimingReport )
+    {
+        File reportFile = new File( project.getBuild().getDirectory(),
+                                    "maven-plugin-plugin-timing-report-" + mojoExecution.getGoal() + ".json" );
+        try
+        {
+            extractionTimingReport.writeJson( reportFile );
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Failed to write timing report " + reportFile + ": " + e.getMessage() );
+        }
+    }
+
     /**
      * Get dependencies filtered with mojoDependencies configuration.
      * 
@@ -61,6 +61,17 @@ public class DescriptorGeneratorMojo
     @Parameter( defaultValue = "false" )
     private boolean skipDescriptor;
 
+    /**
+     * Write an index of the Java annotations of the mojos, with their javadoc description, since and deprecated
+     * content, to <code>META-INF/maven/&lt;groupId&gt;/&lt;artifactId&gt;/mojo-annotations.idx</code>.
+     * Plugins extending the mojos of this plugin read this index instead of scanning its classes and resolving its
+     * sources.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "true", property = "maven.plugin.mojoAnnotationsIndex" )
+    private boolean mojoAnnotationsIndex;
+
     /**
      * {@inheritDoc}
      */
@@ -77,6 +88,14 @@ public class DescriptorGeneratorMojo
         return new PluginDescriptorGenerator( getLog() );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isMojoAnnotationsIndex()
+    {
+        return mojoAnnotationsIndex;
+    }
+
     /**
      * {@inheritDoc}
      */
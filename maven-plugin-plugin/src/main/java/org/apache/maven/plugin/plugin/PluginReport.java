@@ -36,6 +36,7 @@ import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.siterenderer.Renderer;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.execution.RuntimeInformation;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.descriptor.InvalidPluginDescriptorException;
@@ -96,6 +97,14 @@ public class PluginReport
     @Parameter( defaultValue = "${project}", readonly = true )
     private MavenProject project;
 
+    /**
+     * The current build session, in which the scan results of dependencies are shared between modules.
+     *
+     * @since 3.6.1
+     */
+    @Parameter( defaultValue = "${session}", readonly = true )
+    private MavenSession session;
+
     /**
      * Mojo scanner tools.
      */
@@ -325,6 +334,7 @@ public class PluginReport
             request.setDependencies( dependencies );
             request.setLocal( this.local );
             request.setRemoteRepos( this.remoteRepos );
+            request.setSession( session );
 
             try
             {
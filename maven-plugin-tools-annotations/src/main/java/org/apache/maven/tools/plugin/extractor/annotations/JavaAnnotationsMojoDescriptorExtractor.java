@@ -20,6 +20,8 @@ package org.apache.maven.tools.plugin.extractor.annotations;
  */
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -27,19 +29,31 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.factory.ArtifactFactory;
 import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
 import org.apache.maven.artifact.resolver.ArtifactResolutionException;
 import org.apache.maven.artifact.resolver.ArtifactResolver;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.descriptor.DuplicateParameterException;
 import org.apache.maven.plugin.descriptor.InvalidParameterException;
 import org.apache.maven.plugin.descriptor.InvalidPluginDescriptorException;
@@ -49,28 +63,32 @@ import org.apache.maven.plugin.descriptor.Requirement;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.tools.plugin.ExtendedMojoDescriptor;
 import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.extractor.ApplicableMojoDescriptorExtractor;
 import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.ExtractionListener;
+import org.apache.maven.tools.plugin.extractor.ExtractionPhase;
+import org.apache.maven.tools.plugin.extractor.JavaSourceModel;
 import org.apache.maven.tools.plugin.extractor.MojoDescriptorExtractor;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.AnnotatedContent;
 import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ComponentAnnotationContent;
 import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ExecuteAnnotationContent;
 import org.apache.maven.tools.plugin.extractor.annotations.datamodel.MojoAnnotationContent;
 import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ParameterAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.DefaultMojoAnnotationsScanner;
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotatedClass;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsIndex;
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsScanner;
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsScannerRequest;
 import org.apache.maven.tools.plugin.util.PluginUtils;
-import org.codehaus.plexus.archiver.UnArchiver;
-import org.codehaus.plexus.archiver.manager.ArchiverManager;
-import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.StringUtils;
 
 import com.thoughtworks.qdox.JavaProjectBuilder;
 import com.thoughtworks.qdox.library.SortedClassLibraryBuilder;
-import com.thoughtworks.qdox.model.DocletTag;
 import com.thoughtworks.qdox.model.JavaClass;
-import com.thoughtworks.qdox.model.JavaField;
 
 /**
  * JavaMojoDescriptorExtractor, a MojoDescriptor extractor to read descriptors from java classes with annotations.
@@ -82,9 +100,14 @@ import com.thoughtworks.qdox.model.JavaField;
 @Component( role = MojoDescriptorExtractor.class, hint = "java-annotations" )
 public class JavaAnnotationsMojoDescriptorExtractor
     extends AbstractLogEnabled
-    implements MojoDescriptorExtractor
+    implements ApplicableMojoDescriptorExtractor
 {
 
+    /**
+     * phase of the extraction writing the mojo annotations index
+     */
+    private static final String MOJO_ANNOTATIONS_INDEX = "mojo-annotations-index";
+
     @org.codehaus.plexus.component.annotations.Requirement
     private MojoAnnotationsScanner mojoAnnotationsScanner;
 
@@ -94,19 +117,123 @@ public class JavaAnnotationsMojoDescriptorExtractor
     @org.codehaus.plexus.component.annotations.Requirement
     private ArtifactFactory artifactFactory;
 
-    @org.codehaus.plexus.component.annotations.Requirement
-    private ArchiverManager archiverManager;
+    /**
+     * coordinates of the sources artifacts found missing during each build, so that they are reported once, keyed by
+     * the execution request shared by the session clones of the modules
+     */
+    private final Map<Object, Set<String>> missingSources = new WeakHashMap<>();
 
     public List<MojoDescriptor> execute( PluginToolsRequest request )
         throws ExtractionException, InvalidPluginDescriptorException
     {
-        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = scanAnnotations( request );
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses;
+        try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.ANNOTATION_SCAN ) )
+        {
+            mojoAnnotatedClasses = scanAnnotations( request );
+        }
+
+        Map<String, JavadocClass> javadocClasses;
+        MojoClassHierarchy hierarchy;
+        try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.JAVADOC_SCAN ) )
+        {
+            javadocClasses = scanJavadoc( request, mojoAnnotatedClasses );
+
+            hierarchy = new MojoClassHierarchy( mojoAnnotatedClasses, javadocClasses );
+
+            populateJavadoc( mojoAnnotatedClasses, javadocClasses, hierarchy );
+        }
+
+        if ( request.isMojoAnnotationsIndex() )
+        {
+            try ( ExtractionPhase phase = ExtractionPhase.start( request, this, MOJO_ANNOTATIONS_INDEX ) )
+            {
+                writeMojoAnnotationsIndex( request, mojoAnnotatedClasses.values() );
+            }
+        }
+
+        List<MojoDescriptor> mojoDescriptors;
+        try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.DESCRIPTOR_BUILD ) )
+        {
+            mojoDescriptors = toMojoDescriptors( mojoAnnotatedClasses, request.getPluginDescriptor(), hierarchy );
+        }
+
+        try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.VALIDATION ) )
+        {
+            validate( mojoDescriptors );
+        }
+
+        return mojoDescriptors;
+    }
+
+    /**
+     * Check that the properties of the parameters contain none of the <code>${}</code> characters.
+     */
+    private static void validate( List<MojoDescriptor> mojoDescriptors )
+        throws InvalidParameterException
+    {
+        for ( MojoDescriptor mojoDescriptor : mojoDescriptors )
+        {
+            if ( mojoDescriptor.getParameters() == null )
+            {
+                continue;
+            }
+            for ( org.apache.maven.plugin.descriptor.Parameter parameter : mojoDescriptor.getParameters() )
+            {
+                String expression = parameter.getExpression();
+                if ( StringUtils.isEmpty( expression ) )
+                {
+                    continue;
+                }
+                String property = expression.substring( 2, expression.length() - 1 );
+                if ( StringUtils.contains( property, '$' ) || StringUtils.contains( property, '{' )
+                    || StringUtils.contains( property, '}' ) )
+                {
+                    throw new InvalidParameterException(
+                        "Invalid property for parameter '" + parameter.getName() + "', " + "forbidden characters ${}: "
+                            + property, null );
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Applicable when a class of the project may be a mojo: mojos are only extracted from the classes of the project,
+     * so neither the dependencies nor the classes are scanned when none is. The check reuses the manifest of the
+     * incremental scan and the constant pool prefilter of {@link DefaultMojoAnnotationsScanner}. When the request
+     * writes the mojo annotations index, also applicable while the index of a previous build exists, so that
+     * {@link #execute(PluginToolsRequest)} deletes it if there is no mojo anymore.
+     * </p>
+     */
+    public boolean isApplicable( PluginToolsRequest request )
+    {
+        if ( !( mojoAnnotationsScanner instanceof DefaultMojoAnnotationsScanner ) )
+        {
+            return true;
+        }
+
+        MavenProject project = request.getProject();
+        File output = new File( project.getBuild().getOutputDirectory() );
+        if ( request.isMojoAnnotationsIndex()
+            && new File( output, MojoAnnotationsIndex.getPath( project.getGroupId(), project.getArtifactId() ) )
+                .isFile() )
+        {
+            return true;
+        }
 
-        Map<String, JavaClass> javaClassesMap = scanJavadoc( request, mojoAnnotatedClasses.values() );
+        MojoAnnotationsScannerRequest mojoAnnotationsScannerRequest = new MojoAnnotationsScannerRequest();
+        mojoAnnotationsScannerRequest.setIncrementalDirectory( getIncrementalDirectory( request ) );
 
-        populateDataFromJavadoc( mojoAnnotatedClasses, javaClassesMap );
+        return ( (DefaultMojoAnnotationsScanner) mojoAnnotationsScanner ).hasMojo( output,
+                                                                                 mojoAnnotationsScannerRequest );
+    }
 
-        return toMojoDescriptors( mojoAnnotatedClasses, request.getPluginDescriptor() );
+    private static File getIncrementalDirectory( PluginToolsRequest request )
+    {
+        return request.isIncrementalScan()
+            ? new File( request.getProject().getBuild().getDirectory(), "maven-plugin-plugin-scan" )
+            : null;
     }
 
     private Map<String, MojoAnnotatedClass> scanAnnotations( PluginToolsRequest request )
@@ -121,13 +248,72 @@ public class JavaAnnotationsMojoDescriptorExtractor
 
         mojoAnnotationsScannerRequest.setProject( request.getProject() );
 
+        mojoAnnotationsScannerRequest.setThreads( request.getScanThreads() );
+
+        mojoAnnotationsScannerRequest.setCacheDirectory( request.getScanCacheDirectory() );
+        mojoAnnotationsScannerRequest.setPurgeCache( request.isPurgeScanCache() );
+        mojoAnnotationsScannerRequest.setLazyDependencyScan( request.isLazyDependencyScan() );
+        mojoAnnotationsScannerRequest.setDependencyPackageIncludes( request.getDependencyPackageIncludes() );
+        mojoAnnotationsScannerRequest.setDependencyPackageExcludes( request.getDependencyPackageExcludes() );
+        mojoAnnotationsScannerRequest.setSession( request.getSession() );
+
+        if ( request.isScanReport() )
+        {
+            mojoAnnotationsScannerRequest.setReportFile(
+                new File( request.getProject().getBuild().getDirectory(), "maven-plugin-plugin-scan-report.json" ) );
+        }
+
+        mojoAnnotationsScannerRequest.setIncrementalDirectory( getIncrementalDirectory( request ) );
+
         return mojoAnnotationsScanner.scan( mojoAnnotationsScannerRequest );
     }
 
-    private Map<String, JavaClass> scanJavadoc( PluginToolsRequest request,
-                                                Collection<MojoAnnotatedClass> mojoAnnotatedClasses )
+    /**
+     * Write the classes of the project with their javadoc content to the mojo annotations index of the plugin, so
+     * that plugins extending its mojos use them instead of scanning its bytecode and sources.
+     */
+    private void writeMojoAnnotationsIndex( PluginToolsRequest request,
+                                            Collection<MojoAnnotatedClass> mojoAnnotatedClasses )
         throws ExtractionException
     {
+        MavenProject project = request.getProject();
+        List<MojoAnnotatedClass> projectClasses = new ArrayList<>();
+        boolean annotated = false;
+        for ( MojoAnnotatedClass mojoAnnotatedClass : mojoAnnotatedClasses )
+        {
+            if ( StringUtils.equals( mojoAnnotatedClass.getArtifact().getArtifactId(),
+                                     project.getArtifact().getArtifactId() ) )
+            {
+                projectClasses.add( mojoAnnotatedClass );
+                annotated |= mojoAnnotatedClass.hasAnnotations();
+            }
+        }
+
+        File indexFile = new File( project.getBuild().getOutputDirectory(),
+                                   MojoAnnotationsIndex.getPath( project.getGroupId(), project.getArtifactId() ) );
+        if ( !annotated )
+        {
+            // no mojo: don't leave the index of a previous build
+            indexFile.delete();
+            return;
+        }
+
+        try
+        {
+            MojoAnnotationsIndex.write( indexFile, projectClasses );
+        }
+        catch ( IOException e )
+        {
+            throw new ExtractionException( "Error writing mojo annotations index " + indexFile, e );
+        }
+    }
+
+    private Map<String, JavadocClass> scanJavadoc( PluginToolsRequest request,
+                                                Map<String, MojoAnnotatedClass> mojoAnnotatedClassesMap )
+        throws ExtractionException
+    {
+        Collection<MojoAnnotatedClass> mojoAnnotatedClasses = mojoAnnotatedClassesMap.values();
+
         // found artifact from reactors to scan sources
         // we currently only scan sources from reactors
         List<MavenProject> mavenProjects = new ArrayList<>();
@@ -149,6 +335,12 @@ public class JavaAnnotationsMojoDescriptorExtractor
                 continue;
             }
 
+            if ( mojoAnnotatedClass.isIndexed() )
+            {
+                // javadoc content was read from the mojo annotations index of the dependency
+                continue;
+            }
+
             MavenProject mavenProject =
                 getFromProjectReferences( mojoAnnotatedClass.getArtifact(), request.getProject() );
 
@@ -162,31 +354,325 @@ public class JavaAnnotationsMojoDescriptorExtractor
             }
         }
 
-        Map<String, JavaClass> javaClassesMap = new HashMap<String, JavaClass>();
-
         // try to get artifact with sources classifier, extract somewhere then scan for @since, @deprecated
-        for ( Artifact artifact : externalArtifacts )
+        Map<String, JavadocClass> javadocClasses =
+            discoverJavadocFromSourcesJars( request, externalArtifacts, mojoAnnotatedClassesMap );
+
+        for ( MavenProject mavenProject : mavenProjects )
+        {
+            javadocClasses.putAll( discoverJavadoc( request, mavenProject,
+                                                    getJavadocClassNames( request, mavenProject.getArtifact(),
+                                                                          mojoAnnotatedClassesMap ) ) );
+        }
+
+        javadocClasses.putAll( discoverJavadoc( request, request.getProject(),
+                                                getJavadocClassNames( request, request.getProject().getArtifact(),
+                                                                      mojoAnnotatedClassesMap ) ) );
+
+        return javadocClasses;
+    }
+
+    /**
+     * Resolve and parse the sources artifacts of dependencies, concurrently with up to
+     * {@link PluginToolsRequest#getScanThreads()} threads. Results are merged in artifact id order, whatever the
+     * order in which they complete.
+     */
+    Map<String, JavadocClass> discoverJavadocFromSourcesJars( final PluginToolsRequest request,
+                                                              Set<Artifact> artifacts,
+                                                              Map<String, MojoAnnotatedClass> classes )
+        throws ExtractionException
+    {
+        Map<String, Artifact> sortedArtifacts = new TreeMap<>();
+        for ( Artifact artifact : artifacts )
+        {
+            sortedArtifacts.put( artifact.getId(), artifact );
+        }
+
+        final MissingSourcesCache missingSourcesCache =
+            request.getScanCacheDirectory() != null && request.getMissingSourcesCacheTtl() > 0
+                ? new MissingSourcesCache( request.getScanCacheDirectory(), request.getMissingSourcesCacheTtl(),
+                                           getLogger() ) : null;
+
+        List<Callable<Map<String, JavadocClass>>> tasks = new ArrayList<>( sortedArtifacts.size() );
+        for ( final Artifact artifact : sortedArtifacts.values() )
         {
             // parameter for test-sources too ?? olamy I need that for it test only
-            if ( StringUtils.equalsIgnoreCase( "tests", artifact.getClassifier() ) )
+            final String classifier = StringUtils.equalsIgnoreCase( "tests", artifact.getClassifier() )
+                            ? "test-sources" : "sources";
+            final Set<String> classNames = getJavadocClassNames( request, artifact, classes );
+            tasks.add( new Callable<Map<String, JavadocClass>>()
+            {
+                public Map<String, JavadocClass> call()
+                    throws ExtractionException
+                {
+                    return discoverJavadocFromSourcesJar( artifact, request, classifier, classNames,
+                                                          missingSourcesCache );
+                }
+            } );
+        }
+
+        Map<String, JavadocClass> javadocClasses = new HashMap<>();
+
+        if ( tasks.isEmpty() )
+        {
+            return javadocClasses;
+        }
+
+        ExecutorService executor =
+            Executors.newFixedThreadPool( Math.max( 1, Math.min( request.getScanThreads(), tasks.size() ) ) );
+        try
+        {
+            // futures are returned in tasks order: merge them as the sequential resolution does
+            for ( Future<Map<String, JavadocClass>> future : executor.invokeAll( tasks ) )
             {
-                javaClassesMap.putAll( discoverClassesFromSourcesJar( artifact, request, "test-sources" ) );
+                javadocClasses.putAll( future.get() );
             }
-            else
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException( e.getMessage(), e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof ExtractionException )
             {
-                javaClassesMap.putAll( discoverClassesFromSourcesJar( artifact, request, "sources" ) );
+                throw (ExtractionException) cause;
             }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new ExtractionException( cause.getMessage(), cause );
+        }
+        finally
+        {
+            executor.shutdownNow();
 
+            if ( missingSourcesCache != null )
+            {
+                missingSourcesCache.save();
+            }
         }
 
-        for ( MavenProject mavenProject : mavenProjects )
+        return javadocClasses;
+    }
+
+    /**
+     * Get the javadoc content of the sources of a project, from the javadoc cache when the sources are unchanged.
+     */
+    private Map<String, JavadocClass> discoverJavadoc( PluginToolsRequest request, MavenProject project,
+                                                       Set<String> classNames )
+        throws ExtractionException
+    {
+        if ( !request.isJavadocCache() )
+        {
+            return parseJavadoc( request, project, classNames );
+        }
+        if ( classNames != null && classNames.isEmpty() )
+        {
+            return Collections.emptyMap();
+        }
+
+        List<File> sourceDirectories = JavaSourceModel.getSourceDirectories( project );
+        Set<File> sourceFiles = classNames != null ? locateSourceFiles( sourceDirectories, classNames ) : null;
+        if ( sourceFiles == null )
+        {
+            // every source is parsed
+            sourceFiles = new TreeSet<>();
+            for ( File sourceDirectory : sourceDirectories )
+            {
+                if ( sourceDirectory.isDirectory() )
+                {
+                    sourceFiles.addAll( getJavaFiles( sourceDirectory ) );
+                }
+            }
+        }
+
+        File cacheFile = new File( request.getProject().getBuild().getDirectory(), "maven-plugin-plugin-javadoc/"
+            + project.getGroupId() + '/' + project.getArtifactId() + ".javadoc" );
+        JavadocCache javadocCache = new JavadocCache( getLogger() );
+        String key;
+        try
+        {
+            key = JavadocCache.key( request.getEncoding(), classNames, getClasspath( request, project ),
+                                    sourceFiles );
+        }
+        catch ( IOException e )
+        {
+            throw new ExtractionException( "Error reading sources of " + project.getId() + ": " + e.getMessage(), e );
+        }
+
+        Map<String, JavadocClass> javadocClasses = javadocCache.get( cacheFile, key );
+        if ( javadocClasses != null )
+        {
+            getLogger().debug( "Using javadoc cache " + cacheFile + " for the sources of " + project.getId() );
+            return javadocClasses;
+        }
+
+        javadocClasses = parseJavadoc( request, project, classNames );
+        javadocCache.put( cacheFile, key, javadocClasses );
+        return javadocClasses;
+    }
+
+    /**
+     * Parse the sources of a project: every source is parsed once per request, in the shared source model of the
+     * request, while a targeted parse only reads the source files of the given classes.
+     */
+    private Map<String, JavadocClass> parseJavadoc( PluginToolsRequest request, MavenProject project,
+                                                    Set<String> classNames )
+    {
+        List<File> sourceDirectories = JavaSourceModel.getSourceDirectories( project );
+        if ( classNames != null
+            && ( classNames.isEmpty() || locateSourceFiles( sourceDirectories, classNames ) != null ) )
+        {
+            return toJavadocClasses( discoverClasses( request.getEncoding(), project, classNames ) );
+        }
+
+        JavaSourceModel javaSourceModel = request.getJavaSourceModel();
+        // the parsed classes are shared with the other extractors of the request
+        synchronized ( javaSourceModel )
+        {
+            return toJavadocClasses( toJavaClassMap( javaSourceModel.getClasses(
+                request.getEncoding(), sourceDirectories, getClasspath( request, project ) ) ) );
+        }
+    }
+
+    /**
+     * @return the classpath to parse the sources of a project with: for the project of the request, its dependencies,
+     *         as {@link JavaSourceModel#getClasses(PluginToolsRequest)} so that the other extractors share the parse
+     */
+    private static Collection<Artifact> getClasspath( PluginToolsRequest request, MavenProject project )
+    {
+        return project == request.getProject() ? request.getDependencies() : project.getArtifacts();
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static List<File> getJavaFiles( File sourceDirectory )
+        throws ExtractionException
+    {
+        try
+        {
+            return FileUtils.getFiles( sourceDirectory, "**/*.java", null );
+        }
+        catch ( IOException e )
+        {
+            throw new ExtractionException( "Error listing sources of " + sourceDirectory + ": " + e.getMessage(),
+                                           e );
+        }
+    }
+
+    /**
+     * Get the javadoc content of the sources artifact of a dependency, from the javadoc cache when the sources
+     * artifact is unchanged.
+     */
+    private Map<String, JavadocClass> discoverJavadocFromSourcesJar( Artifact artifact, PluginToolsRequest request,
+                                                                     String classifier, Set<String> classNames,
+                                                                     MissingSourcesCache missingSourcesCache )
+        throws ExtractionException
+    {
+        if ( classNames != null && classNames.isEmpty() )
+        {
+            return Collections.emptyMap();
+        }
+
+        Artifact sourcesArtifact = resolveSourcesArtifact( artifact, request, classifier, missingSourcesCache );
+        if ( sourcesArtifact == null )
         {
-            javaClassesMap.putAll( discoverClasses( request.getEncoding(), mavenProject ) );
+            return Collections.emptyMap();
+        }
+
+        if ( !request.isJavadocCache() )
+        {
+            return toJavadocClasses( discoverClassesFromSourcesArchive( sourcesArtifact.getFile(),
+                                                                        request.getEncoding(),
+                                                                        request.getDependencies(), classNames ) );
+        }
+
+        // cached along dependencies scans when there is a cache directory, as the sources artifact doesn't change:
+        // shared by the projects using it, with an entry per set of parsed classes
+        File cacheDirectory = request.getScanCacheDirectory() != null ? request.getScanCacheDirectory()
+                        : new File( request.getProject().getBuild().getDirectory(), "maven-plugin-plugin-javadoc" );
+        JavadocCache javadocCache = new JavadocCache( getLogger() );
+        File cacheFile;
+        String key;
+        try
+        {
+            cacheFile = new File( cacheDirectory, sourcesArtifact.getGroupId() + '/'
+                + sourcesArtifact.getArtifactId() + '/' + sourcesArtifact.getVersion() + '/'
+                + sourcesArtifact.getArtifactId() + '-' + sourcesArtifact.getVersion() + '-'
+                + sourcesArtifact.getClassifier()
+                + ( classNames != null ? '-' + JavadocCache.classNamesId( classNames ) : "" ) + ".javadoc" );
+            key = JavadocCache.key( request.getEncoding(), classNames, sourcesArtifact.getFile() );
+        }
+        catch ( IOException e )
+        {
+            throw new ExtractionException( "Error reading sources archive " + sourcesArtifact.getFile() + ": "
+                + e.getMessage(), e );
+        }
+
+        Map<String, JavadocClass> javadocClasses = javadocCache.get( cacheFile, key );
+        if ( javadocClasses != null )
+        {
+            getLogger().debug( "Using javadoc cache " + cacheFile + " for " + sourcesArtifact.getFile() );
+            return javadocClasses;
+        }
+
+        javadocClasses = toJavadocClasses( discoverClassesFromSourcesArchive( sourcesArtifact.getFile(),
+                                                                              request.getEncoding(),
+                                                                              request.getDependencies(),
+                                                                              classNames ) );
+        javadocCache.put( cacheFile, key, javadocClasses );
+        return javadocClasses;
+    }
+
+    private static Map<String, JavadocClass> toJavadocClasses( Map<String, JavaClass> javaClassesMap )
+    {
+        Map<String, JavadocClass> javadocClasses = new HashMap<>( javaClassesMap.size() );
+        for ( Map.Entry<String, JavaClass> entry : javaClassesMap.entrySet() )
+        {
+            javadocClasses.put( entry.getKey(), JavadocClass.of( entry.getValue() ) );
+        }
+        return javadocClasses;
+    }
+
+    /**
+     * Get the classes of an artifact whose javadoc is used: classes with annotations and their ancestors from the
+     * same artifact.
+     *
+     * @return the class names, or <code>null</code> to parse every source of the artifact
+     */
+    private Set<String> getJavadocClassNames( PluginToolsRequest request, Artifact artifact,
+                                              Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
+    {
+        if ( !request.isTargetedJavadocScan() )
+        {
+            return null;
         }
 
-        javaClassesMap.putAll( discoverClasses( request ) );
+        Set<String> classNames = new TreeSet<>();
+        for ( MojoAnnotatedClass mojoAnnotatedClass : mojoAnnotatedClasses.values() )
+        {
+            if ( !isMojoAnnnotatedClassCandidate( mojoAnnotatedClass )
+                || !StringUtils.equals( mojoAnnotatedClass.getArtifact().getArtifactId(), artifact.getArtifactId() ) )
+            {
+                continue;
+            }
 
-        return javaClassesMap;
+            MojoAnnotatedClass current = mojoAnnotatedClass;
+            while ( current != null
+                && StringUtils.equals( current.getArtifact().getArtifactId(), artifact.getArtifactId() )
+                && classNames.add( current.getClassName() ) )
+            {
+                current = mojoAnnotatedClasses.get( current.getParentClassName() );
+            }
+        }
+        return classNames;
     }
 
     private boolean isMojoAnnnotatedClassCandidate( MojoAnnotatedClass mojoAnnotatedClass )
@@ -194,10 +680,44 @@ public class JavaAnnotationsMojoDescriptorExtractor
         return mojoAnnotatedClass != null && mojoAnnotatedClass.hasAnnotations();
     }
 
+    /**
+     * @deprecated no longer called: the javadoc of dependencies is read from their sources artifacts together with
+     *             the sources artifacts known to be missing from previous builds, and cached
+     */
+    @Deprecated
     protected Map<String, JavaClass> discoverClassesFromSourcesJar( Artifact artifact, PluginToolsRequest request,
                                                                     String classifier )
         throws ExtractionException
     {
+        Artifact sourcesArtifact = resolveSourcesArtifact( artifact, request, classifier, null );
+        if ( sourcesArtifact == null )
+        {
+            return Collections.emptyMap();
+        }
+
+        return discoverClassesFromSourcesArchive( sourcesArtifact.getFile(), request.getEncoding(),
+                                                  request.getDependencies(), null );
+    }
+
+    /**
+     * @param missingSourcesCache the sources artifacts known to be missing from previous builds, may be null
+     * @return the resolved sources artifact, or <code>null</code> if it could not be found
+     */
+    private Artifact resolveSourcesArtifact( Artifact artifact, PluginToolsRequest request, String classifier,
+                                             MissingSourcesCache missingSourcesCache )
+        throws ExtractionException
+    {
+        String key = artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getVersion() + ':'
+            + classifier;
+        Set<String> sessionMissingSources = getMissingSources( request.getSession() );
+        if ( sessionMissingSources.contains( key )
+            || ( missingSourcesCache != null && missingSourcesCache.isMissing( key ) ) )
+        {
+            getLogger().debug( "Skipping resolution of sources artifact " + key + ", known to be missing" );
+            warnMissingSources( artifact, key, sessionMissingSources );
+            return null;
+        }
+
         try
         {
             Artifact sourcesArtifact =
@@ -209,23 +729,10 @@ public class JavaAnnotationsMojoDescriptorExtractor
             if ( sourcesArtifact.getFile() == null || !sourcesArtifact.getFile().exists() )
             {
                 // could not get artifact sources
-                return Collections.emptyMap();
+                return null;
             }
 
-            // extract sources to target/maven-plugin-plugin-sources/${groupId}/${artifact}/sources
-            File extractDirectory = new File( request.getProject().getBuild().getDirectory(),
-                                              "maven-plugin-plugin-sources/" + sourcesArtifact.getGroupId() + "/"
-                                                  + sourcesArtifact.getArtifactId() + "/" + sourcesArtifact.getVersion()
-                                                  + "/" + sourcesArtifact.getClassifier() );
-            extractDirectory.mkdirs();
-
-            UnArchiver unArchiver = archiverManager.getUnArchiver( "jar" );
-            unArchiver.setSourceFile( sourcesArtifact.getFile() );
-            unArchiver.setDestDirectory( extractDirectory );
-            unArchiver.extract();
-
-            return discoverClasses( request.getEncoding(), Arrays.asList( extractDirectory ), 
-                                    request.getDependencies() );
+            return sourcesArtifact;
         }
         catch ( ArtifactResolutionException e )
         {
@@ -235,15 +742,117 @@ public class JavaAnnotationsMojoDescriptorExtractor
         {
             //throw new ExtractionException( e.getMessage(), e );
             getLogger().debug( "skip ArtifactNotFoundException:" + e.getMessage() );
+            if ( missingSourcesCache != null )
+            {
+                missingSourcesCache.add( key );
+            }
+            warnMissingSources( artifact, key, sessionMissingSources );
+            return null;
+        }
+    }
+
+    /**
+     * @param session the current build, may be null
+     * @return the sources artifacts found missing during the build, or an empty set without build
+     */
+    private Set<String> getMissingSources( MavenSession session )
+    {
+        if ( session == null )
+        {
+            return Collections.synchronizedSet( new HashSet<String>() );
+        }
+        // the session clones of the modules share their execution request
+        Object key = session.getRequest() != null ? session.getRequest() : session;
+        synchronized ( missingSources )
+        {
+            Set<String> sessionMissingSources = missingSources.get( key );
+            if ( sessionMissingSources == null )
+            {
+                sessionMissingSources = Collections.synchronizedSet( new HashSet<String>() );
+                missingSources.put( key, sessionMissingSources );
+            }
+            return sessionMissingSources;
+        }
+    }
+
+    /**
+     * Warn about a missing sources artifact, once per build.
+     */
+    private void warnMissingSources( Artifact artifact, String key, Set<String> sessionMissingSources )
+    {
+        if ( sessionMissingSources.add( key ) )
+        {
             getLogger().warn(
                 "Unable to get sources artifact for " + artifact.getGroupId() + ":" + artifact.getArtifactId() + ":"
                     + artifact.getVersion() + ". Some javadoc tags (@since, @deprecated and comments) won't be used" );
+        }
+    }
+
+    /**
+     * Parse the sources of an archive, read in place.
+     *
+     * @param classNames the classes to parse with their outer classes, or <code>null</code> to parse every source
+     */
+    private Map<String, JavaClass> discoverClassesFromSourcesArchive( File archive, String encoding,
+                                                                      Set<Artifact> artifacts,
+                                                                      Set<String> classNames )
+        throws ExtractionException
+    {
+        if ( classNames != null && classNames.isEmpty() )
+        {
+            // no javadoc needed from these sources
             return Collections.emptyMap();
         }
-        catch ( NoSuchArchiverException e )
+
+        JavaProjectBuilder builder = createJavaProjectBuilder( encoding, artifacts );
+
+        try ( ZipFile zipFile = new ZipFile( archive ) )
+        {
+            List<ZipEntry> sourceEntries = null;
+            if ( classNames != null )
+            {
+                sourceEntries = new ArrayList<>( classNames.size() );
+                for ( String path : getSourcePaths( classNames ) )
+                {
+                    ZipEntry sourceEntry = zipFile.getEntry( path );
+                    if ( sourceEntry == null )
+                    {
+                        getLogger().debug( "Source file " + path + " not found in " + archive
+                                               + ": parsing every source file" );
+                        sourceEntries = null;
+                        break;
+                    }
+                    sourceEntries.add( sourceEntry );
+                }
+            }
+
+            if ( sourceEntries == null )
+            {
+                sourceEntries = new ArrayList<>();
+                for ( Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); )
+                {
+                    ZipEntry entry = e.nextElement();
+                    if ( !entry.isDirectory() && entry.getName().endsWith( ".java" ) )
+                    {
+                        sourceEntries.add( entry );
+                    }
+                }
+            }
+
+            for ( ZipEntry sourceEntry : sourceEntries )
+            {
+                try ( Reader reader = ReaderFactory.newReader( zipFile.getInputStream( sourceEntry ), encoding ) )
+                {
+                    builder.addSource( reader );
+                }
+            }
+        }
+        catch ( IOException e )
         {
-            throw new ExtractionException( e.getMessage(), e );
+            throw new ExtractionException( "Error reading sources archive " + archive + ": " + e.getMessage(), e );
         }
+
+        return toJavaClassMap( builder.getClasses() );
     }
 
     /**
@@ -251,15 +860,38 @@ public class JavaAnnotationsMojoDescriptorExtractor
      *
      * @param mojoAnnotatedClasses
      * @param javaClassesMap
+     * @deprecated no longer called: javadoc is extracted once into {@link JavadocClass} instances, that can be cached
+     *             between builds, so overriding this method has no effect
      */
+    @Deprecated
     protected void populateDataFromJavadoc( Map<String, MojoAnnotatedClass> mojoAnnotatedClasses,
                                             Map<String, JavaClass> javaClassesMap )
     {
+        Map<String, JavadocClass> javadocClasses = toJavadocClasses( javaClassesMap );
+        populateJavadoc( mojoAnnotatedClasses, javadocClasses,
+                         new MojoClassHierarchy( mojoAnnotatedClasses, javadocClasses ) );
+    }
+
+    private void populateJavadoc( Map<String, MojoAnnotatedClass> mojoAnnotatedClasses,
+                                  Map<String, JavadocClass> javadocClasses, MojoClassHierarchy hierarchy )
+    {
+        // content read from mojo annotations indexes already has its javadoc: keep it even when the field is
+        // only available from bytecode, without comment
+        Set<AnnotatedContent> indexedContents =
+            Collections.newSetFromMap( new IdentityHashMap<AnnotatedContent, Boolean>() );
+        for ( MojoAnnotatedClass mojoAnnotatedClass : mojoAnnotatedClasses.values() )
+        {
+            if ( mojoAnnotatedClass.isIndexed() )
+            {
+                indexedContents.addAll( mojoAnnotatedClass.getParameters().values() );
+                indexedContents.addAll( mojoAnnotatedClass.getComponents().values() );
+            }
+        }
 
         for ( Map.Entry<String, MojoAnnotatedClass> entry : mojoAnnotatedClasses.entrySet() )
         {
-            JavaClass javaClass = javaClassesMap.get( entry.getKey() );
-            if ( javaClass == null )
+            JavadocClass javadocClass = javadocClasses.get( entry.getKey() );
+            if ( javadocClass == null || entry.getValue().isIndexed() )
             {
                 continue;
             }
@@ -268,76 +900,36 @@ public class JavaAnnotationsMojoDescriptorExtractor
             MojoAnnotationContent mojoAnnotationContent = entry.getValue().getMojo();
             if ( mojoAnnotationContent != null )
             {
-                mojoAnnotationContent.setDescription( javaClass.getComment() );
-
-                DocletTag since = findInClassHierarchy( javaClass, "since" );
-                if ( since != null )
-                {
-                    mojoAnnotationContent.setSince( since.getValue() );
-                }
-
-                DocletTag deprecated = findInClassHierarchy( javaClass, "deprecated" );
-                if ( deprecated != null )
-                {
-                    mojoAnnotationContent.setDeprecated( deprecated.getValue() );
-                }
+                populate( mojoAnnotationContent, javadocClass.getContent() );
             }
 
-            Map<String, JavaField> fieldsMap = extractFieldParameterTags( javaClass, javaClassesMap );
+            Map<String, AnnotatedContent> fieldsMap = hierarchy.getJavadocFields( javadocClass );
 
             // populate parameters
             Map<String, ParameterAnnotationContent> parameters =
-                getParametersParentHierarchy( entry.getValue(), new HashMap<String, ParameterAnnotationContent>(),
-                                              mojoAnnotatedClasses );
-            parameters = new TreeMap<>( parameters );
+                new TreeMap<>( hierarchy.getParameters( entry.getValue() ) );
             for ( Map.Entry<String, ParameterAnnotationContent> parameter : parameters.entrySet() )
             {
-                JavaField javaField = fieldsMap.get( parameter.getKey() );
-                if ( javaField == null )
+                AnnotatedContent javaField = fieldsMap.get( parameter.getKey() );
+                if ( javaField == null || indexedContents.contains( parameter.getValue() ) )
                 {
                     continue;
                 }
 
-                ParameterAnnotationContent parameterAnnotationContent = parameter.getValue();
-                parameterAnnotationContent.setDescription( javaField.getComment() );
-
-                DocletTag deprecated = javaField.getTagByName( "deprecated" );
-                if ( deprecated != null )
-                {
-                    parameterAnnotationContent.setDeprecated( deprecated.getValue() );
-                }
-
-                DocletTag since = javaField.getTagByName( "since" );
-                if ( since != null )
-                {
-                    parameterAnnotationContent.setSince( since.getValue() );
-                }
+                populate( parameter.getValue(), javaField );
             }
 
             // populate components
             Map<String, ComponentAnnotationContent> components = entry.getValue().getComponents();
             for ( Map.Entry<String, ComponentAnnotationContent> component : components.entrySet() )
             {
-                JavaField javaField = fieldsMap.get( component.getKey() );
+                AnnotatedContent javaField = fieldsMap.get( component.getKey() );
                 if ( javaField == null )
                 {
                     continue;
                 }
 
-                ComponentAnnotationContent componentAnnotationContent = component.getValue();
-                componentAnnotationContent.setDescription( javaField.getComment() );
-
-                DocletTag deprecated = javaField.getTagByName( "deprecated" );
-                if ( deprecated != null )
-                {
-                    componentAnnotationContent.setDeprecated( deprecated.getValue() );
-                }
-
-                DocletTag since = javaField.getTagByName( "since" );
-                if ( since != null )
-                {
-                    componentAnnotationContent.setSince( since.getValue() );
-                }
+                populate( component.getValue(), javaField );
             }
 
         }
@@ -345,97 +937,111 @@ public class JavaAnnotationsMojoDescriptorExtractor
     }
 
     /**
-     * @param javaClass not null
-     * @param tagName   not null
-     * @return docletTag instance
+     * Set the description, and <code>@since</code> and <code>@deprecated</code> when tagged.
      */
-    private DocletTag findInClassHierarchy( JavaClass javaClass, String tagName )
+    private static void populate( AnnotatedContent content, AnnotatedContent javadoc )
     {
-        DocletTag tag = javaClass.getTagByName( tagName );
+        content.setDescription( javadoc.getDescription() );
 
-        if ( tag == null )
+        if ( javadoc.getSince() != null )
         {
-            JavaClass superClass = javaClass.getSuperJavaClass();
-
-            if ( superClass != null )
-            {
-                tag = findInClassHierarchy( superClass, tagName );
-            }
+            content.setSince( javadoc.getSince() );
         }
 
-        return tag;
+        if ( javadoc.getDeprecated() != null )
+        {
+            content.setDeprecated( javadoc.getDeprecated() );
+        }
     }
 
     /**
-     * extract fields that are either parameters or components.
-     *
-     * @param javaClass not null
-     * @return map with Mojo parameters names as keys
+     * @deprecated no longer called: every source of a project is parsed in the
+     *             {@link PluginToolsRequest#getJavaSourceModel() shared source model} of the request, and targeted
+     *             parses go through {@link #discoverClasses(String, MavenProject, Set)}
      */
-    private Map<String, JavaField> extractFieldParameterTags( JavaClass javaClass,
-                                                              Map<String, JavaClass> javaClassesMap )
+    @Deprecated
+    protected Map<String, JavaClass> discoverClasses( final PluginToolsRequest request )
     {
-        Map<String, JavaField> rawParams = new TreeMap<String, com.thoughtworks.qdox.model.JavaField>();
-
-        // we have to add the parent fields first, so that they will be overwritten by the local fields if
-        // that actually happens...
-        JavaClass superClass = javaClass.getSuperJavaClass();
-
-        if ( superClass != null )
-        {
-            if ( superClass.getFields().size() > 0 )
-            {
-                rawParams = extractFieldParameterTags( superClass, javaClassesMap );
-            }
-            // maybe sources comes from scan of sources artifact
-            superClass = javaClassesMap.get( superClass.getFullyQualifiedName() );
-            if ( superClass != null )
-            {
-                rawParams = extractFieldParameterTags( superClass, javaClassesMap );
-            }
-        }
-        else
-        {
-
-            rawParams = new TreeMap<>();
-        }
+        return discoverClasses( request.getEncoding(), request.getProject() );
+    }
 
-        for ( JavaField field : javaClass.getFields() )
-        {
-            rawParams.put( field.getName(), field );
-        }
-        
-        return rawParams;
+    /**
+     * @deprecated no longer called: every source of a project is parsed in the
+     *             {@link PluginToolsRequest#getJavaSourceModel() shared source model} of the request, and targeted
+     *             parses go through {@link #discoverClasses(String, MavenProject, Set)}
+     */
+    @Deprecated
+    protected Map<String, JavaClass> discoverClasses( final String encoding, final MavenProject project )
+    {
+        return discoverClasses( encoding, project, null );
     }
 
-    protected Map<String, JavaClass> discoverClasses( final PluginToolsRequest request )
+    /**
+     * @param classNames the classes to parse with their outer classes, or <code>null</code> to parse every source
+     * @since 3.6.1
+     */
+    protected Map<String, JavaClass> discoverClasses( final String encoding, final MavenProject project,
+                                                      Set<String> classNames )
     {
-        return discoverClasses( request.getEncoding(), request.getProject() );
+        return discoverClasses( encoding, JavaSourceModel.getSourceDirectories( project ), project.getArtifacts(),
+                                classNames );
     }
 
-    @SuppressWarnings( "unchecked" )
-    protected Map<String, JavaClass> discoverClasses( final String encoding, final MavenProject project )
+    /**
+     * @deprecated no longer called, see {@link #discoverClasses(String, List, Set, Set)}
+     */
+    @Deprecated
+    protected Map<String, JavaClass> discoverClasses( final String encoding, List<File> sourceDirectories,
+                                                      Set<Artifact> artifacts )
     {
-        List<File> sources = new ArrayList<>();
+        return discoverClasses( encoding, sourceDirectories, artifacts, null );
+    }
 
-        for ( String source : (List<String>) project.getCompileSourceRoots() )
+    /**
+     * @param classNames the classes to parse with their outer classes, or <code>null</code> to parse every source
+     * @since 3.6.1
+     */
+    protected Map<String, JavaClass> discoverClasses( final String encoding, List<File> sourceDirectories,
+                                                      Set<Artifact> artifacts, Set<String> classNames )
+    {
+        if ( classNames != null && classNames.isEmpty() )
         {
-            sources.add( new File( source ) );
+            // no javadoc needed from these sources
+            return Collections.emptyMap();
         }
 
-        // TODO be more dynamic
-        File generatedPlugin = new File( project.getBasedir(), "target/generated-sources/plugin" );
-        if ( !project.getCompileSourceRoots().contains( generatedPlugin.getAbsolutePath() )
-            && generatedPlugin.exists() )
+        JavaProjectBuilder builder = createJavaProjectBuilder( encoding, artifacts );
+
+        Set<File> sourceFiles = classNames != null ? locateSourceFiles( sourceDirectories, classNames ) : null;
+        if ( sourceFiles != null )
+        {
+            for ( File sourceFile : sourceFiles )
+            {
+                try
+                {
+                    builder.addSource( sourceFile );
+                }
+                catch ( IOException e )
+                {
+                    getLogger().warn( "Error reading source file " + sourceFile + ": " + e.getMessage() );
+                }
+            }
+        }
+        else
         {
-            sources.add( generatedPlugin );
+            for ( File source : sourceDirectories )
+            {
+                if ( source.isDirectory() )
+                {
+                    builder.addSourceTree( source );
+                }
+            }
         }
 
-        return discoverClasses( encoding, sources,  project.getArtifacts() );
+        return toJavaClassMap( builder.getClasses() );
     }
 
-    protected Map<String, JavaClass> discoverClasses( final String encoding, List<File> sourceDirectories,
-                                                      Set<Artifact> artifacts )
+    private JavaProjectBuilder createJavaProjectBuilder( String encoding, Set<Artifact> artifacts )
     {
         JavaProjectBuilder builder = new JavaProjectBuilder( new SortedClassLibraryBuilder() );
         builder.setEncoding( encoding );
@@ -455,13 +1061,11 @@ public class JavaAnnotationsMojoDescriptorExtractor
         }
         builder.addClassLoader( new URLClassLoader( urls.toArray( new URL[0] ), ClassLoader.getSystemClassLoader() ) );
 
-        for ( File source : sourceDirectories )
-        {
-            builder.addSourceTree( source );
-        }
-
-        Collection<JavaClass> javaClasses = builder.getClasses();
+        return builder;
+    }
 
+    private static Map<String, JavaClass> toJavaClassMap( Collection<JavaClass> javaClasses )
+    {
         if ( javaClasses == null || javaClasses.size() < 1 )
         {
             return Collections.emptyMap();
@@ -477,9 +1081,56 @@ public class JavaAnnotationsMojoDescriptorExtractor
         return javaClassMap;
     }
 
+    /**
+     * Locate the source files of classes in source directories.
+     *
+     * @return the source files, or <code>null</code> if a class was not found
+     */
+    private Set<File> locateSourceFiles( List<File> sourceDirectories, Set<String> classNames )
+    {
+        Set<File> sourceFiles = new LinkedHashSet<>();
+        for ( String path : getSourcePaths( classNames ) )
+        {
+            File sourceFile = null;
+            for ( File sourceDirectory : sourceDirectories )
+            {
+                File candidate = new File( sourceDirectory, path );
+                if ( candidate.isFile() )
+                {
+                    sourceFile = candidate;
+                    break;
+                }
+            }
+
+            if ( sourceFile == null )
+            {
+                getLogger().debug( "Source file " + path + " not found in " + sourceDirectories
+                                       + ": parsing every source file" );
+                return null;
+            }
+            sourceFiles.add( sourceFile );
+        }
+        return sourceFiles;
+    }
+
+    /**
+     * @return the relative paths of the source files of the classes, by the package and name of their outer class
+     */
+    private static Set<String> getSourcePaths( Set<String> classNames )
+    {
+        Set<String> paths = new LinkedHashSet<>();
+        for ( String className : classNames )
+        {
+            int inner = className.indexOf( '$' );
+            String outerClassName = inner < 0 ? className : className.substring( 0, inner );
+            paths.add( outerClassName.replace( '.', '/' ) + ".java" );
+        }
+        return paths;
+    }
+
     private List<MojoDescriptor> toMojoDescriptors( Map<String, MojoAnnotatedClass> mojoAnnotatedClasses,
-                                                    PluginDescriptor pluginDescriptor )
-        throws DuplicateParameterException, InvalidParameterException
+                                                    PluginDescriptor pluginDescriptor, MojoClassHierarchy hierarchy )
+        throws DuplicateParameterException
     {
         List<MojoDescriptor> mojoDescriptors = new ArrayList<>( mojoAnnotatedClasses.size() );
         for ( MojoAnnotatedClass mojoAnnotatedClass : mojoAnnotatedClasses.values() )
@@ -521,7 +1172,7 @@ public class JavaAnnotationsMojoDescriptorExtractor
             mojoDescriptor.setDeprecated( mojo.getDeprecated() );
             mojoDescriptor.setThreadSafe( mojo.threadSafe() );
 
-            ExecuteAnnotationContent execute = findExecuteInParentHierarchy( mojoAnnotatedClass, mojoAnnotatedClasses );
+            ExecuteAnnotationContent execute = hierarchy.getExecute( mojoAnnotatedClass );
             if ( execute != null )
             {
                 mojoDescriptor.setExecuteGoal( execute.goal() );
@@ -542,9 +1193,7 @@ public class JavaAnnotationsMojoDescriptorExtractor
             mojoDescriptor.setPhase( mojo.defaultPhase().id() );
 
             // Parameter annotations
-            Map<String, ParameterAnnotationContent> parameters =
-                getParametersParentHierarchy( mojoAnnotatedClass, new HashMap<String, ParameterAnnotationContent>(),
-                                              mojoAnnotatedClasses );
+            Map<String, ParameterAnnotationContent> parameters = hierarchy.getParameters( mojoAnnotatedClass );
 
             for ( ParameterAnnotationContent parameterAnnotationContent : new TreeSet<>( parameters.values() ) )
             {
@@ -560,13 +1209,6 @@ public class JavaAnnotationsMojoDescriptorExtractor
                 parameter.setDescription( parameterAnnotationContent.getDescription() );
                 parameter.setEditable( !parameterAnnotationContent.readonly() );
                 String property = parameterAnnotationContent.property();
-                if ( StringUtils.contains( property, '$' ) || StringUtils.contains( property, '{' )
-                    || StringUtils.contains( property, '}' ) )
-                {
-                    throw new InvalidParameterException(
-                        "Invalid property for parameter '" + parameter.getName() + "', " + "forbidden characters ${}: "
-                            + property, null );
-                }
                 parameter.setExpression( StringUtils.isEmpty( property ) ? "" : "${" + property + "}" );
                 parameter.setType( parameterAnnotationContent.getClassName() );
                 parameter.setSince( parameterAnnotationContent.getSince() );
@@ -576,9 +1218,7 @@ public class JavaAnnotationsMojoDescriptorExtractor
             }
 
             // Component annotations
-            Map<String, ComponentAnnotationContent> components =
-                getComponentsParentHierarchy( mojoAnnotatedClass, new HashMap<String, ComponentAnnotationContent>(),
-                                              mojoAnnotatedClasses );
+            Map<String, ComponentAnnotationContent> components = hierarchy.getComponents( mojoAnnotatedClass );
 
             for ( ComponentAnnotationContent componentAnnotationContent : new TreeSet<>( components.values() ) )
             {
@@ -622,48 +1262,37 @@ public class JavaAnnotationsMojoDescriptorExtractor
         return mojoDescriptors;
     }
 
+    /**
+     * @deprecated no longer called: class hierarchies are flattened once per extraction by {@link MojoClassHierarchy},
+     *             so overriding this method has no effect
+     */
+    @Deprecated
     protected ExecuteAnnotationContent findExecuteInParentHierarchy( MojoAnnotatedClass mojoAnnotatedClass,
                                                                  Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
     {
-        if ( mojoAnnotatedClass.getExecute() != null )
-        {
-            return mojoAnnotatedClass.getExecute();
-        }
-        String parentClassName = mojoAnnotatedClass.getParentClassName();
-        if ( StringUtils.isEmpty( parentClassName ) )
-        {
-            return null;
-        }
-        MojoAnnotatedClass parent = mojoAnnotatedClasses.get( parentClassName );
-        if ( parent == null )
-        {
-            return null;
-        }
-        return findExecuteInParentHierarchy( parent, mojoAnnotatedClasses );
+        return new MojoClassHierarchy( mojoAnnotatedClasses, Collections.<String, JavadocClass>emptyMap() )
+            .getExecute( mojoAnnotatedClass );
     }
 
 
+    /**
+     * @deprecated no longer called: class hierarchies are flattened once per extraction by {@link MojoClassHierarchy},
+     *             so overriding this method has no effect
+     */
+    @Deprecated
     protected Map<String, ParameterAnnotationContent> getParametersParentHierarchy(
         MojoAnnotatedClass mojoAnnotatedClass, Map<String, ParameterAnnotationContent> parameters,
         Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
     {
-        List<ParameterAnnotationContent> parameterAnnotationContents = new ArrayList<>();
-
-        parameterAnnotationContents =
-            getParametersParent( mojoAnnotatedClass, parameterAnnotationContents, mojoAnnotatedClasses );
-
-        // move to parent first to build the Map
-        Collections.reverse( parameterAnnotationContents );
-
-        Map<String, ParameterAnnotationContent> map = new HashMap<>( parameterAnnotationContents.size() );
-
-        for ( ParameterAnnotationContent parameterAnnotationContent : parameterAnnotationContents )
-        {
-            map.put( parameterAnnotationContent.getFieldName(), parameterAnnotationContent );
-        }
-        return map;
+        return new HashMap<>(
+            new MojoClassHierarchy( mojoAnnotatedClasses, Collections.<String, JavadocClass>emptyMap() )
+                .getParameters( mojoAnnotatedClass ) );
     }
 
+    /**
+     * @deprecated no longer called: class hierarchies are flattened once per extraction by {@link MojoClassHierarchy}
+     */
+    @Deprecated
     protected List<ParameterAnnotationContent> getParametersParent( MojoAnnotatedClass mojoAnnotatedClass,
                                                         List<ParameterAnnotationContent> parameterAnnotationContents,
                                                         Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
@@ -681,27 +1310,24 @@ public class JavaAnnotationsMojoDescriptorExtractor
         return parameterAnnotationContents;
     }
 
+    /**
+     * @deprecated no longer called: class hierarchies are flattened once per extraction by {@link MojoClassHierarchy},
+     *             so overriding this method has no effect
+     */
+    @Deprecated
     protected Map<String, ComponentAnnotationContent> getComponentsParentHierarchy(
         MojoAnnotatedClass mojoAnnotatedClass, Map<String, ComponentAnnotationContent> components,
         Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
     {
-        List<ComponentAnnotationContent> componentAnnotationContents = new ArrayList<>();
-
-        componentAnnotationContents =
-            getComponentParent( mojoAnnotatedClass, componentAnnotationContents, mojoAnnotatedClasses );
-
-        // move to parent first to build the Map
-        Collections.reverse( componentAnnotationContents );
-
-        Map<String, ComponentAnnotationContent> map = new HashMap<>( componentAnnotationContents.size() );
-
-        for ( ComponentAnnotationContent componentAnnotationContent : componentAnnotationContents )
-        {
-            map.put( componentAnnotationContent.getFieldName(), componentAnnotationContent );
-        }
-        return map;
+        return new HashMap<>(
+            new MojoClassHierarchy( mojoAnnotatedClasses, Collections.<String, JavadocClass>emptyMap() )
+                .getComponents( mojoAnnotatedClass ) );
     }
 
+    /**
+     * @deprecated no longer called: class hierarchies are flattened once per extraction by {@link MojoClassHierarchy}
+     */
+    @Deprecated
     protected List<ComponentAnnotationContent> getComponentParent( MojoAnnotatedClass mojoAnnotatedClass,
                                                        List<ComponentAnnotationContent> componentAnnotationContents,
                                                        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
@@ -0,0 +1,260 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.AnnotatedContent;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * On-disk cache of the javadoc content of a set of sources: the source files of a project or a sources archive.
+ * An entry is only used when its key, a digest of the source contents and of everything QDox resolves the
+ * source classes against (encoding, parsed classes and classpath), is unchanged. Since the sources of a set are
+ * parsed together, a change to any of them, a superclass for example, invalidates the whole entry.
+ * Entries of sources archives are shared by the projects using them, and only keyed by the archive content, the
+ * encoding and the parsed classes.
+ *
+ * @since 3.6.1
+ */
+final class JavadocCache
+{
+    private static final int MAGIC = 0x4D504A44; // MPJD
+
+    /**
+     * Format version: entries written with another version are ignored and rewritten.
+     */
+    private static final int VERSION = 1;
+
+    private final Logger logger;
+
+    JavadocCache( Logger logger )
+    {
+        this.logger = logger;
+    }
+
+    /**
+     * @param cacheFile the cache entry
+     * @param key the digest of the sources, as computed by {@link #key(String, Collection, Collection, Collection)}
+     * @return the cached classes, or <code>null</code> if the entry is missing or out of date
+     */
+    Map<String, JavadocClass> get( File cacheFile, String key )
+    {
+        if ( !cacheFile.isFile() )
+        {
+            return null;
+        }
+
+        try ( DataInputStream in =
+            new DataInputStream( new BufferedInputStream( new FileInputStream( cacheFile ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals( in.readUTF() ) )
+            {
+                return null;
+            }
+
+            int classCount = in.readInt();
+            Map<String, JavadocClass> javadocClasses = new HashMap<>( classCount );
+            for ( int i = 0; i < classCount; i++ )
+            {
+                String name = in.readUTF();
+                int superClassCount = in.readInt();
+                List<String> superClassNames = new ArrayList<>( superClassCount );
+                for ( int j = 0; j < superClassCount; j++ )
+                {
+                    superClassNames.add( in.readUTF() );
+                }
+                AnnotatedContent content = readContent( in );
+                int fieldCount = in.readInt();
+                Map<String, AnnotatedContent> fields = new LinkedHashMap<>();
+                for ( int j = 0; j < fieldCount; j++ )
+                {
+                    fields.put( in.readUTF(), readContent( in ) );
+                }
+                javadocClasses.put( name, new JavadocClass( name, superClassNames, content, fields ) );
+            }
+            return javadocClasses;
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to read javadoc cache " + cacheFile + ": " + e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * Store the javadoc content of a set of sources. Failures are logged and otherwise ignored.
+     *
+     * @param cacheFile the cache entry
+     * @param key the digest of the sources
+     * @param javadocClasses the javadoc content of the source classes
+     */
+    void put( File cacheFile, final String key, final Map<String, JavadocClass> javadocClasses )
+    {
+        try
+        {
+            DataFileUtils.writeAtomically( cacheFile, new DataFileUtils.ContentWriter()
+            {
+                public void write( OutputStream out )
+                    throws IOException
+                {
+                    DataOutputStream dataOut = new DataOutputStream( new BufferedOutputStream( out ) );
+                    writeEntry( dataOut, key, javadocClasses );
+                    dataOut.flush();
+                }
+            } );
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to write javadoc cache " + cacheFile + ": " + e.getMessage() );
+        }
+    }
+
+    private static void writeEntry( DataOutputStream out, String key, Map<String, JavadocClass> javadocClasses )
+        throws IOException
+    {
+        out.writeInt( MAGIC );
+        out.writeInt( VERSION );
+        out.writeUTF( key );
+        out.writeInt( javadocClasses.size() );
+        for ( JavadocClass javadocClass : javadocClasses.values() )
+        {
+            out.writeUTF( javadocClass.getName() );
+            out.writeInt( javadocClass.getSuperClassNames().size() );
+            for ( String superClassName : javadocClass.getSuperClassNames() )
+            {
+                out.writeUTF( superClassName );
+            }
+            writeContent( out, javadocClass.getContent() );
+            out.writeInt( javadocClass.getFields().size() );
+            for ( Map.Entry<String, AnnotatedContent> field : javadocClass.getFields().entrySet() )
+            {
+                out.writeUTF( field.getKey() );
+                writeContent( out, field.getValue() );
+            }
+        }
+    }
+
+    /**
+     * @param encoding the source encoding
+     * @param classNames the parsed classes, or <code>null</code> if every source is parsed
+     * @param artifacts the classpath the source classes are resolved against
+     * @param sources the source files or archive
+     * @return the digest of all these inputs, as an hexadecimal string
+     * @throws IOException if a source could not be read
+     */
+    static String key( String encoding, Collection<String> classNames, Collection<Artifact> artifacts,
+                       Collection<File> sources )
+        throws IOException
+    {
+        MessageDigest digest = DataFileUtils.newSha1Digest();
+
+        update( digest, String.valueOf( encoding ) );
+        update( digest, String.valueOf( classNames ) );
+        for ( Artifact artifact : artifacts )
+        {
+            File file = artifact.getFile();
+            update( digest, file == null ? artifact.getId()
+                            : file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified() );
+        }
+
+        for ( File source : sources )
+        {
+            update( digest, source.getAbsolutePath() );
+            DataFileUtils.update( digest, source );
+        }
+
+        return DataFileUtils.toHex( digest.digest() );
+    }
+
+    /**
+     * @param encoding the source encoding
+     * @param classNames the parsed classes, or <code>null</code> if every source is parsed
+     * @param archive the sources archive
+     * @return the digest of the archive content, encoding and parsed classes, whatever the project parsing the
+     * archive, as an hexadecimal string
+     * @throws IOException if the archive could not be read
+     */
+    static String key( String encoding, Collection<String> classNames, File archive )
+        throws IOException
+    {
+        MessageDigest digest = DataFileUtils.newSha1Digest();
+        update( digest, String.valueOf( encoding ) );
+        update( digest, String.valueOf( classNames ) );
+        DataFileUtils.update( digest, archive );
+        return DataFileUtils.toHex( digest.digest() );
+    }
+
+    /**
+     * @param classNames the parsed classes, not null
+     * @return a short digest of the class names, to tell apart the entries of different parsed classes of the same
+     * sources
+     * @throws IOException if SHA-1 is not available
+     */
+    static String classNamesId( Collection<String> classNames )
+        throws IOException
+    {
+        MessageDigest digest = DataFileUtils.newSha1Digest();
+        update( digest, classNames.toString() );
+        return DataFileUtils.toHex( digest.digest() ).substring( 0, 8 );
+    }
+
+    private static void update( MessageDigest digest, String value )
+    {
+        digest.update( value.getBytes( StandardCharsets.UTF_8 ) );
+        // separator, so that consecutive values are not ambiguous
+        digest.update( (byte) 0 );
+    }
+
+    private static void writeContent( DataOutputStream out, AnnotatedContent content )
+        throws IOException
+    {
+        DataFileUtils.writeText( out, content.getDescription() );
+        DataFileUtils.writeText( out, content.getSince() );
+        DataFileUtils.writeText( out, content.getDeprecated() );
+    }
+
+    private static AnnotatedContent readContent( DataInputStream in )
+        throws IOException
+    {
+        AnnotatedContent content = new AnnotatedContent();
+        content.setDescription( DataFileUtils.readText( in ) );
+        content.setSince( DataFileUtils.readText( in ) );
+        content.setDeprecated( DataFileUtils.readText( in ) );
+        return content;
+    }
+}
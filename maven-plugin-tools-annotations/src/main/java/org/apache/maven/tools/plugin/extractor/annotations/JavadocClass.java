@@ -0,0 +1,155 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.AnnotatedContent;
+
+import com.thoughtworks.qdox.model.DocletTag;
+import com.thoughtworks.qdox.model.JavaClass;
+import com.thoughtworks.qdox.model.JavaField;
+
+/**
+ * Javadoc content of a source class used in descriptors: comment, <code>@since</code> and <code>@deprecated</code>
+ * of the class and of its fields. This is all the extractor needs from QDox, in a form that can be cached.
+ *
+ * @since 3.6.1
+ */
+final class JavadocClass
+{
+    private final String name;
+
+    /**
+     * ancestors as resolved by QDox, from the direct superclass up
+     */
+    private final List<String> superClassNames;
+
+    /**
+     * class comment, with <code>@since</code> and <code>@deprecated</code> found in the source class hierarchy
+     */
+    private final AnnotatedContent content;
+
+    /**
+     * content of the fields declared by the class, in declaration order
+     */
+    private final Map<String, AnnotatedContent> fields;
+
+    JavadocClass( String name, List<String> superClassNames, AnnotatedContent content,
+                  Map<String, AnnotatedContent> fields )
+    {
+        this.name = name;
+        this.superClassNames = superClassNames;
+        this.content = content;
+        this.fields = fields;
+    }
+
+    String getName()
+    {
+        return name;
+    }
+
+    List<String> getSuperClassNames()
+    {
+        return superClassNames;
+    }
+
+    AnnotatedContent getContent()
+    {
+        return content;
+    }
+
+    Map<String, AnnotatedContent> getFields()
+    {
+        return fields;
+    }
+
+    /**
+     * @param javaClass not null
+     * @return the javadoc content of the class
+     */
+    static JavadocClass of( JavaClass javaClass )
+    {
+        List<String> superClassNames = new ArrayList<>();
+        for ( JavaClass superClass = javaClass.getSuperJavaClass(); superClass != null;
+              superClass = superClass.getSuperJavaClass() )
+        {
+            superClassNames.add( superClass.getFullyQualifiedName() );
+        }
+
+        AnnotatedContent content = new AnnotatedContent();
+        content.setDescription( javaClass.getComment() );
+        DocletTag since = findInClassHierarchy( javaClass, "since" );
+        if ( since != null )
+        {
+            content.setSince( since.getValue() );
+        }
+        DocletTag deprecated = findInClassHierarchy( javaClass, "deprecated" );
+        if ( deprecated != null )
+        {
+            content.setDeprecated( deprecated.getValue() );
+        }
+
+        Map<String, AnnotatedContent> fields = new LinkedHashMap<>();
+        for ( JavaField javaField : javaClass.getFields() )
+        {
+            AnnotatedContent fieldContent = new AnnotatedContent();
+            fieldContent.setDescription( javaField.getComment() );
+            DocletTag fieldSince = javaField.getTagByName( "since" );
+            if ( fieldSince != null )
+            {
+                fieldContent.setSince( fieldSince.getValue() );
+            }
+            DocletTag fieldDeprecated = javaField.getTagByName( "deprecated" );
+            if ( fieldDeprecated != null )
+            {
+                fieldContent.setDeprecated( fieldDeprecated.getValue() );
+            }
+            fields.put( javaField.getName(), fieldContent );
+        }
+
+        return new JavadocClass( javaClass.getFullyQualifiedName(), superClassNames, content, fields );
+    }
+
+    /**
+     * @param javaClass not null
+     * @param tagName   not null
+     * @return docletTag instance
+     */
+    private static DocletTag findInClassHierarchy( JavaClass javaClass, String tagName )
+    {
+        DocletTag tag = javaClass.getTagByName( tagName );
+
+        if ( tag == null )
+        {
+            JavaClass superClass = javaClass.getSuperJavaClass();
+
+            if ( superClass != null )
+            {
+                tag = findInClassHierarchy( superClass, tagName );
+            }
+        }
+
+        return tag;
+    }
+}
@@ -0,0 +1,169 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * On-disk cache of the sources artifacts that could not be found, so that they are not resolved again, from
+ * remote repositories, until their entry expires. Entries map artifact coordinates to the time they were found
+ * missing.
+ *
+ * @since 3.6.1
+ */
+final class MissingSourcesCache
+{
+    private static final String FILE_NAME = "missing-sources.properties";
+
+    private final File file;
+
+    private final long ttl;
+
+    private final Logger logger;
+
+    private final Properties entries = new Properties();
+
+    private final Properties added = new Properties();
+
+    /**
+     * @param directory the directory of the cache file
+     * @param ttlMinutes how long, in minutes, a missing sources artifact is not resolved again
+     * @param logger not null
+     */
+    MissingSourcesCache( File directory, int ttlMinutes, Logger logger )
+    {
+        this.file = new File( directory, FILE_NAME );
+        this.ttl = TimeUnit.MINUTES.toMillis( ttlMinutes );
+        this.logger = logger;
+
+        if ( file.isFile() )
+        {
+            try
+            {
+                load( entries );
+            }
+            catch ( IOException e )
+            {
+                logger.warn( "Failed to read missing sources cache " + file + ": " + e.getMessage() );
+            }
+        }
+    }
+
+    /**
+     * @param key the sources artifact coordinates
+     * @return <code>true</code> if the sources artifact was found missing less than the TTL ago
+     */
+    synchronized boolean isMissing( String key )
+    {
+        String missingSince = entries.getProperty( key );
+        if ( missingSince == null )
+        {
+            return false;
+        }
+        try
+        {
+            return System.currentTimeMillis() - Long.parseLong( missingSince ) < ttl;
+        }
+        catch ( NumberFormatException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @param key the sources artifact coordinates, found missing now
+     */
+    synchronized void add( String key )
+    {
+        String now = String.valueOf( System.currentTimeMillis() );
+        entries.setProperty( key, now );
+        added.setProperty( key, now );
+    }
+
+    /**
+     * Write the added entries, merged with the entries written meanwhile by other builds, without the expired
+     * ones. Failures are logged and otherwise ignored.
+     */
+    synchronized void save()
+    {
+        if ( added.isEmpty() )
+        {
+            return;
+        }
+
+        try
+        {
+            final Properties merged = new Properties();
+            if ( file.isFile() )
+            {
+                load( merged );
+            }
+            merged.putAll( added );
+
+            long now = System.currentTimeMillis();
+            for ( String key : merged.stringPropertyNames() )
+            {
+                try
+                {
+                    if ( now - Long.parseLong( merged.getProperty( key ) ) >= ttl )
+                    {
+                        merged.remove( key );
+                    }
+                }
+                catch ( NumberFormatException e )
+                {
+                    merged.remove( key );
+                }
+            }
+
+            DataFileUtils.writeAtomically( file, new DataFileUtils.ContentWriter()
+            {
+                public void write( OutputStream out )
+                    throws IOException
+                {
+                    merged.store( out, "sources artifacts not found, with the time they were found missing" );
+                }
+            } );
+            added.clear();
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to write missing sources cache " + file + ": " + e.getMessage() );
+        }
+    }
+
+    private void load( Properties properties )
+        throws IOException
+    {
+        try ( InputStream in = new FileInputStream( file ) )
+        {
+            properties.load( in );
+        }
+    }
+}
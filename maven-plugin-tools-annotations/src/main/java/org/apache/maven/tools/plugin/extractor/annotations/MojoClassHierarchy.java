@@ -0,0 +1,186 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.AnnotatedContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ComponentAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ExecuteAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ParameterAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotatedClass;
+
+/**
+ * Content of classes flattened with their superclasses, for one extraction. Each class is flattened once, from the
+ * flattened content of its superclass, so that mojos sharing an abstract base don't walk it again. Content declared
+ * by a class overrides the content of the same field in its superclasses.
+ *
+ * @since 3.6.1
+ */
+final class MojoClassHierarchy
+{
+    private final Map<String, MojoAnnotatedClass> mojoAnnotatedClasses;
+
+    private final Map<String, JavadocClass> javadocClasses;
+
+    private final Map<String, Map<String, ParameterAnnotationContent>> parameters = new HashMap<>();
+
+    private final Map<String, Map<String, ComponentAnnotationContent>> components = new HashMap<>();
+
+    /**
+     * <code>null</code> values for classes without <code>@Execute</code> in their hierarchy
+     */
+    private final Map<String, ExecuteAnnotationContent> executes = new HashMap<>();
+
+    private final Map<String, Map<String, AnnotatedContent>> javadocFields = new HashMap<>();
+
+    /**
+     * @param mojoAnnotatedClasses the scanned classes, by class name
+     * @param javadocClasses the javadoc content of source classes, by class name
+     */
+    MojoClassHierarchy( Map<String, MojoAnnotatedClass> mojoAnnotatedClasses,
+                        Map<String, JavadocClass> javadocClasses )
+    {
+        this.mojoAnnotatedClasses = mojoAnnotatedClasses;
+        this.javadocClasses = javadocClasses;
+    }
+
+    private MojoAnnotatedClass getParent( MojoAnnotatedClass mojoAnnotatedClass )
+    {
+        String parentClassName = mojoAnnotatedClass.getParentClassName();
+        return parentClassName != null ? mojoAnnotatedClasses.get( parentClassName ) : null;
+    }
+
+    /**
+     * @param mojoAnnotatedClass not null
+     * @return the parameters of the class and its superclasses, by field name
+     */
+    Map<String, ParameterAnnotationContent> getParameters( MojoAnnotatedClass mojoAnnotatedClass )
+    {
+        Map<String, ParameterAnnotationContent> flattened = parameters.get( mojoAnnotatedClass.getClassName() );
+        if ( flattened == null )
+        {
+            MojoAnnotatedClass parent = getParent( mojoAnnotatedClass );
+            flattened = parent != null ? new HashMap<>( getParameters( parent ) )
+                            : new HashMap<String, ParameterAnnotationContent>();
+            for ( ParameterAnnotationContent parameter : mojoAnnotatedClass.getParameters().values() )
+            {
+                flattened.put( parameter.getFieldName(), parameter );
+            }
+            flattened = Collections.unmodifiableMap( flattened );
+            parameters.put( mojoAnnotatedClass.getClassName(), flattened );
+        }
+        return flattened;
+    }
+
+    /**
+     * @param mojoAnnotatedClass not null
+     * @return the components of the class and its superclasses, by field name
+     */
+    Map<String, ComponentAnnotationContent> getComponents( MojoAnnotatedClass mojoAnnotatedClass )
+    {
+        Map<String, ComponentAnnotationContent> flattened = components.get( mojoAnnotatedClass.getClassName() );
+        if ( flattened == null )
+        {
+            MojoAnnotatedClass parent = getParent( mojoAnnotatedClass );
+            flattened = parent != null ? new HashMap<>( getComponents( parent ) )
+                            : new HashMap<String, ComponentAnnotationContent>();
+            for ( ComponentAnnotationContent component : mojoAnnotatedClass.getComponents().values() )
+            {
+                flattened.put( component.getFieldName(), component );
+            }
+            flattened = Collections.unmodifiableMap( flattened );
+            components.put( mojoAnnotatedClass.getClassName(), flattened );
+        }
+        return flattened;
+    }
+
+    /**
+     * @param mojoAnnotatedClass not null
+     * @return the <code>@Execute</code> of the class or of its nearest superclass, or <code>null</code>
+     */
+    ExecuteAnnotationContent getExecute( MojoAnnotatedClass mojoAnnotatedClass )
+    {
+        if ( mojoAnnotatedClass.getExecute() != null )
+        {
+            return mojoAnnotatedClass.getExecute();
+        }
+        if ( executes.containsKey( mojoAnnotatedClass.getClassName() ) )
+        {
+            return executes.get( mojoAnnotatedClass.getClassName() );
+        }
+
+        MojoAnnotatedClass parent = getParent( mojoAnnotatedClass );
+        ExecuteAnnotationContent execute = parent != null ? getExecute( parent ) : null;
+        executes.put( mojoAnnotatedClass.getClassName(), execute );
+        return execute;
+    }
+
+    /**
+     * @param javadocClass not null
+     * @return the javadoc content of the fields of the class and of its source superclasses, by field name
+     */
+    Map<String, AnnotatedContent> getJavadocFields( JavadocClass javadocClass )
+    {
+        Map<String, AnnotatedContent> flattened = javadocFields.get( javadocClass.getName() );
+        if ( flattened != null )
+        {
+            return flattened;
+        }
+
+        // start from the nearest source superclass: maybe sources come from scan of sources artifact
+        flattened = new HashMap<>();
+        List<String> superClassNames = javadocClass.getSuperClassNames();
+        for ( int i = 0; i < superClassNames.size(); i++ )
+        {
+            JavadocClass superClass = javadocClasses.get( superClassNames.get( i ) );
+            if ( superClass == null )
+            {
+                continue;
+            }
+
+            if ( superClass.getSuperClassNames().equals( superClassNames.subList( i + 1, superClassNames.size() ) ) )
+            {
+                // same ancestors: reuse its flattened fields
+                flattened.putAll( getJavadocFields( superClass ) );
+            }
+            else
+            {
+                for ( int j = superClassNames.size() - 1; j >= i; j-- )
+                {
+                    JavadocClass ancestor = javadocClasses.get( superClassNames.get( j ) );
+                    if ( ancestor != null )
+                    {
+                        flattened.putAll( ancestor.getFields() );
+                    }
+                }
+            }
+            break;
+        }
+
+        flattened.putAll( javadocClass.getFields() );
+        flattened = Collections.unmodifiableMap( flattened );
+        javadocFields.put( javadocClass.getName(), flattened );
+        return flattened;
+    }
+}
@@ -0,0 +1,198 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ComponentAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ExecuteAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.MojoAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ParameterAnnotationContent;
+import org.objectweb.asm.Type;
+
+/**
+ * Sets annotation attribute values read from bytecode on the annotation content model, with a static dispatch on
+ * the attribute name instead of a reflective method lookup per attribute.
+ * Enum attributes are visited as their constant name, <code>Class</code> attributes as an ASM {@link Type}.
+ *
+ * @since 3.6.1
+ */
+final class AnnotationContentBinder
+{
+    private AnnotationContentBinder()
+    {
+        // no op
+    }
+
+    /**
+     * @param content the annotation content to populate
+     * @param name the annotation attribute name
+     * @param value the annotation attribute value, as visited by ASM
+     * @throws ExtractionException if the content has no such attribute or the value has an unexpected type
+     */
+    static void bind( Object content, String name, Object value )
+        throws ExtractionException
+    {
+        boolean bound;
+        try
+        {
+            if ( content instanceof MojoAnnotationContent )
+            {
+                bound = bind( (MojoAnnotationContent) content, name, value );
+            }
+            else if ( content instanceof ParameterAnnotationContent )
+            {
+                bound = bind( (ParameterAnnotationContent) content, name, value );
+            }
+            else if ( content instanceof ComponentAnnotationContent )
+            {
+                bound = bind( (ComponentAnnotationContent) content, name, value );
+            }
+            else if ( content instanceof ExecuteAnnotationContent )
+            {
+                bound = bind( (ExecuteAnnotationContent) content, name, value );
+            }
+            else
+            {
+                bound = false;
+            }
+        }
+        catch ( ClassCastException e )
+        {
+            throw new ExtractionException( "Unexpected value " + value + " for attribute '" + name + "' of "
+                + content.getClass().getName(), e );
+        }
+
+        if ( !bound )
+        {
+            throw new ExtractionException( "Unknown attribute '" + name + "' for " + content.getClass().getName() );
+        }
+    }
+
+    private static boolean bind( MojoAnnotationContent mojo, String name, Object value )
+    {
+        switch ( name )
+        {
+            case "name":
+                mojo.name( (String) value );
+                return true;
+            case "defaultPhase":
+                mojo.defaultPhase( (String) value );
+                return true;
+            case "requiresDependencyResolution":
+                mojo.requiresDependencyResolution( (String) value );
+                return true;
+            case "requiresDependencyCollection":
+                mojo.requiresDependencyCollection( (String) value );
+                return true;
+            case "instantiationStrategy":
+                mojo.instantiationStrategy( (String) value );
+                return true;
+            case "executionStrategy":
+                mojo.executionStrategy( (String) value );
+                return true;
+            case "requiresProject":
+                mojo.requiresProject( (Boolean) value );
+                return true;
+            case "requiresReports":
+                mojo.requiresReports( (Boolean) value );
+                return true;
+            case "aggregator":
+                mojo.aggregator( (Boolean) value );
+                return true;
+            case "requiresDirectInvocation":
+                mojo.requiresDirectInvocation( (Boolean) value );
+                return true;
+            case "requiresOnline":
+                mojo.requiresOnline( (Boolean) value );
+                return true;
+            case "inheritByDefault":
+                mojo.inheritByDefault( (Boolean) value );
+                return true;
+            case "configurator":
+                mojo.configurator( (String) value );
+                return true;
+            case "threadSafe":
+                mojo.threadSafe( (Boolean) value );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean bind( ParameterAnnotationContent parameter, String name, Object value )
+    {
+        switch ( name )
+        {
+            case "name":
+                parameter.name( (String) value );
+                return true;
+            case "alias":
+                parameter.alias( (String) value );
+                return true;
+            case "property":
+                parameter.property( (String) value );
+                return true;
+            case "defaultValue":
+                parameter.defaultValue( (String) value );
+                return true;
+            case "required":
+                parameter.required( (Boolean) value );
+                return true;
+            case "readonly":
+                parameter.readonly( (Boolean) value );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean bind( ComponentAnnotationContent component, String name, Object value )
+    {
+        switch ( name )
+        {
+            case "role":
+                component.setRoleClassName( ( (Type) value ).getClassName() );
+                return true;
+            case "hint":
+                component.hint( (String) value );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean bind( ExecuteAnnotationContent execute, String name, Object value )
+    {
+        switch ( name )
+        {
+            case "phase":
+                execute.phase( (String) value );
+                return true;
+            case "goal":
+                execute.goal( (String) value );
+                return true;
+            case "lifecycle":
+                execute.lifecycle( (String) value );
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+import org.codehaus.plexus.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State of a previous scan of a classes directory: for each class file path, its size, last modification time,
+ * checksum and the class found in it. Used to only analyze added or modified class files on the next scan.
+ *
+ * @since 3.6.1
+ */
+class ClassesDirectoryManifest
+{
+    private static final int MAGIC = 0x4D50434D; // MPCM
+
+    /**
+     * Format version: manifests written with another version are ignored.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Scan result of a single class file.
+     */
+    static final class Entry
+    {
+        final long size;
+
+        final long lastModified;
+
+        final String checksum;
+
+        /**
+         * <code>null</code> if the class file was ignored
+         */
+        final MojoAnnotatedClass mojoAnnotatedClass;
+
+        Entry( long size, long lastModified, String checksum, MojoAnnotatedClass mojoAnnotatedClass )
+        {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+            this.mojoAnnotatedClass = mojoAnnotatedClass;
+        }
+    }
+
+    /**
+     * key is class file path relative to the classes directory
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    Entry get( String classFile )
+    {
+        return entries.get( classFile );
+    }
+
+    void put( String classFile, Entry entry )
+    {
+        entries.put( classFile, entry );
+    }
+
+    /**
+     * @param manifestFile the manifest file
+     * @param key identifies the scan configuration: a manifest written with another key is ignored
+     * @param artifact the artifact to associate with the classes read
+     * @param logger not null
+     * @return the manifest read, or an empty manifest if it does not exist or can't be used
+     */
+    static ClassesDirectoryManifest load( File manifestFile, String key, Artifact artifact, Logger logger )
+    {
+        ClassesDirectoryManifest manifest = new ClassesDirectoryManifest();
+        if ( !manifestFile.isFile() )
+        {
+            return manifest;
+        }
+
+        try ( DataInputStream in =
+            new DataInputStream( new BufferedInputStream( new FileInputStream( manifestFile ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals( in.readUTF() ) )
+            {
+                return manifest;
+            }
+
+            int entryCount = in.readInt();
+            for ( int i = 0; i < entryCount; i++ )
+            {
+                String classFile = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                String checksum = in.readUTF();
+                MojoAnnotatedClass mojoAnnotatedClass =
+                    in.readBoolean() ? MojoAnnotatedClassSerializer.read( in, artifact ) : null;
+                manifest.put( classFile, new Entry( size, lastModified, checksum, mojoAnnotatedClass ) );
+            }
+            return manifest;
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to read scan manifest " + manifestFile + ": " + e.getMessage() );
+            return new ClassesDirectoryManifest();
+        }
+    }
+
+    /**
+     * Write the manifest. Failures are logged and otherwise ignored: the next scan will be a full scan.
+     *
+     * @param manifestFile the manifest file
+     * @param key identifies the scan configuration
+     * @param logger not null
+     */
+    void save( File manifestFile, final String key, Logger logger )
+    {
+        try
+        {
+            DataFileUtils.writeAtomically( manifestFile, new DataFileUtils.ContentWriter()
+            {
+                public void write( OutputStream out )
+                    throws IOException
+                {
+                    DataOutputStream dataOut = new DataOutputStream( new BufferedOutputStream( out ) );
+                    ClassesDirectoryManifest.this.write( dataOut, key );
+                    dataOut.flush();
+                }
+            } );
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to write scan manifest " + manifestFile + ": " + e.getMessage() );
+        }
+    }
+
+    private void write( DataOutputStream out, String key )
+        throws IOException
+    {
+        out.writeInt( MAGIC );
+        out.writeInt( VERSION );
+        out.writeUTF( key );
+        out.writeInt( entries.size() );
+        for ( Map.Entry<String, Entry> entry : entries.entrySet() )
+        {
+            out.writeUTF( entry.getKey() );
+            out.writeLong( entry.getValue().size );
+            out.writeLong( entry.getValue().lastModified );
+            out.writeUTF( entry.getValue().checksum );
+            MojoAnnotatedClass mojoAnnotatedClass = entry.getValue().mojoAnnotatedClass;
+            out.writeBoolean( mojoAnnotatedClass != null );
+            if ( mojoAnnotatedClass != null )
+            {
+                MojoAnnotatedClassSerializer.write( out, mojoAnnotatedClass );
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.maven.tools.plugin.extractor.annotations.scanner;
  */
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -32,10 +33,11 @@ import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ParameterAn
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.visitors.MojoAnnotationVisitor;
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.visitors.MojoClassVisitor;
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.visitors.MojoFieldVisitor;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
 import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
-import org.codehaus.plexus.util.reflection.Reflector;
 import org.codehaus.plexus.util.reflection.ReflectorException;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Type;
@@ -45,12 +47,24 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 
 /**
  * @author Olivier Lamy
@@ -64,24 +78,300 @@ public class DefaultMojoAnnotationsScanner
     // classes with a dash must be ignored
     private static final Pattern SCANNABLE_CLASS = Pattern.compile( "[^-]+\\.class" );
     
-    private Reflector reflector = new Reflector();
+    private static final byte[] ANNOTATIONS_DESCRIPTOR_PREFIX =
+        "Lorg/apache/maven/plugins/annotations/".getBytes( StandardCharsets.US_ASCII );
+
+    /**
+     * Dependency scan results shared by the modules of a session: this component is reused by every module built
+     * with the same plugin realm, possibly concurrently. Each module gets its own clone of the session, so results
+     * are keyed by the execution request that the clones share. Weak keys release the results with the build.
+     */
+    private final Map<Object, SharedScanCache> sharedCaches = new WeakHashMap<>();
 
     public Map<String, MojoAnnotatedClass> scan( MojoAnnotationsScannerRequest request )
         throws ExtractionException
     {
-        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new HashMap<>();
+        List<ScanStatistics> statistics = new ArrayList<>();
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses;
+
+        if ( request.isLazyDependencyScan() )
+        {
+            mojoAnnotatedClasses = scanLazily( request, statistics );
+        }
+        else
+        {
+            SharedScanCache sharedCache = getSharedCache( request.getSession() );
+            MojoAnnotationsScanCache cache = null;
+            if ( request.getCacheDirectory() != null )
+            {
+                cache = new MojoAnnotationsScanCache( request.getCacheDirectory(), getLogger() );
+                if ( request.isPurgeCache() )
+                {
+                    if ( sharedCache != null )
+                    {
+                        sharedCache.purgeOnce( request.getCacheDirectory(), cache );
+                    }
+                    else
+                    {
+                        cache.purge();
+                    }
+                }
+            }
+
+            if ( request.getThreads() > 1 )
+            {
+                mojoAnnotatedClasses = scanConcurrently( request, sharedCache, cache, statistics );
+            }
+            else
+            {
+                mojoAnnotatedClasses = scanSequentially( request, sharedCache, cache, statistics );
+            }
+        }
+
+        report( request, statistics );
+
+        return mojoAnnotatedClasses;
+    }
+
+    /**
+     * @param session may be <code>null</code>
+     * @return the dependency scan results shared in the session, or <code>null</code> without session
+     */
+    private SharedScanCache getSharedCache( MavenSession session )
+    {
+        if ( session == null )
+        {
+            return null;
+        }
+
+        // the session clones of the modules share their execution request
+        Object key = session.getRequest() != null ? session.getRequest() : session;
+        synchronized ( sharedCaches )
+        {
+            SharedScanCache sharedCache = sharedCaches.get( key );
+            if ( sharedCache == null )
+            {
+                sharedCache = new SharedScanCache();
+                sharedCaches.put( key, sharedCache );
+            }
+            return sharedCache;
+        }
+    }
+
+    private Map<String, MojoAnnotatedClass> scanSequentially( MojoAnnotationsScannerRequest request,
+                                                              SharedScanCache sharedCache,
+                                                              MojoAnnotationsScanCache cache,
+                                                              List<ScanStatistics> statistics )
+        throws ExtractionException
+    {
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+        PackageFilter dependencyFilter = getDependencyFilter( request );
 
         try
         {
             for ( Artifact dependency : request.getDependencies() )
             {
-                scan( mojoAnnotatedClasses, dependency.getFile(), request.getIncludePatterns(), dependency, true );
+                ScanStatistics stats = new ScanStatistics( getSourceName( dependency ) );
+                statistics.add( stats );
+                mojoAnnotatedClasses.putAll( scanDependency( dependency, request.getIncludePatterns(),
+                                                             dependencyFilter, sharedCache, cache, stats ) );
+            }
+
+            for ( File classDirectory : request.getClassesDirectories() )
+            {
+                ScanStatistics stats = new ScanStatistics( String.valueOf( classDirectory ) );
+                statistics.add( stats );
+                mojoAnnotatedClasses.putAll( scanClassesDirectory( classDirectory, request, stats ) );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new ExtractionException( e.getMessage(), e );
+        }
+
+        return mojoAnnotatedClasses;
+    }
+
+    /**
+     * Log the scan statistics summary at debug level, and write them to the report file if requested.
+     */
+    private void report( MojoAnnotationsScannerRequest request, List<ScanStatistics> statistics )
+    {
+        ScanStatistics.logSummary( statistics, getLogger() );
+
+        if ( request.getReportFile() != null )
+        {
+            try
+            {
+                ScanStatistics.writeJson( statistics, request.getReportFile() );
+            }
+            catch ( IOException e )
+            {
+                getLogger().warn( "Failed to write scan report " + request.getReportFile() + ": " + e.getMessage() );
+            }
+        }
+    }
+
+    private static String getSourceName( Artifact dependency )
+    {
+        return dependency.getId() != null ? dependency.getId() : String.valueOf( dependency.getFile() );
+    }
+
+    /**
+     * Scan dependencies and classes directories on a pool of <code>request.getThreads()</code> threads.
+     * Each source is scanned independently, then results are merged in the same order as the sequential scan, so
+     * that classes from classes directories still override classes found in dependencies.
+     *
+     * @param request
+     * @param sharedCache dependencies scan results shared in the session, may be <code>null</code>
+     * @param cache   dependencies scan cache, may be <code>null</code>
+     * @param statistics receives the statistics of each source, in scan order
+     * @return map of mojo-annotated classes keyed by full class name
+     * @throws ExtractionException
+     */
+    private Map<String, MojoAnnotatedClass> scanConcurrently( final MojoAnnotationsScannerRequest request,
+                                                              final SharedScanCache sharedCache,
+                                                              final MojoAnnotationsScanCache cache,
+                                                              List<ScanStatistics> statistics )
+        throws ExtractionException
+    {
+        List<Callable<Map<String, MojoAnnotatedClass>>> tasks = new ArrayList<>();
+        final PackageFilter dependencyFilter = getDependencyFilter( request );
+
+        for ( final Artifact dependency : request.getDependencies() )
+        {
+            final ScanStatistics stats = new ScanStatistics( getSourceName( dependency ) );
+            statistics.add( stats );
+            tasks.add( new Callable<Map<String, MojoAnnotatedClass>>()
+            {
+                public Map<String, MojoAnnotatedClass> call()
+                    throws IOException, ExtractionException
+                {
+                    return scanDependency( dependency, request.getIncludePatterns(), dependencyFilter,
+                                           sharedCache, cache, stats );
+                }
+            } );
+        }
+
+        for ( final File classDirectory : request.getClassesDirectories() )
+        {
+            final ScanStatistics stats = new ScanStatistics( String.valueOf( classDirectory ) );
+            statistics.add( stats );
+            tasks.add( new Callable<Map<String, MojoAnnotatedClass>>()
+            {
+                public Map<String, MojoAnnotatedClass> call()
+                    throws IOException, ExtractionException
+                {
+                    return scanClassesDirectory( classDirectory, request, stats );
+                }
+            } );
+        }
+
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+
+        if ( tasks.isEmpty() )
+        {
+            return mojoAnnotatedClasses;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( request.getThreads(), tasks.size() ) );
+        try
+        {
+            // futures are returned in tasks order: merge them as the sequential scan does
+            for ( Future<Map<String, MojoAnnotatedClass>> future : executor.invokeAll( tasks ) )
+            {
+                mojoAnnotatedClasses.putAll( future.get() );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException( e.getMessage(), e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof ExtractionException )
+            {
+                throw (ExtractionException) cause;
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
             }
+            throw new ExtractionException( cause.getMessage(), cause );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return mojoAnnotatedClasses;
+    }
 
+    /**
+     * Scan classes directories first, then only analyze the dependency classes that are ancestors of the classes
+     * found: dependencies are indexed by class name from their archive central directory or directory listing, and
+     * only the class files of the needed ancestors are read.
+     * Resulting mojo descriptors are the same as with a full scan, as other dependency classes are never used.
+     *
+     * @param request
+     * @param statistics receives the statistics of each source
+     * @return map of mojo-annotated classes keyed by full class name
+     * @throws ExtractionException
+     */
+    private Map<String, MojoAnnotatedClass> scanLazily( MojoAnnotationsScannerRequest request,
+                                                        List<ScanStatistics> statistics )
+        throws ExtractionException
+    {
+        Map<String, MojoAnnotatedClass> projectClasses = new HashMap<>();
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+
+        try
+        {
             for ( File classDirectory : request.getClassesDirectories() )
             {
-                scan( mojoAnnotatedClasses, classDirectory, request.getIncludePatterns(),
-                      request.getProject().getArtifact(), false );
+                ScanStatistics stats = new ScanStatistics( String.valueOf( classDirectory ) );
+                statistics.add( stats );
+                projectClasses.putAll( scanClassesDirectory( classDirectory, request, stats ) );
+            }
+
+            try ( DependencyClassIndex index = new DependencyClassIndex( SCANNABLE_CLASS ) )
+            {
+                Map<Artifact, ScanStatistics> dependencyStatistics = new IdentityHashMap<>();
+                PackageFilter dependencyFilter = getDependencyFilter( request );
+                for ( Artifact dependency : request.getDependencies() )
+                {
+                    ScanStatistics stats = new ScanStatistics( getSourceName( dependency ) );
+                    statistics.add( stats );
+                    dependencyStatistics.put( dependency, stats );
+
+                    long start = System.nanoTime();
+                    stats.addEntries( index.add( dependency, request.getIncludePatterns(), dependencyFilter ) );
+                    stats.addTime( start );
+                }
+
+                for ( MojoAnnotatedClass projectClass : projectClasses.values() )
+                {
+                    String parentClassName = projectClass.getParentClassName();
+                    while ( parentClassName != null && !projectClasses.containsKey( parentClassName )
+                        && !mojoAnnotatedClasses.containsKey( parentClassName ) )
+                    {
+                        MojoAnnotatedClass ancestor =
+                            analyzeDependencyClass( index, parentClassName, dependencyStatistics );
+                        if ( ancestor == null )
+                        {
+                            // not in dependencies, e.g. a JDK class
+                            break;
+                        }
+                        mojoAnnotatedClasses.put( parentClassName, ancestor );
+                        parentClassName = ancestor.getParentClassName();
+                    }
+                }
             }
         }
         catch ( IOException e )
@@ -89,29 +379,182 @@ public class DefaultMojoAnnotationsScanner
             throw new ExtractionException( e.getMessage(), e );
         }
 
+        getLogger().debug( "Lazy dependencies scan: analyzed " + mojoAnnotatedClasses.size()
+                               + " dependency classes" );
+
+        // classes directories override dependencies, as with a full scan
+        mojoAnnotatedClasses.putAll( projectClasses );
         return mojoAnnotatedClasses;
     }
 
+    private MojoAnnotatedClass analyzeDependencyClass( DependencyClassIndex index, String className,
+                                                       Map<Artifact, ScanStatistics> dependencyStatistics )
+        throws IOException, ExtractionException
+    {
+        DependencyClassIndex.Location location = index.get( className );
+        if ( location == null )
+        {
+            return null;
+        }
+
+        if ( location.indexedClass != null )
+        {
+            location.indexedClass.setMojo( null );
+            return location.indexedClass;
+        }
+
+        long start = System.nanoTime();
+        ScanStatistics stats = dependencyStatistics.get( location.artifact );
+        Map<String, MojoAnnotatedClass> analyzed = new HashMap<>( 2 );
+        try ( InputStream is = location.open() )
+        {
+            analyzeClassStream( analyzed, is, location.artifact, true, location.source.getAbsolutePath(),
+                                location.file, stats );
+        }
+        stats.addTime( start );
+        return analyzed.get( className );
+    }
+
+    /**
+     * Scan a classes directory of the project, only analyzing class files added or modified since the previous scan
+     * when incremental scanning is enabled.
+     */
+    private Map<String, MojoAnnotatedClass> scanClassesDirectory( File classDirectory,
+                                                                  MojoAnnotationsScannerRequest request,
+                                                                  ScanStatistics stats )
+        throws IOException, ExtractionException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            Artifact artifact = request.getProject().getArtifact();
+            if ( request.getIncrementalDirectory() == null || classDirectory == null
+                || !classDirectory.isDirectory() )
+            {
+                return scan( classDirectory, request.getIncludePatterns(), artifact, false, PackageFilter.ALL,
+                             stats );
+            }
+
+            return scanDirectoryIncrementally( classDirectory, request.getIncludePatterns(), artifact,
+                                               request.getIncrementalDirectory(), stats );
+        }
+        finally
+        {
+            stats.addTime( start );
+        }
+    }
+
+    private static PackageFilter getDependencyFilter( MojoAnnotationsScannerRequest request )
+    {
+        return new PackageFilter( request.getDependencyPackageIncludes(), request.getDependencyPackageExcludes() );
+    }
+
+    /**
+     * Scan a dependency, using the result of a previous scan of the same archive in the session or in the scan cache
+     * when available.
+     */
+    private Map<String, MojoAnnotatedClass> scanDependency( final Artifact dependency, List<String> includePatterns,
+                                                            final PackageFilter filter, SharedScanCache sharedCache,
+                                                            final MojoAnnotationsScanCache cache,
+                                                            final ScanStatistics stats )
+        throws IOException, ExtractionException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            final File file = dependency.getFile();
+            if ( file == null || !file.isFile() )
+            {
+                return scan( file, includePatterns, dependency, true, filter, stats );
+            }
+
+            if ( sharedCache == null )
+            {
+                return scanDependencyArchive( dependency, file, filter, cache, stats );
+            }
+
+            return sharedCache.get( dependency, file, filter.getKey(), stats,
+                                    new Callable<Map<String, MojoAnnotatedClass>>()
+                                    {
+                                        public Map<String, MojoAnnotatedClass> call()
+                                            throws IOException, ExtractionException
+                                        {
+                                            return scanDependencyArchive( dependency, file, filter, cache, stats );
+                                        }
+                                    } );
+        }
+        finally
+        {
+            stats.addTime( start );
+        }
+    }
+
+    private Map<String, MojoAnnotatedClass> scanDependencyArchive( Artifact dependency, File file,
+                                                                   PackageFilter filter,
+                                                                   MojoAnnotationsScanCache cache,
+                                                                   ScanStatistics stats )
+        throws IOException, ExtractionException
+    {
+        if ( cache == null )
+        {
+            return scanArchive( file, dependency, true, filter, stats );
+        }
+
+        Map<String, MojoAnnotatedClass> scanResult = cache.get( dependency, file, filter.getKey() );
+        if ( scanResult != null )
+        {
+            getLogger().debug( "Using cached scan result for " + dependency.getId() );
+            stats.setCached( true );
+            return scanResult;
+        }
+
+        scanResult = scanArchive( file, dependency, true, filter, stats );
+        cache.put( dependency, file, filter.getKey(), scanResult );
+        return scanResult;
+    }
+
     protected void scan( Map<String, MojoAnnotatedClass> mojoAnnotatedClasses, File source,
                          List<String> includePatterns, Artifact artifact, boolean excludeMojo )
         throws IOException, ExtractionException
+    {
+        mojoAnnotatedClasses.putAll( scan( source, includePatterns, artifact, excludeMojo ) );
+    }
+
+    /**
+     * @param source          classes directory or archive
+     * @param includePatterns
+     * @param artifact
+     * @param excludeMojo     for dependencies, we exclude Mojo annotations found
+     * @return annotated classes found, empty if the source does not exist
+     * @throws IOException
+     * @throws ExtractionException
+     * @since 3.6.1
+     */
+    protected Map<String, MojoAnnotatedClass> scan( File source, List<String> includePatterns, Artifact artifact,
+                                                    boolean excludeMojo )
+        throws IOException, ExtractionException
+    {
+        return scan( source, includePatterns, artifact, excludeMojo, PackageFilter.ALL,
+                     new ScanStatistics( String.valueOf( source ) ) );
+    }
+
+    private Map<String, MojoAnnotatedClass> scan( File source, List<String> includePatterns, Artifact artifact,
+                                                  boolean excludeMojo, PackageFilter filter, ScanStatistics stats )
+        throws IOException, ExtractionException
     {
         if ( source == null || ! source.exists() )
         {
-            return;
+            return Collections.emptyMap();
         }
 
-        Map<String, MojoAnnotatedClass> scanResult;
         if ( source.isDirectory() )
         {
-            scanResult = scanDirectory( source, includePatterns, artifact, excludeMojo );
+            return scanDirectory( source, includePatterns, artifact, excludeMojo, filter, stats );
         }
         else
         {
-            scanResult = scanArchive( source, artifact, excludeMojo );
+            return scanArchive( source, artifact, excludeMojo, filter, stats );
         }
-
-        mojoAnnotatedClasses.putAll( scanResult );
     }
 
     /**
@@ -125,22 +568,55 @@ public class DefaultMojoAnnotationsScanner
     protected Map<String, MojoAnnotatedClass> scanArchive( File archiveFile, Artifact artifact, boolean excludeMojo )
         throws IOException, ExtractionException
     {
-        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new HashMap<>();
+        return scanArchive( archiveFile, artifact, excludeMojo, PackageFilter.ALL,
+                            new ScanStatistics( archiveFile.getPath() ) );
+    }
+
+    private Map<String, MojoAnnotatedClass> scanArchive( File archiveFile, Artifact artifact, boolean excludeMojo,
+                                                         PackageFilter filter, ScanStatistics stats )
+        throws IOException, ExtractionException
+    {
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+
+        ZipFile zipFile;
+        try
+        {
+            zipFile = new ZipFile( archiveFile );
+        }
+        catch ( ZipException e )
+        {
+            // not an archive, e.g. a pom dependency: nothing to scan
+            getLogger().debug( "Skipping " + archiveFile.getAbsolutePath() + ": " + e.getMessage() );
+            return mojoAnnotatedClasses;
+        }
 
         String zipEntryName = null;
-        try ( ZipInputStream archiveStream = new ZipInputStream( new FileInputStream( archiveFile ) ) )
+        // use the central directory: only matching class entries are read and inflated
+        try
         {
+            Map<String, MojoAnnotatedClass> indexedClasses =
+                readIndex( zipFile, artifact, excludeMojo, filter, stats );
+            if ( indexedClasses != null )
+            {
+                return indexedClasses;
+            }
+
             String archiveFilename = archiveFile.getAbsolutePath();
-            for ( ZipEntry zipEntry = archiveStream.getNextEntry(); zipEntry != null;
-                  zipEntry = archiveStream.getNextEntry() )
+            for ( Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); )
             {
+                ZipEntry zipEntry = entries.nextElement();
                 zipEntryName = zipEntry.getName();
-                if ( !SCANNABLE_CLASS.matcher( zipEntryName ).matches() )
+                stats.addEntries( 1 );
+                if ( zipEntry.isDirectory() || !SCANNABLE_CLASS.matcher( zipEntryName ).matches()
+                    || !filter.isIncluded( zipEntryName ) )
                 {
                     continue;
                 }
-                analyzeClassStream( mojoAnnotatedClasses, archiveStream, artifact, excludeMojo, archiveFilename,
-                                    zipEntry.getName() );
+                try ( InputStream is = zipFile.getInputStream( zipEntry ) )
+                {
+                    analyzeClassStream( mojoAnnotatedClasses, is, artifact, excludeMojo, archiveFilename,
+                                        zipEntryName, stats );
+                }
             }
         }
         catch ( IllegalArgumentException e )
@@ -150,10 +626,50 @@ public class DefaultMojoAnnotationsScanner
             
             throw e;
         }
+        finally
+        {
+            zipFile.close();
+        }
 
         return mojoAnnotatedClasses;
     }
 
+    /**
+     * Read the classes of the mojo annotations index written in a plugin archive by the descriptor goal, instead of
+     * scanning its bytecode.
+     *
+     * @return the indexed classes, or <code>null</code> if the archive has no usable index
+     */
+    private Map<String, MojoAnnotatedClass> readIndex( ZipFile zipFile, Artifact artifact, boolean excludeMojo,
+                                                       PackageFilter filter, ScanStatistics stats )
+        throws IOException
+    {
+        Map<String, MojoAnnotatedClass> indexedClasses = MojoAnnotationsIndex.read( zipFile, artifact );
+        if ( indexedClasses == null )
+        {
+            return null;
+        }
+
+        getLogger().debug( "Using mojo annotations index of " + artifact.getId() );
+        stats.addEntries( 1 );
+
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+        for ( MojoAnnotatedClass mojoAnnotatedClass : indexedClasses.values() )
+        {
+            if ( !filter.isIncluded( mojoAnnotatedClass.getClassName().replace( '.', '/' ) + ".class" ) )
+            {
+                continue;
+            }
+            if ( excludeMojo )
+            {
+                mojoAnnotatedClass.setMojo( null );
+            }
+            stats.addClass( 0, false, mojoAnnotatedClass.hasAnnotations() );
+            mojoAnnotatedClasses.put( mojoAnnotatedClass.getClassName(), mojoAnnotatedClass );
+        }
+        return mojoAnnotatedClasses;
+    }
+
     /**
      * @param classDirectory
      * @param includePatterns
@@ -167,8 +683,182 @@ public class DefaultMojoAnnotationsScanner
                                                              Artifact artifact, boolean excludeMojo )
         throws IOException, ExtractionException
     {
-        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new HashMap<>();
+        return scanDirectory( classDirectory, includePatterns, artifact, excludeMojo, PackageFilter.ALL,
+                              new ScanStatistics( classDirectory.getPath() ) );
+    }
+
+    private Map<String, MojoAnnotatedClass> scanDirectory( File classDirectory, List<String> includePatterns,
+                                                           Artifact artifact, boolean excludeMojo,
+                                                           PackageFilter filter, ScanStatistics stats )
+        throws IOException, ExtractionException
+    {
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+
+        String classDirname = classDirectory.getAbsolutePath();
+
+        List<String> classFiles = getScannableClassFiles( classDirectory, includePatterns, filter );
+        stats.addEntries( classFiles.size() );
+        for ( String classFile : classFiles )
+        {
+            try ( InputStream is = //
+                    new BufferedInputStream( new FileInputStream( new File( classDirectory, classFile ) ) ) )
+            {
+                analyzeClassStream( mojoAnnotatedClasses, is, artifact, excludeMojo, classDirname, classFile,
+                                    stats );
+            }
+        }
+        return mojoAnnotatedClasses;
+    }
+
+    /**
+     * Scan a classes directory, reusing the results of the previous scan stored in <code>stateDirectory</code> for
+     * class files that did not change. Class files that were deleted since the previous scan are dropped.
+     *
+     * @param classDirectory
+     * @param includePatterns
+     * @param artifact
+     * @param stateDirectory  directory where the scan manifest of the classes directory is kept
+     * @param stats
+     * @return annotated classes found
+     * @throws IOException
+     * @throws ExtractionException
+     */
+    private Map<String, MojoAnnotatedClass> scanDirectoryIncrementally( File classDirectory,
+                                                                        List<String> includePatterns,
+                                                                        Artifact artifact, File stateDirectory,
+                                                                        ScanStatistics stats )
+        throws IOException, ExtractionException
+    {
+        String classDirname = classDirectory.getAbsolutePath();
+        String key = getManifestKey( classDirectory, includePatterns );
+        File manifestFile = getManifestFile( classDirectory, stateDirectory );
+
+        ClassesDirectoryManifest previous = ClassesDirectoryManifest.load( manifestFile, key, artifact, getLogger() );
+        ClassesDirectoryManifest current = new ClassesDirectoryManifest();
+
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+        int classFileCount = 0;
+        int analyzedCount = 0;
+
+        for ( String classFile : getScannableClassFiles( classDirectory, includePatterns, PackageFilter.ALL ) )
+        {
+            classFileCount++;
+            File file = new File( classDirectory, classFile );
+            long size = file.length();
+            long lastModified = file.lastModified();
+
+            ClassesDirectoryManifest.Entry entry = previous.get( classFile );
+            if ( entry == null || entry.size != size || entry.lastModified != lastModified )
+            {
+                String checksum = DataFileUtils.checksum( file );
+                if ( entry != null && entry.checksum.equals( checksum ) )
+                {
+                    // touched but not modified
+                    entry = new ClassesDirectoryManifest.Entry( size, lastModified, checksum,
+                                                                entry.mojoAnnotatedClass );
+                }
+                else
+                {
+                    Map<String, MojoAnnotatedClass> analyzed = new HashMap<>( 2 );
+                    try ( InputStream is = new BufferedInputStream( new FileInputStream( file ) ) )
+                    {
+                        analyzeClassStream( analyzed, is, artifact, false, classDirname, classFile, stats );
+                    }
+                    analyzedCount++;
+                    entry = new ClassesDirectoryManifest.Entry( size, lastModified, checksum, analyzed.isEmpty()
+                                    ? null : analyzed.values().iterator().next() );
+                }
+            }
+
+            current.put( classFile, entry );
+            if ( entry.mojoAnnotatedClass != null )
+            {
+                mojoAnnotatedClasses.put( entry.mojoAnnotatedClass.getClassName(), entry.mojoAnnotatedClass );
+            }
+        }
+
+        current.save( manifestFile, key, getLogger() );
+        stats.addEntries( classFileCount );
+
+        getLogger().debug( "Incremental scan of " + classDirname + ": analyzed " + analyzedCount + " of "
+                               + classFileCount + " class files" );
+
+        return mojoAnnotatedClasses;
+    }
+
+    private static String getManifestKey( File classDirectory, List<String> includePatterns )
+    {
+        return classDirectory.getAbsolutePath() + '|' + includePatterns;
+    }
+
+    private static File getManifestFile( File classDirectory, File stateDirectory )
+    {
+        return new File( stateDirectory, classDirectory.getName() + '-'
+            + Integer.toHexString( classDirectory.getAbsolutePath().hashCode() ) + ".manifest" );
+    }
+
+    /**
+     * Cheap check of whether a classes directory contains a mojo, without analyzing any class: class files unchanged
+     * since the previous incremental scan are answered from its manifest, the others only go through the constant
+     * pool prefilter used by the scan. Stops at the first match.
+     *
+     * @param classDirectory the classes directory
+     * @param request the request of the scan, for its include patterns and incremental directory
+     * @return <code>false</code> only if a scan of the classes directory would not find any mojo
+     * @since 3.6.1
+     */
+    public boolean hasMojo( File classDirectory, MojoAnnotationsScannerRequest request )
+    {
+        if ( !classDirectory.isDirectory() )
+        {
+            return false;
+        }
+
+        List<String> includePatterns = request.getIncludePatterns();
+        ClassesDirectoryManifest manifest = new ClassesDirectoryManifest();
+        if ( request.getIncrementalDirectory() != null )
+        {
+            manifest = ClassesDirectoryManifest.load( getManifestFile( classDirectory,
+                                                                       request.getIncrementalDirectory() ),
+                                                      getManifestKey( classDirectory, includePatterns ), null,
+                                                      getLogger() );
+        }
+
+        for ( String classFile : getScannableClassFiles( classDirectory, includePatterns, PackageFilter.ALL ) )
+        {
+            File file = new File( classDirectory, classFile );
+
+            ClassesDirectoryManifest.Entry entry = manifest.get( classFile );
+            if ( entry != null && entry.size == file.length() && entry.lastModified == file.lastModified() )
+            {
+                if ( entry.mojoAnnotatedClass != null && entry.mojoAnnotatedClass.getMojo() != null )
+                {
+                    return true;
+                }
+                continue;
+            }
+
+            try ( InputStream is = new BufferedInputStream( new FileInputStream( file ) ) )
+            {
+                if ( containsPluginAnnotations( IOUtil.toByteArray( is ) ) )
+                {
+                    return true;
+                }
+            }
+            catch ( IOException e )
+            {
+                // let the scan report it
+                getLogger().debug( "Failed to read " + file + ": " + e.getMessage() );
+                return true;
+            }
+        }
 
+        return false;
+    }
+
+    private static List<String> getScannableClassFiles( File classDirectory, List<String> includePatterns,
+                                                        PackageFilter filter )
+    {
         DirectoryScanner scanner = new DirectoryScanner();
         scanner.setBasedir( classDirectory );
         scanner.addDefaultExcludes();
@@ -177,40 +867,56 @@ public class DefaultMojoAnnotationsScanner
             scanner.setIncludes( includePatterns.toArray( new String[includePatterns.size()] ) );
         }
         scanner.scan();
-        String[] classFiles = scanner.getIncludedFiles();
-        String classDirname = classDirectory.getAbsolutePath();
 
-        for ( String classFile : classFiles )
+        List<String> classFiles = new ArrayList<>();
+        for ( String classFile : scanner.getIncludedFiles() )
         {
-            if ( !SCANNABLE_CLASS.matcher( classFile ).matches() )
+            if ( SCANNABLE_CLASS.matcher( classFile ).matches() && filter.isIncluded( classFile ) )
             {
-                continue;
-            }
-
-            try ( InputStream is = //
-                    new BufferedInputStream( new FileInputStream( new File( classDirectory, classFile ) ) ) )
-            {
-                analyzeClassStream( mojoAnnotatedClasses, is, artifact, excludeMojo, classDirname, classFile );
+                classFiles.add( classFile );
             }
         }
-        return mojoAnnotatedClasses;
+        return classFiles;
     }
 
     private void analyzeClassStream( Map<String, MojoAnnotatedClass> mojoAnnotatedClasses, InputStream is,
-                                     Artifact artifact, boolean excludeMojo, String source, String file )
+                                     Artifact artifact, boolean excludeMojo, String source, String file,
+                                     ScanStatistics stats )
         throws IOException, ExtractionException
     {
-        MojoClassVisitor mojoClassVisitor = new MojoClassVisitor( getLogger() );
+        MojoAnnotatedClass mojoAnnotatedClass;
+        byte[] classBytes = IOUtil.toByteArray( is );
+        boolean visited = containsPluginAnnotations( classBytes );
 
         try
         {
-            ClassReader rdr = new ClassReader( is );
-            rdr.accept( mojoClassVisitor, ClassReader.SKIP_FRAMES | ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG );
+            ClassReader rdr = new ClassReader( classBytes );
+            if ( visited )
+            {
+                MojoClassVisitor mojoClassVisitor = new MojoClassVisitor( getLogger() );
+                rdr.accept( mojoClassVisitor,
+                            ClassReader.SKIP_FRAMES | ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG );
+
+                analyzeVisitors( mojoClassVisitor );
+
+                mojoAnnotatedClass = mojoClassVisitor.getMojoAnnotatedClass();
+            }
+            else
+            {
+                // no plugin annotation descriptor in the constant pool: only keep the class hierarchy
+                mojoAnnotatedClass = new MojoAnnotatedClass();
+                mojoAnnotatedClass.setClassName( Type.getObjectType( rdr.getClassName() ).getClassName() );
+                if ( rdr.getSuperName() != null )
+                {
+                    mojoAnnotatedClass.setParentClassName( Type.getObjectType( rdr.getSuperName() ).getClassName() );
+                }
+            }
         }
         catch ( ArrayIndexOutOfBoundsException aiooe )
         {
             getLogger().warn( "Error analyzing class " + file + " in " + source + ": ignoring class",
                               getLogger().isDebugEnabled() ? aiooe : null );
+            stats.addClass( classBytes.length, visited, false );
             return;
         }
         catch ( IllegalArgumentException iae )
@@ -219,6 +925,7 @@ public class DefaultMojoAnnotationsScanner
             {
                 getLogger().warn( "Error analyzing class " + file + " in " + source + ": ignoring class",
                         getLogger().isDebugEnabled() ? iae : null );
+                stats.addClass( classBytes.length, visited, false );
                 return;
             }
             else
@@ -227,15 +934,14 @@ public class DefaultMojoAnnotationsScanner
             }
         }
 
-        analyzeVisitors( mojoClassVisitor );
-
-        MojoAnnotatedClass mojoAnnotatedClass = mojoClassVisitor.getMojoAnnotatedClass();
-
         if ( excludeMojo )
         {
             mojoAnnotatedClass.setMojo( null );
         }
 
+        stats.addClass( classBytes.length, visited,
+                        mojoAnnotatedClass != null && mojoAnnotatedClass.hasAnnotations() );
+
         if ( mojoAnnotatedClass != null ) // see MPLUGIN-206 we can have intermediate classes without annotations
         {
             if ( getLogger().isDebugEnabled() && mojoAnnotatedClass.hasAnnotations() )
@@ -248,12 +954,61 @@ public class DefaultMojoAnnotationsScanner
         }
     }
 
+    /**
+     * Quick check on raw class bytes: any class carrying a plugin annotation references its descriptor
+     * <code>Lorg/apache/maven/plugins/annotations/...;</code> as an UTF8 constant.
+     *
+     * @param classBytes class file content
+     * @return <code>true</code> if the class may carry plugin annotations and needs a full visit
+     */
+    static boolean containsPluginAnnotations( byte[] classBytes )
+    {
+        byte first = ANNOTATIONS_DESCRIPTOR_PREFIX[0];
+        int last = classBytes.length - ANNOTATIONS_DESCRIPTOR_PREFIX.length;
+        for ( int i = 0; i <= last; i++ )
+        {
+            if ( classBytes[i] != first )
+            {
+                continue;
+            }
+            int j = 1;
+            while ( j < ANNOTATIONS_DESCRIPTOR_PREFIX.length
+                && classBytes[i + j] == ANNOTATIONS_DESCRIPTOR_PREFIX[j] )
+            {
+                j++;
+            }
+            if ( j == ANNOTATIONS_DESCRIPTOR_PREFIX.length )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @deprecated no longer called: annotation attributes are bound without reflection, so overriding this method
+     *             has no effect
+     */
+    @Deprecated
     protected void populateAnnotationContent( Object content, MojoAnnotationVisitor mojoAnnotationVisitor )
         throws ReflectorException
+    {
+        try
+        {
+            bindAnnotationContent( content, mojoAnnotationVisitor );
+        }
+        catch ( ExtractionException e )
+        {
+            throw new ReflectorException( e.getMessage(), e );
+        }
+    }
+
+    private static void bindAnnotationContent( Object content, MojoAnnotationVisitor mojoAnnotationVisitor )
+        throws ExtractionException
     {
         for ( Map.Entry<String, Object> entry : mojoAnnotationVisitor.getAnnotationValues().entrySet() )
         {
-            reflector.invoke( content, entry.getKey(), new Object[] { entry.getValue() } );
+            AnnotationContentBinder.bind( content, entry.getKey(), entry.getValue() );
         }
     }
 
@@ -262,79 +1017,59 @@ public class DefaultMojoAnnotationsScanner
     {
         final MojoAnnotatedClass mojoAnnotatedClass = mojoClassVisitor.getMojoAnnotatedClass();
 
-        try
+        // @Mojo annotation
+        MojoAnnotationVisitor mojoAnnotationVisitor = mojoClassVisitor.getAnnotationVisitor( Mojo.class );
+        if ( mojoAnnotationVisitor != null )
         {
-            // @Mojo annotation
-            MojoAnnotationVisitor mojoAnnotationVisitor = mojoClassVisitor.getAnnotationVisitor( Mojo.class );
-            if ( mojoAnnotationVisitor != null )
-            {
-                MojoAnnotationContent mojoAnnotationContent = new MojoAnnotationContent();
-                populateAnnotationContent( mojoAnnotationContent, mojoAnnotationVisitor );
-                mojoAnnotatedClass.setMojo( mojoAnnotationContent );
-            }
+            MojoAnnotationContent mojoAnnotationContent = new MojoAnnotationContent();
+            bindAnnotationContent( mojoAnnotationContent, mojoAnnotationVisitor );
+            mojoAnnotatedClass.setMojo( mojoAnnotationContent );
+        }
 
-            // @Execute annotation
-            mojoAnnotationVisitor = mojoClassVisitor.getAnnotationVisitor( Execute.class );
-            if ( mojoAnnotationVisitor != null )
+        // @Execute annotation
+        mojoAnnotationVisitor = mojoClassVisitor.getAnnotationVisitor( Execute.class );
+        if ( mojoAnnotationVisitor != null )
+        {
+            ExecuteAnnotationContent executeAnnotationContent = new ExecuteAnnotationContent();
+            bindAnnotationContent( executeAnnotationContent, mojoAnnotationVisitor );
+            mojoAnnotatedClass.setExecute( executeAnnotationContent );
+        }
+
+        // @Parameter annotations
+        List<MojoFieldVisitor> mojoFieldVisitors = mojoClassVisitor.findFieldWithAnnotation( Parameter.class );
+        for ( MojoFieldVisitor mojoFieldVisitor : mojoFieldVisitors )
+        {
+            ParameterAnnotationContent parameterAnnotationContent =
+                new ParameterAnnotationContent( mojoFieldVisitor.getFieldName(), mojoFieldVisitor.getClassName() );
+            if ( mojoFieldVisitor.getMojoAnnotationVisitor() != null )
             {
-                ExecuteAnnotationContent executeAnnotationContent = new ExecuteAnnotationContent();
-                populateAnnotationContent( executeAnnotationContent, mojoAnnotationVisitor );
-                mojoAnnotatedClass.setExecute( executeAnnotationContent );
+                bindAnnotationContent( parameterAnnotationContent, mojoFieldVisitor.getMojoAnnotationVisitor() );
             }
 
-            // @Parameter annotations
-            List<MojoFieldVisitor> mojoFieldVisitors = mojoClassVisitor.findFieldWithAnnotation( Parameter.class );
-            for ( MojoFieldVisitor mojoFieldVisitor : mojoFieldVisitors )
-            {
-                ParameterAnnotationContent parameterAnnotationContent =
-                    new ParameterAnnotationContent( mojoFieldVisitor.getFieldName(), mojoFieldVisitor.getClassName() );
-                if ( mojoFieldVisitor.getMojoAnnotationVisitor() != null )
-                {
-                    populateAnnotationContent( parameterAnnotationContent,
-                                               mojoFieldVisitor.getMojoAnnotationVisitor() );
-                }
+            mojoAnnotatedClass.getParameters().put( parameterAnnotationContent.getFieldName(),
+                                                    parameterAnnotationContent );
+        }
 
-                mojoAnnotatedClass.getParameters().put( parameterAnnotationContent.getFieldName(),
-                                                        parameterAnnotationContent );
-            }
+        // @Component annotations
+        mojoFieldVisitors = mojoClassVisitor.findFieldWithAnnotation( Component.class );
+        for ( MojoFieldVisitor mojoFieldVisitor : mojoFieldVisitors )
+        {
+            ComponentAnnotationContent componentAnnotationContent =
+                new ComponentAnnotationContent( mojoFieldVisitor.getFieldName() );
 
-            // @Component annotations
-            mojoFieldVisitors = mojoClassVisitor.findFieldWithAnnotation( Component.class );
-            for ( MojoFieldVisitor mojoFieldVisitor : mojoFieldVisitors )
+            MojoAnnotationVisitor annotationVisitor = mojoFieldVisitor.getMojoAnnotationVisitor();
+            if ( annotationVisitor != null )
             {
-                ComponentAnnotationContent componentAnnotationContent =
-                    new ComponentAnnotationContent( mojoFieldVisitor.getFieldName() );
+                // role is bound as its class name
+                bindAnnotationContent( componentAnnotationContent, annotationVisitor );
 
-                MojoAnnotationVisitor annotationVisitor = mojoFieldVisitor.getMojoAnnotationVisitor();
-                if ( annotationVisitor != null )
+                if ( StringUtils.isEmpty( componentAnnotationContent.getRoleClassName() ) )
                 {
-                    for ( Map.Entry<String, Object> entry : annotationVisitor.getAnnotationValues().entrySet() )
-                    {
-                        String methodName = entry.getKey();
-                        if ( StringUtils.equals( "role", methodName ) )
-                        {
-                            Type type = (Type) entry.getValue();
-                            componentAnnotationContent.setRoleClassName( type.getClassName() );
-                        }
-                        else
-                        {
-                            reflector.invoke( componentAnnotationContent, entry.getKey(),
-                                              new Object[]{ entry.getValue() } );
-                        }
-                    }
-
-                    if ( StringUtils.isEmpty( componentAnnotationContent.getRoleClassName() ) )
-                    {
-                        componentAnnotationContent.setRoleClassName( mojoFieldVisitor.getClassName() );
-                    }
+                    componentAnnotationContent.setRoleClassName( mojoFieldVisitor.getClassName() );
                 }
-                mojoAnnotatedClass.getComponents().put( componentAnnotationContent.getFieldName(),
-                                                        componentAnnotationContent );
             }
-        }
-        catch ( ReflectorException e )
-        {
-            throw new ExtractionException( e.getMessage(), e );
+            mojoAnnotatedClass.getComponents().put( componentAnnotationContent.getFieldName(),
+                                                    componentAnnotationContent );
         }
     }
 }
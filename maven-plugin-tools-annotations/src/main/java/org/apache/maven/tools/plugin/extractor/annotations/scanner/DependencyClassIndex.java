@@ -0,0 +1,208 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the class files available in dependencies, keyed by class name. Built from archives central directories
+ * and directories listings only: no class file is read until it is looked up.
+ *
+ * @since 3.6.1
+ */
+class DependencyClassIndex
+    implements Closeable
+{
+    /**
+     * Location of a class file in a dependency.
+     */
+    static final class Location
+    {
+        final Artifact artifact;
+
+        final File source;
+
+        final String file;
+
+        /**
+         * <code>null</code> if the dependency is a directory
+         */
+        final ZipFile archive;
+
+        /**
+         * the class read from the mojo annotations index of the archive, <code>null</code> if the class file must be
+         * analyzed
+         */
+        final MojoAnnotatedClass indexedClass;
+
+        Location( Artifact artifact, File source, String file, ZipFile archive, MojoAnnotatedClass indexedClass )
+        {
+            this.artifact = artifact;
+            this.source = source;
+            this.file = file;
+            this.archive = archive;
+            this.indexedClass = indexedClass;
+        }
+
+        InputStream open()
+            throws IOException
+        {
+            if ( archive != null )
+            {
+                return archive.getInputStream( archive.getEntry( file ) );
+            }
+            return new BufferedInputStream( new FileInputStream( new File( source, file ) ) );
+        }
+    }
+
+    private final Pattern scannableClass;
+
+    /**
+     * key is class name: when a class is available in several dependencies, the last one added wins, as with a full
+     * scan
+     */
+    private final Map<String, Location> locations = new HashMap<>();
+
+    private final List<ZipFile> archives = new ArrayList<>();
+
+    DependencyClassIndex( Pattern scannableClass )
+    {
+        this.scannableClass = scannableClass;
+    }
+
+    /**
+     * Index the class files of a dependency.
+     *
+     * @param dependency the dependency, ignored if its file does not exist
+     * @param includePatterns class files to include when the dependency is a directory
+     * @param filter packages to index
+     * @return the number of archive entries or class files seen
+     * @throws IOException if an archive could not be read
+     */
+    int add( Artifact dependency, List<String> includePatterns, PackageFilter filter )
+        throws IOException
+    {
+        File source = dependency.getFile();
+        if ( source == null || !source.exists() )
+        {
+            return 0;
+        }
+
+        if ( source.isDirectory() )
+        {
+            DirectoryScanner scanner = new DirectoryScanner();
+            scanner.setBasedir( source );
+            scanner.addDefaultExcludes();
+            if ( includePatterns != null )
+            {
+                scanner.setIncludes( includePatterns.toArray( new String[includePatterns.size()] ) );
+            }
+            scanner.scan();
+            String[] classFiles = scanner.getIncludedFiles();
+            for ( String classFile : classFiles )
+            {
+                add( classFile.replace( File.separatorChar, '/' ), new Location( dependency, source, classFile,
+                                                                                 null, null ), filter );
+            }
+            return classFiles.length;
+        }
+
+        ZipFile archive;
+        try
+        {
+            archive = new ZipFile( source );
+        }
+        catch ( ZipException e )
+        {
+            // not an archive, e.g. a pom dependency: nothing to index
+            return 0;
+        }
+        archives.add( archive );
+
+        Map<String, MojoAnnotatedClass> indexedClasses = MojoAnnotationsIndex.read( archive, dependency );
+        if ( indexedClasses != null )
+        {
+            for ( MojoAnnotatedClass indexedClass : indexedClasses.values() )
+            {
+                String path = indexedClass.getClassName().replace( '.', '/' ) + ".class";
+                add( path, new Location( dependency, source, path, archive, indexedClass ), filter );
+            }
+            return 1;
+        }
+
+        int entryCount = 0;
+        for ( Enumeration<? extends ZipEntry> entries = archive.entries(); entries.hasMoreElements(); )
+        {
+            ZipEntry zipEntry = entries.nextElement();
+            entryCount++;
+            if ( !zipEntry.isDirectory() )
+            {
+                add( zipEntry.getName(), new Location( dependency, source, zipEntry.getName(), archive, null ),
+                     filter );
+            }
+        }
+        return entryCount;
+    }
+
+    private void add( String path, Location location, PackageFilter filter )
+    {
+        if ( scannableClass.matcher( path ).matches() && filter.isIncluded( path ) )
+        {
+            String className = path.substring( 0, path.length() - ".class".length() ).replace( '/', '.' );
+            locations.put( className, location );
+        }
+    }
+
+    /**
+     * @param className full class name
+     * @return the location of the class file, or <code>null</code> if no dependency contains it
+     */
+    Location get( String className )
+    {
+        return locations.get( className );
+    }
+
+    public void close()
+        throws IOException
+    {
+        for ( ZipFile archive : archives )
+        {
+            archive.close();
+        }
+        archives.clear();
+    }
+}
@@ -57,6 +57,11 @@ public class MojoAnnotatedClass
      */
     private Artifact artifact;
 
+    /**
+     * javadoc content was read from a mojo annotations index: sources are not needed
+     */
+    private boolean indexed;
+
     public MojoAnnotatedClass()
     {
         // no op
@@ -146,9 +151,30 @@ public class MojoAnnotatedClass
         this.artifact = artifact;
     }
 
+    /**
+     * @return <code>true</code> if the javadoc content of this class was read with its annotations from a mojo
+     * annotations index, so that its sources do not need to be parsed
+     * @since 3.6.1
+     */
+    public boolean isIndexed()
+    {
+        return indexed;
+    }
+
+    /**
+     * @param indexed <code>true</code> if the javadoc content of this class was read from a mojo annotations index
+     * @since 3.6.1
+     */
+    public void setIndexed( boolean indexed )
+    {
+        this.indexed = indexed;
+    }
+
     public boolean hasAnnotations()
     {
-        return !( getComponents().isEmpty() && getParameters().isEmpty() && execute == null && mojo == null );
+        // don't create the parameters and components maps
+        return !( ( components == null || components.isEmpty() ) && ( parameters == null || parameters.isEmpty() )
+            && execute == null && mojo == null );
     }
 
     @Override
@@ -0,0 +1,393 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact map of scanned classes keyed by full class name.
+ * Most scanned classes, especially in dependencies, carry no plugin annotation and are only needed for their
+ * superclass link: such classes are stored as an index in a table of class names, each name stored once, with their
+ * superclass and artifact as primitive indexes and their indexed flag as a bit, and are materialized as
+ * {@link MojoAnnotatedClass} on access.
+ * Only classes with annotation data are kept as {@link MojoAnnotatedClass} instances.
+ * <p>
+ * The values of compact entries returned by {@link #get(Object)} and the views of the map are read-only snapshots:
+ * a new instance is returned on each access, so changes made to it are not kept. Put the changed class back in the
+ * map to keep them.
+ * </p>
+ *
+ * @since 3.6.1
+ */
+final class MojoAnnotatedClassMap
+    extends AbstractMap<String, MojoAnnotatedClass>
+{
+    /**
+     * name known as a superclass only
+     */
+    private static final int UNDEFINED = -1;
+
+    /**
+     * class kept in {@link #annotated}
+     */
+    private static final int ANNOTATED = -2;
+
+    private static final int NO_PARENT = -1;
+
+    private String[] names = new String[64];
+
+    /**
+     * name index of the superclass, by name index
+     */
+    private int[] parents = new int[64];
+
+    /**
+     * index in {@link #artifactTable}, {@link #UNDEFINED} or {@link #ANNOTATED}, by name index
+     */
+    private int[] artifacts = new int[64];
+
+    /**
+     * {@link MojoAnnotatedClass#isIndexed()}, by name index
+     */
+    private final BitSet indexed = new BitSet();
+
+    /**
+     * open addressing hash table of name index + 1, <code>0</code> for an empty slot
+     */
+    private int[] slots = new int[128];
+
+    private int nameCount;
+
+    private int size;
+
+    private int modCount;
+
+    private final List<Artifact> artifactTable = new ArrayList<>();
+
+    private final Map<Artifact, Integer> artifactIndexes = new IdentityHashMap<>();
+
+    private final Map<String, MojoAnnotatedClass> annotated = new HashMap<>();
+
+    private Set<Map.Entry<String, MojoAnnotatedClass>> entrySet;
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey( Object key )
+    {
+        int index = key instanceof String ? indexOf( (String) key ) : -1;
+        return index >= 0 && artifacts[index] != UNDEFINED;
+    }
+
+    @Override
+    public MojoAnnotatedClass get( Object key )
+    {
+        return key instanceof String ? get( indexOf( (String) key ) ) : null;
+    }
+
+    @Override
+    public MojoAnnotatedClass put( String key, MojoAnnotatedClass value )
+    {
+        int index = intern( key );
+        MojoAnnotatedClass previous = get( index );
+        if ( previous == null )
+        {
+            size++;
+        }
+        modCount++;
+
+        if ( value.hasAnnotations() || !key.equals( value.getClassName() ) )
+        {
+            annotated.put( key, value );
+            artifacts[index] = ANNOTATED;
+            return previous;
+        }
+
+        annotated.remove( key );
+        parents[index] = value.getParentClassName() == null ? NO_PARENT : intern( value.getParentClassName() );
+        artifacts[index] = indexOf( value.getArtifact() );
+        indexed.set( index, value.isIndexed() );
+        return previous;
+    }
+
+    @Override
+    public void putAll( Map<? extends String, ? extends MojoAnnotatedClass> map )
+    {
+        if ( !( map instanceof MojoAnnotatedClassMap ) )
+        {
+            super.putAll( map );
+            return;
+        }
+
+        // copy compact entries without materializing them
+        MojoAnnotatedClassMap other = (MojoAnnotatedClassMap) map;
+        for ( int i = 0; i < other.nameCount; i++ )
+        {
+            int artifact = other.artifacts[i];
+            if ( artifact == ANNOTATED )
+            {
+                put( other.names[i], other.annotated.get( other.names[i] ) );
+            }
+            else if ( artifact != UNDEFINED )
+            {
+                int index = intern( other.names[i] );
+                if ( artifacts[index] == UNDEFINED )
+                {
+                    size++;
+                }
+                modCount++;
+                annotated.remove( names[index] );
+                parents[index] = other.parents[i] == NO_PARENT ? NO_PARENT : intern( other.names[other.parents[i]] );
+                artifacts[index] = indexOf( other.artifactTable.get( artifact ) );
+                indexed.set( index, other.indexed.get( i ) );
+            }
+        }
+    }
+
+    @Override
+    public MojoAnnotatedClass remove( Object key )
+    {
+        int index = key instanceof String ? indexOf( (String) key ) : -1;
+        MojoAnnotatedClass previous = get( index );
+        if ( previous != null )
+        {
+            annotated.remove( key );
+            artifacts[index] = UNDEFINED;
+            size--;
+            modCount++;
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear()
+    {
+        for ( int i = 0; i < nameCount; i++ )
+        {
+            artifacts[i] = UNDEFINED;
+        }
+        annotated.clear();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, MojoAnnotatedClass>> entrySet()
+    {
+        if ( entrySet == null )
+        {
+            entrySet = new AbstractSet<Map.Entry<String, MojoAnnotatedClass>>()
+            {
+                @Override
+                public Iterator<Map.Entry<String, MojoAnnotatedClass>> iterator()
+                {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size()
+                {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private MojoAnnotatedClass get( int index )
+    {
+        if ( index < 0 || artifacts[index] == UNDEFINED )
+        {
+            return null;
+        }
+        if ( artifacts[index] == ANNOTATED )
+        {
+            return annotated.get( names[index] );
+        }
+
+        MojoAnnotatedClass mojoAnnotatedClass = new MojoAnnotatedClass();
+        mojoAnnotatedClass.setClassName( names[index] );
+        if ( parents[index] != NO_PARENT )
+        {
+            mojoAnnotatedClass.setParentClassName( names[parents[index]] );
+        }
+        mojoAnnotatedClass.setArtifact( artifactTable.get( artifacts[index] ) );
+        mojoAnnotatedClass.setIndexed( indexed.get( index ) );
+        return mojoAnnotatedClass;
+    }
+
+    private int indexOf( Artifact artifact )
+    {
+        Integer index = artifactIndexes.get( artifact );
+        if ( index == null )
+        {
+            index = artifactTable.size();
+            artifactTable.add( artifact );
+            artifactIndexes.put( artifact, index );
+        }
+        return index;
+    }
+
+    /**
+     * @return the index of the name, <code>-1</code> if it is not in the table
+     */
+    private int indexOf( String name )
+    {
+        int mask = slots.length - 1;
+        for ( int slot = hash( name ) & mask; slots[slot] != 0; slot = ( slot + 1 ) & mask )
+        {
+            if ( names[slots[slot] - 1].equals( name ) )
+            {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index of the name, added to the table as {@link #UNDEFINED} if it was not there yet
+     */
+    private int intern( String name )
+    {
+        int mask = slots.length - 1;
+        int slot = hash( name ) & mask;
+        for ( ; slots[slot] != 0; slot = ( slot + 1 ) & mask )
+        {
+            if ( names[slots[slot] - 1].equals( name ) )
+            {
+                return slots[slot] - 1;
+            }
+        }
+
+        if ( nameCount == names.length )
+        {
+            int capacity = names.length * 2;
+            names = Arrays.copyOf( names, capacity );
+            parents = Arrays.copyOf( parents, capacity );
+            artifacts = Arrays.copyOf( artifacts, capacity );
+        }
+
+        int index = nameCount++;
+        names[index] = name;
+        parents[index] = NO_PARENT;
+        artifacts[index] = UNDEFINED;
+        slots[slot] = index + 1;
+
+        // keep the load factor under 1/2
+        if ( nameCount * 2 > slots.length )
+        {
+            rehash();
+        }
+        return index;
+    }
+
+    private void rehash()
+    {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for ( int i = 0; i < nameCount; i++ )
+        {
+            int slot = hash( names[i] ) & mask;
+            while ( slots[slot] != 0 )
+            {
+                slot = ( slot + 1 ) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    private static int hash( String name )
+    {
+        int h = name.hashCode();
+        return h ^ ( h >>> 16 );
+    }
+
+    private class EntryIterator
+        implements Iterator<Map.Entry<String, MojoAnnotatedClass>>
+    {
+        private int next = advance( 0 );
+
+        private int current = -1;
+
+        private int expectedModCount = modCount;
+
+        private int advance( int index )
+        {
+            while ( index < nameCount && artifacts[index] == UNDEFINED )
+            {
+                index++;
+            }
+            return index;
+        }
+
+        public boolean hasNext()
+        {
+            return next < nameCount;
+        }
+
+        public Map.Entry<String, MojoAnnotatedClass> next()
+        {
+            if ( expectedModCount != modCount )
+            {
+                throw new ConcurrentModificationException();
+            }
+            if ( next >= nameCount )
+            {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = advance( next + 1 );
+            return new SimpleImmutableEntry<>( names[current], get( current ) );
+        }
+
+        public void remove()
+        {
+            if ( current < 0 )
+            {
+                throw new IllegalStateException();
+            }
+            if ( expectedModCount != modCount )
+            {
+                throw new ConcurrentModificationException();
+            }
+            MojoAnnotatedClassMap.this.remove( names[current] );
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.AnnotatedContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ComponentAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ExecuteAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.MojoAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ParameterAnnotationContent;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary form of the annotation content found by the scanner, as stored in scan caches and mojo annotations indexes.
+ * Javadoc-based content (description, since, deprecated) is only present for classes read from an index: the
+ * extractor populates it later for other classes.
+ *
+ * @since 3.6.1
+ */
+final class MojoAnnotatedClassSerializer
+{
+    private MojoAnnotatedClassSerializer()
+    {
+        // no op
+    }
+
+    static void write( DataOutputStream out, MojoAnnotatedClass mojoAnnotatedClass )
+        throws IOException
+    {
+        out.writeUTF( mojoAnnotatedClass.getClassName() );
+        writeString( out, mojoAnnotatedClass.getParentClassName() );
+        out.writeBoolean( mojoAnnotatedClass.isIndexed() );
+
+        MojoAnnotationContent mojo = mojoAnnotatedClass.getMojo();
+        out.writeBoolean( mojo != null );
+        if ( mojo != null )
+        {
+            writeString( out, mojo.name() );
+            out.writeUTF( mojo.defaultPhase().name() );
+            out.writeUTF( mojo.requiresDependencyResolution().name() );
+            out.writeUTF( mojo.requiresDependencyCollection().name() );
+            out.writeUTF( mojo.instantiationStrategy().name() );
+            writeString( out, mojo.executionStrategy() );
+            out.writeBoolean( mojo.requiresProject() );
+            out.writeBoolean( mojo.requiresReports() );
+            out.writeBoolean( mojo.aggregator() );
+            out.writeBoolean( mojo.requiresDirectInvocation() );
+            out.writeBoolean( mojo.requiresOnline() );
+            out.writeBoolean( mojo.inheritByDefault() );
+            writeString( out, mojo.configurator() );
+            out.writeBoolean( mojo.threadSafe() );
+            writeJavadoc( out, mojo );
+        }
+
+        ExecuteAnnotationContent execute = mojoAnnotatedClass.getExecute();
+        out.writeBoolean( execute != null );
+        if ( execute != null )
+        {
+            writeString( out, execute.goal() );
+            writeString( out, execute.lifecycle() );
+            writeString( out, execute.phase() == null ? null : execute.phase().name() );
+        }
+
+        out.writeInt( mojoAnnotatedClass.getParameters().size() );
+        for ( ParameterAnnotationContent parameter : mojoAnnotatedClass.getParameters().values() )
+        {
+            out.writeUTF( parameter.getFieldName() );
+            writeString( out, parameter.getClassName() );
+            writeString( out, parameter.name() );
+            writeString( out, parameter.alias() );
+            writeString( out, parameter.property() );
+            writeString( out, parameter.defaultValue() );
+            out.writeBoolean( parameter.required() );
+            out.writeBoolean( parameter.readonly() );
+            writeJavadoc( out, parameter );
+        }
+
+        out.writeInt( mojoAnnotatedClass.getComponents().size() );
+        for ( ComponentAnnotationContent component : mojoAnnotatedClass.getComponents().values() )
+        {
+            out.writeUTF( component.getFieldName() );
+            writeString( out, component.getRoleClassName() );
+            writeString( out, StringUtils.isEmpty( component.hint() ) ? null : component.hint() );
+            writeJavadoc( out, component );
+        }
+    }
+
+    static MojoAnnotatedClass read( DataInputStream in, Artifact artifact )
+        throws IOException
+    {
+        MojoAnnotatedClass mojoAnnotatedClass = new MojoAnnotatedClass();
+        mojoAnnotatedClass.setClassName( in.readUTF() );
+        mojoAnnotatedClass.setParentClassName( readString( in ) );
+        mojoAnnotatedClass.setIndexed( in.readBoolean() );
+        mojoAnnotatedClass.setArtifact( artifact );
+
+        if ( in.readBoolean() )
+        {
+            MojoAnnotationContent mojo = new MojoAnnotationContent();
+            mojo.name( readString( in ) );
+            mojo.defaultPhase( in.readUTF() );
+            mojo.requiresDependencyResolution( in.readUTF() );
+            mojo.requiresDependencyCollection( in.readUTF() );
+            mojo.instantiationStrategy( in.readUTF() );
+            mojo.executionStrategy( readString( in ) );
+            mojo.requiresProject( in.readBoolean() );
+            mojo.requiresReports( in.readBoolean() );
+            mojo.aggregator( in.readBoolean() );
+            mojo.requiresDirectInvocation( in.readBoolean() );
+            mojo.requiresOnline( in.readBoolean() );
+            mojo.inheritByDefault( in.readBoolean() );
+            mojo.configurator( readString( in ) );
+            mojo.threadSafe( in.readBoolean() );
+            readJavadoc( in, mojo );
+            mojoAnnotatedClass.setMojo( mojo );
+        }
+
+        if ( in.readBoolean() )
+        {
+            ExecuteAnnotationContent execute = new ExecuteAnnotationContent();
+            execute.goal( readString( in ) );
+            execute.lifecycle( readString( in ) );
+            String phase = readString( in );
+            if ( phase != null )
+            {
+                execute.phase( phase );
+            }
+            mojoAnnotatedClass.setExecute( execute );
+        }
+
+        int parameterCount = in.readInt();
+        for ( int i = 0; i < parameterCount; i++ )
+        {
+            ParameterAnnotationContent parameter = new ParameterAnnotationContent( in.readUTF(), readString( in ) );
+            parameter.name( readString( in ) );
+            parameter.alias( readString( in ) );
+            parameter.property( readString( in ) );
+            parameter.defaultValue( readString( in ) );
+            parameter.required( in.readBoolean() );
+            parameter.readonly( in.readBoolean() );
+            readJavadoc( in, parameter );
+            mojoAnnotatedClass.getParameters().put( parameter.getFieldName(), parameter );
+        }
+
+        int componentCount = in.readInt();
+        for ( int i = 0; i < componentCount; i++ )
+        {
+            ComponentAnnotationContent component =
+                new ComponentAnnotationContent( in.readUTF(), readString( in ), readString( in ) );
+            readJavadoc( in, component );
+            mojoAnnotatedClass.getComponents().put( component.getFieldName(), component );
+        }
+
+        return mojoAnnotatedClass;
+    }
+
+    private static void writeJavadoc( DataOutputStream out, AnnotatedContent content )
+        throws IOException
+    {
+        DataFileUtils.writeText( out, content.getDescription() );
+        DataFileUtils.writeText( out, content.getSince() );
+        DataFileUtils.writeText( out, content.getDeprecated() );
+    }
+
+    private static void readJavadoc( DataInputStream in, AnnotatedContent content )
+        throws IOException
+    {
+        content.setDescription( DataFileUtils.readText( in ) );
+        content.setSince( DataFileUtils.readText( in ) );
+        content.setDeprecated( DataFileUtils.readText( in ) );
+    }
+
+    static void writeString( DataOutputStream out, String value )
+        throws IOException
+    {
+        out.writeBoolean( value != null );
+        if ( value != null )
+        {
+            out.writeUTF( value );
+        }
+    }
+
+    static String readString( DataInputStream in )
+        throws IOException
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
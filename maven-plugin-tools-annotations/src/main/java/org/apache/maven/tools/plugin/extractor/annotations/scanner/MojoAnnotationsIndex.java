@@ -0,0 +1,138 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the mojo annotations of a plugin, with their javadoc content, written in the plugin jar by the descriptor
+ * goal. When a plugin extends mojos of a plugin dependency, the scanner reads the index of the dependency instead of
+ * its bytecode, and the extractor does not need the sources of the dependency.
+ *
+ * @since 3.6.1
+ */
+public final class MojoAnnotationsIndex
+{
+    private static final int MAGIC = 0x4D504149; // MPAI
+
+    /**
+     * Format version: indexes written with another version are ignored, and the bytecode of the archive is scanned.
+     */
+    private static final int VERSION = 1;
+
+    private MojoAnnotationsIndex()
+    {
+        // no op
+    }
+
+    /**
+     * @param groupId the plugin group id
+     * @param artifactId the plugin artifact id
+     * @return path of the index in the plugin jar
+     */
+    public static String getPath( String groupId, String artifactId )
+    {
+        return "META-INF/maven/" + groupId + '/' + artifactId + "/mojo-annotations.idx";
+    }
+
+    /**
+     * Write the index, sorted by class name, only if its content changed so that an unchanged index keeps its
+     * timestamp and doesn't trigger the repackaging of the plugin.
+     *
+     * @param file the index file
+     * @param mojoAnnotatedClasses classes of the plugin, with their javadoc content populated
+     * @return <code>true</code> if the index was written, <code>false</code> if it was already up to date
+     * @throws IOException if the index could not be written
+     */
+    public static boolean write( File file, Collection<MojoAnnotatedClass> mojoAnnotatedClasses )
+        throws IOException
+    {
+        List<MojoAnnotatedClass> sortedClasses = new ArrayList<>( mojoAnnotatedClasses );
+        Collections.sort( sortedClasses, new Comparator<MojoAnnotatedClass>()
+        {
+            public int compare( MojoAnnotatedClass o1, MojoAnnotatedClass o2 )
+            {
+                return o1.getClassName().compareTo( o2.getClassName() );
+            }
+        } );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try ( DataOutputStream out = new DataOutputStream( bytes ) )
+        {
+            out.writeInt( MAGIC );
+            out.writeInt( VERSION );
+            out.writeInt( sortedClasses.size() );
+            for ( MojoAnnotatedClass mojoAnnotatedClass : sortedClasses )
+            {
+                MojoAnnotatedClassSerializer.write( out, mojoAnnotatedClass );
+            }
+        }
+        return DataFileUtils.writeIfChanged( file, bytes.toByteArray() );
+    }
+
+    /**
+     * @param archive a dependency archive
+     * @param artifact the dependency
+     * @return the indexed classes, or <code>null</code> if the archive has no index for the artifact or an index with
+     * another format version
+     * @throws IOException if the index could not be read
+     */
+    static Map<String, MojoAnnotatedClass> read( ZipFile archive, Artifact artifact )
+        throws IOException
+    {
+        if ( artifact == null || artifact.getGroupId() == null || artifact.getArtifactId() == null )
+        {
+            return null;
+        }
+
+        ZipEntry indexEntry = archive.getEntry( getPath( artifact.getGroupId(), artifact.getArtifactId() ) );
+        if ( indexEntry == null )
+        {
+            return null;
+        }
+
+        try ( DataInputStream in =
+            new DataInputStream( new BufferedInputStream( archive.getInputStream( indexEntry ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != VERSION )
+            {
+                return null;
+            }
+
+            return MojoAnnotationsScanCache.readClasses( in, artifact, true );
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * On-disk cache of the classes found by scanning a dependency archive.
+ * Entries are stored per artifact and are only used when the artifact coordinates, the archive size, last
+ * modification time and SHA-1 checksum all match the archive being scanned.
+ *
+ * @since 3.6.1
+ */
+class MojoAnnotationsScanCache
+{
+    private static final int MAGIC = 0x4D504143; // MPAC
+
+    /**
+     * Format version: entries written with another version are ignored and rewritten.
+     */
+    private static final int VERSION = 4;
+
+    private static final String EXTENSION = ".scan";
+
+    private final File directory;
+
+    private final Logger logger;
+
+    MojoAnnotationsScanCache( File directory, Logger logger )
+    {
+        this.directory = directory;
+        this.logger = logger;
+    }
+
+    /**
+     * @param artifact the dependency
+     * @param archive the dependency archive
+     * @param filterKey identifies the filter applied to the archive classes
+     * @return the cached classes, or <code>null</code> if there is no up-to-date entry for this archive
+     */
+    public Map<String, MojoAnnotatedClass> get( Artifact artifact, File archive, String filterKey )
+    {
+        File cacheFile = getCacheFile( artifact );
+        if ( !cacheFile.isFile() )
+        {
+            return null;
+        }
+
+        try ( DataInputStream in =
+            new DataInputStream( new BufferedInputStream( new FileInputStream( cacheFile ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != VERSION )
+            {
+                return null;
+            }
+            if ( !artifact.getId().equals( in.readUTF() ) || !filterKey.equals( in.readUTF() )
+                || in.readLong() != archive.length() || in.readLong() != archive.lastModified()
+                || !DataFileUtils.checksum( archive ).equals( in.readUTF() ) )
+            {
+                return null;
+            }
+
+            return readClasses( in, artifact );
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to read scan cache " + cacheFile + ": " + e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * Store the classes found in a dependency archive. Failures are logged and otherwise ignored.
+     *
+     * @param artifact the dependency
+     * @param archive the dependency archive
+     * @param filterKey identifies the filter applied to the archive classes
+     * @param mojoAnnotatedClasses the classes found in the archive
+     */
+    public void put( final Artifact artifact, final File archive, final String filterKey,
+                     final Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
+    {
+        File cacheFile = getCacheFile( artifact );
+        try
+        {
+            DataFileUtils.writeAtomically( cacheFile, new DataFileUtils.ContentWriter()
+            {
+                public void write( OutputStream out )
+                    throws IOException
+                {
+                    DataOutputStream dataOut = new DataOutputStream( new BufferedOutputStream( out ) );
+                    dataOut.writeInt( MAGIC );
+                    dataOut.writeInt( VERSION );
+                    dataOut.writeUTF( artifact.getId() );
+                    dataOut.writeUTF( filterKey );
+                    dataOut.writeLong( archive.length() );
+                    dataOut.writeLong( archive.lastModified() );
+                    dataOut.writeUTF( DataFileUtils.checksum( archive ) );
+                    writeClasses( dataOut, mojoAnnotatedClasses );
+                    dataOut.flush();
+                }
+            } );
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to write scan cache " + cacheFile + ": " + e.getMessage() );
+        }
+    }
+
+    /**
+     * Delete the entries of the cache, leaving the other files of the directory, possibly shared with other tools.
+     * Failures are logged and otherwise ignored.
+     */
+    public void purge()
+    {
+        if ( !directory.isDirectory() )
+        {
+            return;
+        }
+
+        logger.info( "Purging scan cache " + directory );
+        try
+        {
+            for ( File entry : FileUtils.getFiles( directory, "**/*" + EXTENSION, null ) )
+            {
+                if ( !entry.delete() && entry.exists() )
+                {
+                    logger.warn( "Failed to delete scan cache entry " + entry );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            logger.warn( "Failed to purge scan cache " + directory + ": " + e.getMessage() );
+        }
+    }
+
+    private File getCacheFile( Artifact artifact )
+    {
+        StringBuilder path = new StringBuilder();
+        path.append( artifact.getGroupId() ).append( '/' ).append( artifact.getArtifactId() ).append( '/' );
+        path.append( artifact.getVersion() ).append( '/' );
+        path.append( artifact.getArtifactId() ).append( '-' ).append( artifact.getVersion() );
+        if ( artifact.hasClassifier() )
+        {
+            path.append( '-' ).append( artifact.getClassifier() );
+        }
+        path.append( '.' ).append( artifact.getType() ).append( EXTENSION );
+        return new File( directory, path.toString() );
+    }
+
+    static void writeClasses( DataOutputStream out, Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
+        throws IOException
+    {
+        out.writeInt( mojoAnnotatedClasses.size() );
+        for ( MojoAnnotatedClass mojoAnnotatedClass : mojoAnnotatedClasses.values() )
+        {
+            MojoAnnotatedClassSerializer.write( out, mojoAnnotatedClass );
+        }
+    }
+
+    static Map<String, MojoAnnotatedClass> readClasses( DataInputStream in, Artifact artifact )
+        throws IOException
+    {
+        return readClasses( in, artifact, false );
+    }
+
+    /**
+     * @param indexed <code>true</code> to mark every class read as indexed, before it is stored in the compact map
+     */
+    static Map<String, MojoAnnotatedClass> readClasses( DataInputStream in, Artifact artifact, boolean indexed )
+        throws IOException
+    {
+        int classCount = in.readInt();
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses = new MojoAnnotatedClassMap();
+        for ( int i = 0; i < classCount; i++ )
+        {
+            MojoAnnotatedClass mojoAnnotatedClass = MojoAnnotatedClassSerializer.read( in, artifact );
+            if ( indexed )
+            {
+                mojoAnnotatedClass.setIndexed( true );
+            }
+            mojoAnnotatedClasses.put( mojoAnnotatedClass.getClassName(), mojoAnnotatedClass );
+        }
+        return mojoAnnotatedClasses;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.maven.tools.plugin.extractor.annotations.scanner;
  */
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
 
 import java.io.File;
@@ -45,6 +46,24 @@ public class MojoAnnotationsScannerRequest
 
     private MavenProject project;
 
+    private int threads = 1;
+
+    private File cacheDirectory;
+
+    private boolean purgeCache;
+
+    private File incrementalDirectory;
+
+    private boolean lazyDependencyScan;
+
+    private List<String> dependencyPackageIncludes;
+
+    private List<String> dependencyPackageExcludes;
+
+    private File reportFile;
+
+    private MavenSession session;
+
     public MojoAnnotationsScannerRequest()
     {
         // no o
@@ -99,4 +118,178 @@ public class MojoAnnotationsScannerRequest
     {
         this.project = project;
     }
+
+    /**
+     * @return the number of threads used to scan archives and directories, <code>1</code> for a sequential scan
+     * @since 3.6.1
+     */
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    /**
+     * @param threads the number of threads used to scan archives and directories
+     * @since 3.6.1
+     */
+    public void setThreads( int threads )
+    {
+        this.threads = threads;
+    }
+
+    /**
+     * @return the directory where dependencies scan results are cached, <code>null</code> if caching is disabled
+     * @since 3.6.1
+     */
+    public File getCacheDirectory()
+    {
+        return cacheDirectory;
+    }
+
+    /**
+     * @param cacheDirectory the directory where dependencies scan results are cached, <code>null</code> to disable
+     * caching
+     * @since 3.6.1
+     */
+    public void setCacheDirectory( File cacheDirectory )
+    {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * @return <code>true</code> if the entries of the cache directory should be deleted before the first scan of the
+     * session
+     * @since 3.6.1
+     */
+    public boolean isPurgeCache()
+    {
+        return purgeCache;
+    }
+
+    /**
+     * @param purgeCache <code>true</code> to delete the entries of the cache directory before the first scan of the
+     * session, or before each scan without session
+     * @since 3.6.1
+     */
+    public void setPurgeCache( boolean purgeCache )
+    {
+        this.purgeCache = purgeCache;
+    }
+
+    /**
+     * @return the directory where the state of classes directories scans is kept for incremental scans,
+     * <code>null</code> if classes directories are fully scanned
+     * @since 3.6.1
+     */
+    public File getIncrementalDirectory()
+    {
+        return incrementalDirectory;
+    }
+
+    /**
+     * @param incrementalDirectory the directory where the state of classes directories scans is kept,
+     * <code>null</code> to always fully scan classes directories
+     * @since 3.6.1
+     */
+    public void setIncrementalDirectory( File incrementalDirectory )
+    {
+        this.incrementalDirectory = incrementalDirectory;
+    }
+
+    /**
+     * @return <code>true</code> if only the dependency classes that are ancestors of project classes are analyzed
+     * @since 3.6.1
+     */
+    public boolean isLazyDependencyScan()
+    {
+        return lazyDependencyScan;
+    }
+
+    /**
+     * @param lazyDependencyScan <code>true</code> to only analyze the dependency classes that are ancestors of project
+     * classes, <code>false</code> to analyze every class of every dependency
+     * @since 3.6.1
+     */
+    public void setLazyDependencyScan( boolean lazyDependencyScan )
+    {
+        this.lazyDependencyScan = lazyDependencyScan;
+    }
+
+    /**
+     * @return packages of dependencies classes to scan, <code>null</code> or empty to scan all packages
+     * @since 3.6.1
+     */
+    public List<String> getDependencyPackageIncludes()
+    {
+        return dependencyPackageIncludes;
+    }
+
+    /**
+     * @param dependencyPackageIncludes packages of dependencies classes to scan, as package names where
+     * <code>*</code> matches part of a package name segment and <code>**</code> any number of segments
+     * @since 3.6.1
+     */
+    public void setDependencyPackageIncludes( List<String> dependencyPackageIncludes )
+    {
+        this.dependencyPackageIncludes = dependencyPackageIncludes;
+    }
+
+    /**
+     * @return packages of dependencies classes not to scan, <code>null</code> or empty to exclude none
+     * @since 3.6.1
+     */
+    public List<String> getDependencyPackageExcludes()
+    {
+        return dependencyPackageExcludes;
+    }
+
+    /**
+     * @param dependencyPackageExcludes packages of dependencies classes not to scan, as package names where
+     * <code>*</code> matches part of a package name segment and <code>**</code> any number of segments
+     * @since 3.6.1
+     */
+    public void setDependencyPackageExcludes( List<String> dependencyPackageExcludes )
+    {
+        this.dependencyPackageExcludes = dependencyPackageExcludes;
+    }
+
+    /**
+     * @return the file where the scan statistics of each source are written as JSON, <code>null</code> if they are
+     * only logged at debug level
+     * @since 3.6.1
+     */
+    public File getReportFile()
+    {
+        return reportFile;
+    }
+
+    /**
+     * @param reportFile the file where the scan statistics of each source are written as JSON, <code>null</code> to
+     * only log them at debug level
+     * @since 3.6.1
+     */
+    public void setReportFile( File reportFile )
+    {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * @return the session in which dependency archive scan results are shared between modules, <code>null</code> if
+     * they are not shared
+     * @since 3.6.1
+     */
+    public MavenSession getSession()
+    {
+        return session;
+    }
+
+    /**
+     * @param session the session in which dependency archive scan results are shared between modules,
+     * <code>null</code> to not share them
+     * @since 3.6.1
+     */
+    public void setSession( MavenSession session )
+    {
+        this.session = session;
+    }
 }
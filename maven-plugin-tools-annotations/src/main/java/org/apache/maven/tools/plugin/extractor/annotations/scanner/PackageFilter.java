@@ -0,0 +1,110 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.SelectorUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Filter on the package of class files found in dependencies, matched on the class file path only, so that
+ * excluded class files are never read.
+ * Patterns are package names where <code>*</code> matches part of a package name segment and <code>**</code> any
+ * number of segments: <code>com.google.**</code> matches <code>com.google</code> and all its sub-packages.
+ *
+ * @since 3.6.1
+ */
+final class PackageFilter
+{
+    static final PackageFilter ALL = new PackageFilter( null, null );
+
+    private final List<String> includes;
+
+    private final List<String> excludes;
+
+    PackageFilter( List<String> includes, List<String> excludes )
+    {
+        this.includes = toPathPatterns( includes );
+        this.excludes = toPathPatterns( excludes );
+    }
+
+    private static List<String> toPathPatterns( List<String> packagePatterns )
+    {
+        if ( packagePatterns == null || packagePatterns.isEmpty() )
+        {
+            return Collections.emptyList();
+        }
+
+        List<String> pathPatterns = new ArrayList<>( packagePatterns.size() );
+        for ( String packagePattern : packagePatterns )
+        {
+            pathPatterns.add( packagePattern.trim().replace( '.', '/' ) );
+        }
+        return pathPatterns;
+    }
+
+    /**
+     * @return <code>true</code> if every class file is included
+     */
+    boolean isIncludeAll()
+    {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * @param classFile class file path, with <code>/</code> or the platform file separator
+     * @return <code>true</code> if the package of the class file is included and not excluded
+     */
+    boolean isIncluded( String classFile )
+    {
+        if ( isIncludeAll() )
+        {
+            return true;
+        }
+
+        String path = classFile.replace( '\\', '/' );
+        int lastSlash = path.lastIndexOf( '/' );
+        String packagePath = lastSlash < 0 ? "" : path.substring( 0, lastSlash );
+
+        return ( includes.isEmpty() || matches( includes, packagePath ) ) && !matches( excludes, packagePath );
+    }
+
+    private static boolean matches( List<String> pathPatterns, String packagePath )
+    {
+        for ( String pathPattern : pathPatterns )
+        {
+            if ( SelectorUtils.matchPath( pathPattern, packagePath, "/", true ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a key identifying this filter, to invalidate scan results obtained with another filter
+     */
+    String getKey()
+    {
+        return "includes=" + includes + ";excludes=" + excludes;
+    }
+}
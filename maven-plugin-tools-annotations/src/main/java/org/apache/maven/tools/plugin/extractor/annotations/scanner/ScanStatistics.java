@@ -0,0 +1,210 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+import org.codehaus.plexus.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of the scan of one source, dependency or classes directory. An instance is only updated by the thread
+ * scanning its source.
+ *
+ * @since 3.6.1
+ */
+final class ScanStatistics
+{
+    private final String source;
+
+    private long nanos;
+
+    /**
+     * archive entries or class files seen
+     */
+    private int entries;
+
+    /**
+     * classes visited with ASM, i.e. classes which may carry plugin annotations
+     */
+    private int classesVisited;
+
+    private int classesWithAnnotations;
+
+    /**
+     * class file bytes read, inflated for archive entries
+     */
+    private long bytesRead;
+
+    private boolean cached;
+
+    ScanStatistics( String source )
+    {
+        this.source = source;
+    }
+
+    String getSource()
+    {
+        return source;
+    }
+
+    void addTime( long startNanos )
+    {
+        nanos += System.nanoTime() - startNanos;
+    }
+
+    void addEntries( int count )
+    {
+        entries += count;
+    }
+
+    void addClass( int bytes, boolean visited, boolean withAnnotations )
+    {
+        bytesRead += bytes;
+        if ( visited )
+        {
+            classesVisited++;
+        }
+        if ( withAnnotations )
+        {
+            classesWithAnnotations++;
+        }
+    }
+
+    void setCached( boolean cached )
+    {
+        this.cached = cached;
+    }
+
+    long getMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis( nanos );
+    }
+
+    int getEntries()
+    {
+        return entries;
+    }
+
+    int getClassesVisited()
+    {
+        return classesVisited;
+    }
+
+    int getClassesWithAnnotations()
+    {
+        return classesWithAnnotations;
+    }
+
+    long getBytesRead()
+    {
+        return bytesRead;
+    }
+
+    boolean isCached()
+    {
+        return cached;
+    }
+
+    /**
+     * @return statistics sorted by decreasing time, slowest sources first
+     */
+    private static List<ScanStatistics> sortByTime( List<ScanStatistics> statistics )
+    {
+        List<ScanStatistics> sorted = new ArrayList<>( statistics );
+        Collections.sort( sorted, new Comparator<ScanStatistics>()
+        {
+            public int compare( ScanStatistics s1, ScanStatistics s2 )
+            {
+                return Long.compare( s2.nanos, s1.nanos );
+            }
+        } );
+        return sorted;
+    }
+
+    /**
+     * Log a summary table of the statistics at debug level, slowest sources first.
+     *
+     * @param statistics not null
+     * @param logger not null
+     */
+    static void logSummary( List<ScanStatistics> statistics, Logger logger )
+    {
+        if ( !logger.isDebugEnabled() )
+        {
+            return;
+        }
+
+        StringBuilder table = new StringBuilder( "Mojo annotations scan statistics:" );
+        table.append( String.format( "%n%10s %10s %10s %10s %12s  %s", "time (ms)", "entries", "visited", "annotated",
+                                     "bytes read", "source" ) );
+        for ( ScanStatistics stats : sortByTime( statistics ) )
+        {
+            table.append( String.format( "%n%10d %10d %10d %10d %12d  %s%s", stats.getMillis(), stats.entries,
+                                         stats.classesVisited, stats.classesWithAnnotations, stats.bytesRead,
+                                         stats.source, stats.cached ? " (cached)" : "" ) );
+        }
+        logger.debug( table.toString() );
+    }
+
+    /**
+     * Write the statistics as a JSON array, slowest sources first.
+     *
+     * @param statistics not null
+     * @param file the JSON file
+     * @throws IOException if the file could not be written
+     */
+    static void writeJson( final List<ScanStatistics> statistics, File file )
+        throws IOException
+    {
+        DataFileUtils.writeAtomically( file, new DataFileUtils.ContentWriter()
+        {
+            public void write( OutputStream out )
+                throws IOException
+            {
+                Writer writer = new OutputStreamWriter( out, StandardCharsets.UTF_8 );
+                writer.write( "[" );
+                String separator = "\n";
+                for ( ScanStatistics stats : sortByTime( statistics ) )
+                {
+                    writer.write( separator );
+                    writer.write( "  {\"source\": \"" + DataFileUtils.escapeJson( stats.source )
+                        + "\", \"timeMillis\": " + stats.getMillis() + ", \"entries\": " + stats.entries
+                        + ", \"classesVisited\": " + stats.classesVisited + ", \"classesWithAnnotations\": "
+                        + stats.classesWithAnnotations
+                        + ", \"bytesRead\": " + stats.bytesRead + ", \"cached\": " + stats.cached + "}" );
+                    separator = ",\n";
+                }
+                writer.write( "\n]\n" );
+                writer.flush();
+            }
+        } );
+    }
+}
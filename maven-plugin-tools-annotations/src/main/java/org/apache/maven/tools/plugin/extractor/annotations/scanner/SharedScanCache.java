@@ -0,0 +1,179 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.tools.plugin.extractor.ExtractionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * In-memory cache of dependency archive scan results, shared by the modules of one Maven session.
+ * Entries are keyed by archive file identity (canonical path, size and last modification time) and package
+ * filter, so that a rebuilt archive is scanned again.
+ * <p>
+ * Each archive is scanned once even when modules are built concurrently: other modules wait for the first scan.
+ * Results are kept serialized, and every caller gets its own copy bound to its own artifact, as the extractor
+ * later updates the classes with javadoc content.
+ *
+ * @since 3.6.1
+ */
+final class SharedScanCache
+{
+    private final ConcurrentMap<String, FutureTask<byte[]>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * on-disk cache directories already purged in the session
+     */
+    private final Set<File> purgedDirectories = new HashSet<>();
+
+    /**
+     * Purge an on-disk cache once in the session, so that modules keep the entries stored by the previous ones.
+     * Concurrent modules wait for the purge before using the cache.
+     *
+     * @param directory the directory of the on-disk cache
+     * @param cache the on-disk cache
+     */
+    synchronized void purgeOnce( File directory, MojoAnnotationsScanCache cache )
+    {
+        if ( purgedDirectories.add( directory.getAbsoluteFile() ) )
+        {
+            cache.purge();
+        }
+    }
+
+    /**
+     * @param artifact the dependency
+     * @param archive the dependency archive
+     * @param filterKey identifies the filter applied to the archive classes
+     * @param stats marked as cached when the result of another scan is used
+     * @param scan scans the archive when no other module did
+     * @return the classes found in the archive
+     * @throws IOException
+     * @throws ExtractionException
+     */
+    Map<String, MojoAnnotatedClass> get( Artifact artifact, File archive, String filterKey, ScanStatistics stats,
+                                         Callable<Map<String, MojoAnnotatedClass>> scan )
+        throws IOException, ExtractionException
+    {
+        String key = archive.getCanonicalPath() + '|' + archive.length() + '|' + archive.lastModified() + '|'
+            + filterKey;
+
+        SerializingScan serializingScan = new SerializingScan( scan );
+        FutureTask<byte[]> task = new FutureTask<>( serializingScan );
+        FutureTask<byte[]> existing = entries.putIfAbsent( key, task );
+        if ( existing == null )
+        {
+            task.run();
+        }
+        else
+        {
+            task = existing;
+        }
+
+        byte[] serialized;
+        try
+        {
+            serialized = task.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException( e.getMessage(), e );
+        }
+        catch ( ExecutionException e )
+        {
+            // let a later module scan again rather than fail the same way without trying
+            entries.remove( key, task );
+
+            Throwable cause = e.getCause();
+            if ( cause instanceof IOException )
+            {
+                throw (IOException) cause;
+            }
+            if ( cause instanceof ExtractionException )
+            {
+                throw (ExtractionException) cause;
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new ExtractionException( cause.getMessage(), cause );
+        }
+
+        if ( existing == null )
+        {
+            return serializingScan.result;
+        }
+
+        stats.setCached( true );
+        try ( DataInputStream in = new DataInputStream( new ByteArrayInputStream( serialized ) ) )
+        {
+            return MojoAnnotationsScanCache.readClasses( in, artifact );
+        }
+    }
+
+    /**
+     * Scan, keeping the result for the scanning module and its serialized form for other modules.
+     */
+    private static final class SerializingScan
+        implements Callable<byte[]>
+    {
+        private final Callable<Map<String, MojoAnnotatedClass>> scan;
+
+        private Map<String, MojoAnnotatedClass> result;
+
+        SerializingScan( Callable<Map<String, MojoAnnotatedClass>> scan )
+        {
+            this.scan = scan;
+        }
+
+        public byte[] call()
+            throws Exception
+        {
+            result = scan.call();
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try ( DataOutputStream out = new DataOutputStream( bytes ) )
+            {
+                MojoAnnotationsScanCache.writeClasses( out, result );
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryFactory;
+import org.apache.maven.artifact.repository.layout.ArtifactRepositoryLayout;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.extractor.ApplicableMojoDescriptorExtractor;
+import org.apache.maven.tools.plugin.extractor.ExtractionListener;
+import org.apache.maven.tools.plugin.extractor.JavaSourceModel;
+import org.apache.maven.tools.plugin.extractor.MojoDescriptorExtractor;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotatedClass;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsIndex;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsScanner;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsScannerRequest;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.ReflectionUtils;
+
+import com.thoughtworks.qdox.model.JavaClass;
+
+/**
+ * Extraction of mojo descriptors from a project made of the compiled classes and sources of {@link FooMojo} and
+ * {@link AbstractFooMojo}.
+ */
+public class JavaAnnotationsMojoDescriptorExtractorTest
+    extends PlexusTestCase
+{
+    private static final String PACKAGE_PATH = "org/apache/maven/tools/plugin/extractor/annotations/";
+
+    private File basedir;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        basedir = new File( getBasedir(), "target/extractor-test/" + getName() );
+        FileUtils.deleteDirectory( basedir );
+    }
+
+    public void testJavadocCache()
+        throws Exception
+    {
+        MavenProject project = newProject( "plugin" );
+        File cacheFile = new File( project.getBuild().getDirectory(), "maven-plugin-plugin-javadoc/test/plugin.javadoc" );
+
+        CountingJavaSourceModel javaSourceModel = new CountingJavaSourceModel();
+        List<MojoDescriptor> mojoDescriptors = execute( newRequest( project, javaSourceModel ) );
+        assertEquals( "the cool bar to go", getParameter( mojoDescriptors, "foo", "bar" ).getDescription() );
+        assertEquals( 1, javaSourceModel.calls );
+        assertTrue( cacheFile.isFile() );
+
+        // unchanged sources: javadoc read from the cache, without parsing
+        javaSourceModel = new CountingJavaSourceModel();
+        mojoDescriptors = execute( newRequest( project, javaSourceModel ) );
+        assertEquals( "the cool bar to go", getParameter( mojoDescriptors, "foo", "bar" ).getDescription() );
+        assertEquals( "1.0", getParameter( mojoDescriptors, "foo", "bar" ).getSince() );
+        assertEquals( 0, javaSourceModel.calls );
+
+        // modified sources: parsed again
+        File fooMojo = new File( project.getCompileSourceRoots().get( 0 ), PACKAGE_PATH + "FooMojo.java" );
+        FileUtils.fileWrite( fooMojo, "UTF-8",
+                             FileUtils.fileRead( fooMojo, "UTF-8" ).replace( "the cool bar", "the warm bar" ) );
+        javaSourceModel = new CountingJavaSourceModel();
+        mojoDescriptors = execute( newRequest( project, javaSourceModel ) );
+        assertEquals( "the warm bar to go", getParameter( mojoDescriptors, "foo", "bar" ).getDescription() );
+        assertEquals( 1, javaSourceModel.calls );
+    }
+
+    public void testIsApplicable()
+        throws Exception
+    {
+        ApplicableMojoDescriptorExtractor extractor =
+            (ApplicableMojoDescriptorExtractor) lookup( MojoDescriptorExtractor.class, "java-annotations" );
+
+        MavenProject project = newProject( "plugin" );
+        assertTrue( extractor.isApplicable( newRequest( project, new JavaSourceModel() ) ) );
+
+        // no classes directory
+        project = newProject( "empty" );
+        FileUtils.deleteDirectory( project.getBuild().getOutputDirectory() );
+        assertFalse( extractor.isApplicable( newRequest( project, new JavaSourceModel() ) ) );
+
+        // references plugin annotations without being a mojo: the constant pool prefilter can't tell...
+        project = newProject( "no-mojo", "TestAnnotationsReader" );
+        PluginToolsRequest request = newRequest( project, new JavaSourceModel() ).setIncrementalScan( true );
+        assertTrue( extractor.isApplicable( request ) );
+
+        // ... the manifest of the incremental scan can
+        assertEquals( 0, execute( request ).size() );
+        assertFalse( extractor.isApplicable( request ) );
+
+        // the mojo annotations index of a previous build with mojos is left as is without index...
+        File indexFile = new File( project.getBuild().getOutputDirectory(),
+                                   MojoAnnotationsIndex.getPath( "test", "no-mojo" ) );
+        indexFile.getParentFile().mkdirs();
+        FileUtils.fileWrite( indexFile, "UTF-8", "stale" );
+        assertFalse( extractor.isApplicable( request ) );
+        assertTrue( indexFile.isFile() );
+
+        // ... and deleted by the extraction with index
+        request.setMojoAnnotationsIndex( true );
+        assertTrue( extractor.isApplicable( request ) );
+        assertTrue( indexFile.isFile() );
+        assertEquals( 0, execute( request ).size() );
+        assertFalse( indexFile.exists() );
+        assertFalse( extractor.isApplicable( request ) );
+    }
+
+    public void testSharedJavaSourceModel()
+        throws Exception
+    {
+        MavenProject project = newProject( "plugin" );
+        // a project artifact filtered out of the dependencies of the request, as with mojoDependencies
+        Artifact filtered = lookup( ArtifactFactory.class ).createArtifact( "test", "filtered", "1.0", null, "jar" );
+        filtered.setFile( new File( getBasedir(), "target/test-classes/java8-annotations.jar" ) );
+        project.setArtifacts( Collections.singleton( filtered ) );
+        CountingJavaSourceModel javaSourceModel = new CountingJavaSourceModel();
+        PluginToolsRequest request = newRequest( project, javaSourceModel ).setJavadocCache( false );
+
+        execute( request );
+        lookup( MojoDescriptorExtractor.class, "java-javadoc" ).execute( request );
+
+        // both extractors get the classes of the same parse
+        assertEquals( 2, javaSourceModel.calls );
+        assertEquals( 1, javaSourceModel.parses.size() );
+    }
+
+    public void testTargetedJavadocScan()
+        throws Exception
+    {
+        MavenProject project = newProject( "plugin", "BazMojo", "AbstractBazMojo", "TestAnnotationsReader" );
+        RecordingExtractor extractor = newRecordingExtractor();
+
+        CountingJavaSourceModel javaSourceModel = new CountingJavaSourceModel();
+        List<MojoDescriptor> mojoDescriptors =
+            extractor.execute( newRequest( project, javaSourceModel ).setJavadocCache( false )
+                .setTargetedJavadocScan( true ) );
+        assertEquals( "the baz to use", getParameter( mojoDescriptors, "baz", "baz" ).getDescription() );
+        // only the sources of the mojo and of its ancestor without annotations are parsed
+        assertEquals( Collections.singletonList( new TreeSet<>( Arrays.asList( AbstractBazMojo.class.getName(),
+                                                                               BazMojo.class.getName() ) ) ),
+                      extractor.parsedClassNames );
+        assertEquals( 0, javaSourceModel.calls );
+
+        // source of a class not found: every source is parsed
+        FileUtils.forceDelete( new File( project.getCompileSourceRoots().get( 0 ),
+                                         PACKAGE_PATH + "AbstractBazMojo.java" ) );
+        extractor.parsedClassNames.clear();
+        javaSourceModel = new CountingJavaSourceModel();
+        mojoDescriptors = extractor.execute( newRequest( project, javaSourceModel ).setJavadocCache( false )
+            .setTargetedJavadocScan( true ) );
+        assertEquals( "the baz to use", getParameter( mojoDescriptors, "baz", "baz" ).getDescription() );
+        assertTrue( extractor.parsedClassNames.isEmpty() );
+        assertEquals( 1, javaSourceModel.calls );
+    }
+
+    public void testMojoAnnotationsIndex()
+        throws Exception
+    {
+        // upstream plugin jar with the mojo annotations index of FooMojo and AbstractFooMojo, without sources artifact
+        MojoAnnotationsScannerRequest scannerRequest = new MojoAnnotationsScannerRequest();
+        scannerRequest.setClassesDirectories( Collections.singletonList( new File( getBasedir(),
+                                                                                   "target/test-classes" ) ) );
+        scannerRequest.setIncludePatterns( Arrays.asList( "**/FooMojo.class", "**/AbstractFooMojo.class" ) );
+        scannerRequest.setProject( new MavenProject() );
+        Map<String, MojoAnnotatedClass> upstreamClasses =
+            lookup( MojoAnnotationsScanner.class ).scan( scannerRequest );
+        upstreamClasses.get( FooMojo.class.getName() ).getParameters().get( "bar" ).setDescription( "The bar." );
+        upstreamClasses.get( FooMojo.class.getName() ).getParameters().get( "bar" ).setSince( "1.1" );
+
+        File indexFile = new File( basedir, "mojo-annotations.idx" );
+        MojoAnnotationsIndex.write( indexFile, upstreamClasses.values() );
+        File jar = new File( basedir, "upstream-maven-plugin-1.0.jar" );
+        try ( ZipOutputStream out = new ZipOutputStream( new FileOutputStream( jar ) ) )
+        {
+            out.putNextEntry( new ZipEntry( MojoAnnotationsIndex.getPath( "test", "upstream-maven-plugin" ) ) );
+            out.write( Files.readAllBytes( indexFile.toPath() ) );
+            out.closeEntry();
+        }
+        Artifact upstream = lookup( ArtifactFactory.class ).createArtifact( "test", "upstream-maven-plugin", "1.0",
+                                                                            null, "maven-plugin" );
+        upstream.setFile( jar );
+
+        File localRepository = new File( basedir, "repository" );
+        localRepository.mkdirs();
+
+        MavenProject project = newProject( "plugin", "QuxMojo" );
+        project.setArtifacts( Collections.singleton( upstream ) );
+        PluginToolsRequest request = newRequest( project, new JavaSourceModel() );
+        request.setDependencies( Collections.singleton( upstream ) );
+        request.setLocal( lookup( ArtifactRepositoryFactory.class ).createArtifactRepository(
+            "local", localRepository.toURI().toString(), lookup( ArtifactRepositoryLayout.class, "default" ), null,
+            null ) );
+        request.setMojoAnnotationsIndex( true );
+
+        List<MojoDescriptor> mojoDescriptors = execute( request );
+
+        // javadoc content of the upstream mojo from its index, without sources artifact
+        assertEquals( "The bar.", getParameter( mojoDescriptors, "qux", "bar" ).getDescription() );
+        assertEquals( "1.1", getParameter( mojoDescriptors, "qux", "bar" ).getSince() );
+        assertEquals( 0, localRepository.list().length );
+
+        // index of the project itself
+        assertTrue( new File( project.getBuild().getOutputDirectory(),
+                              MojoAnnotationsIndex.getPath( "test", "plugin" ) ).isFile() );
+    }
+
+    public void testUnchangedMojoAnnotationsIndexKeepsTimestamp()
+        throws Exception
+    {
+        MavenProject project = newProject( "plugin" );
+        File indexFile = new File( project.getBuild().getOutputDirectory(),
+                                   MojoAnnotationsIndex.getPath( "test", "plugin" ) );
+
+        execute( newRequest( project, new JavaSourceModel() ).setMojoAnnotationsIndex( true ) );
+        assertTrue( indexFile.isFile() );
+        indexFile.setLastModified( 1000L );
+
+        execute( newRequest( project, new JavaSourceModel() ).setMojoAnnotationsIndex( true ) );
+        assertEquals( 1000L, indexFile.lastModified() );
+        // no temporary file left
+        assertEquals( 1, indexFile.getParentFile().list().length );
+    }
+
+    public void testExtractionPhases()
+        throws Exception
+    {
+        PhaseRecorder phaseRecorder = new PhaseRecorder();
+        PluginToolsRequest request = newRequest( newProject( "plugin" ), new JavaSourceModel() );
+        request.setMojoAnnotationsIndex( true );
+        request.setExtractionListener( phaseRecorder );
+
+        execute( request );
+
+        assertEquals( Arrays.asList( ExtractionListener.ANNOTATION_SCAN, ExtractionListener.JAVADOC_SCAN,
+                                     "mojo-annotations-index", ExtractionListener.DESCRIPTOR_BUILD,
+                                     ExtractionListener.VALIDATION ), phaseRecorder.phases );
+    }
+
+    private List<MojoDescriptor> execute( PluginToolsRequest request )
+        throws Exception
+    {
+        return lookup( MojoDescriptorExtractor.class, "java-annotations" ).execute( request );
+    }
+
+    /**
+     * @return a project with the classes and sources of {@link FooMojo} and {@link AbstractFooMojo}
+     */
+    private MavenProject newProject( String artifactId )
+        throws Exception
+    {
+        return newProject( artifactId, "FooMojo", "AbstractFooMojo" );
+    }
+
+    /**
+     * @return a project with the classes and sources of the given test classes
+     */
+    private MavenProject newProject( String artifactId, String... classNames )
+        throws Exception
+    {
+        File projectDirectory = new File( basedir, artifactId );
+        File classes = new File( projectDirectory, "target/classes" );
+        File sources = new File( projectDirectory, "src/main/java" );
+        for ( String className : classNames )
+        {
+            FileUtils.copyFile( new File( getBasedir(), "target/test-classes/" + PACKAGE_PATH + className + ".class" ),
+                                new File( classes, PACKAGE_PATH + className + ".class" ) );
+            FileUtils.copyFile( new File( getBasedir(), "src/test/java/" + PACKAGE_PATH + className + ".java" ),
+                                new File( sources, PACKAGE_PATH + className + ".java" ) );
+        }
+
+        MavenProject project = new MavenProject();
+        project.setGroupId( "test" );
+        project.setArtifactId( artifactId );
+        project.setVersion( "1.0" );
+        project.setArtifact( lookup( ArtifactFactory.class ).createArtifact( "test", artifactId, "1.0", null,
+                                                                             "jar" ) );
+        project.setFile( new File( projectDirectory, "pom.xml" ) );
+        project.getBuild().setDirectory( new File( projectDirectory, "target" ).getPath() );
+        project.getBuild().setOutputDirectory( classes.getPath() );
+        project.addCompileSourceRoot( sources.getPath() );
+        project.setArtifacts( Collections.<Artifact>emptySet() );
+        return project;
+    }
+
+    private static PluginToolsRequest newRequest( MavenProject project, JavaSourceModel javaSourceModel )
+    {
+        PluginToolsRequest request = new DefaultPluginToolsRequest( project, new PluginDescriptor() );
+        request.setEncoding( "UTF-8" );
+        request.setDependencies( Collections.<Artifact>emptySet() );
+        request.setRemoteRepos( Collections.<ArtifactRepository>emptyList() );
+        request.setJavadocCache( true );
+        request.setJavaSourceModel( javaSourceModel );
+        return request;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static Parameter getParameter( List<MojoDescriptor> mojoDescriptors, String goal, String name )
+    {
+        for ( MojoDescriptor mojoDescriptor : mojoDescriptors )
+        {
+            if ( goal.equals( mojoDescriptor.getGoal() ) )
+            {
+                for ( Parameter parameter : (List<Parameter>) mojoDescriptor.getParameters() )
+                {
+                    if ( name.equals( parameter.getName() ) )
+                    {
+                        return parameter;
+                    }
+                }
+            }
+        }
+        fail( "no parameter " + name + " in goal " + goal );
+        return null;
+    }
+
+    /**
+     * @return an extractor with the requirements of the java-annotations component
+     */
+    private RecordingExtractor newRecordingExtractor()
+        throws Exception
+    {
+        Object component = lookup( MojoDescriptorExtractor.class, "java-annotations" );
+        RecordingExtractor extractor = new RecordingExtractor();
+        for ( String requirement : new String[] { "mojoAnnotationsScanner", "artifactResolver", "artifactFactory" } )
+        {
+            ReflectionUtils.setVariableValueInObject( extractor, requirement,
+                                                      ReflectionUtils.getValueIncludingSuperclasses( requirement,
+                                                                                                     component ) );
+        }
+        extractor.enableLogging( new ConsoleLogger( Logger.LEVEL_INFO, "test" ) );
+        return extractor;
+    }
+
+    /**
+     * Records the classes of targeted parses.
+     */
+    private static class RecordingExtractor
+        extends JavaAnnotationsMojoDescriptorExtractor
+    {
+        private final List<Set<String>> parsedClassNames = new ArrayList<>();
+
+        @Override
+        protected Map<String, JavaClass> discoverClasses( String encoding, MavenProject project,
+                                                          Set<String> classNames )
+        {
+            parsedClassNames.add( classNames );
+            return super.discoverClasses( encoding, project, classNames );
+        }
+    }
+
+    /**
+     * Records the ended phases, in order.
+     */
+    private static class PhaseRecorder
+        implements ExtractionListener
+    {
+        private final List<String> phases = new ArrayList<>();
+
+        public void extractorStarted( String extractorId, MojoDescriptorExtractor extractor )
+        {
+        }
+
+        public void phaseStarted( MojoDescriptorExtractor extractor, String phase )
+        {
+        }
+
+        public void phaseEnded( MojoDescriptorExtractor extractor, String phase, long durationNanos )
+        {
+            phases.add( phase );
+        }
+
+        public void extractorEnded( String extractorId, MojoDescriptorExtractor extractor, int mojoDescriptors,
+                                    long durationNanos )
+        {
+        }
+    }
+
+    /**
+     * Counts the parses requested from the shared source model.
+     */
+    private static class CountingJavaSourceModel
+        extends JavaSourceModel
+    {
+        private int calls;
+
+        private final Set<Collection<JavaClass>> parses =
+            Collections.newSetFromMap( new IdentityHashMap<Collection<JavaClass>, Boolean>() );
+
+        @Override
+        public synchronized Collection<JavaClass> getClasses( String encoding, List<File> sourceDirectories,
+                                                              Collection<Artifact> classpath )
+        {
+            calls++;
+            Collection<JavaClass> javaClasses = super.getClasses( encoding, sourceDirectories, classpath );
+            parses.add( javaClasses );
+            return javaClasses;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.thoughtworks.qdox.JavaProjectBuilder;
+import com.thoughtworks.qdox.model.JavaClass;
+
+public class JavadocCacheTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCache()
+        throws IOException
+    {
+        File parent = temporaryFolder.newFile( "Parent.java" );
+        FileUtils.fileWrite( parent, "UTF-8", "package p;\n/**\n * Parent.\n * @since 1.0\n */\n"
+            + "public abstract class Parent\n{\n    /**\n     * Field of parent.\n     * @deprecated no more\n     */\n"
+            + "    protected String field;\n}\n" );
+        File child = temporaryFolder.newFile( "Child.java" );
+        FileUtils.fileWrite( child, "UTF-8", "package p;\n/**\n * Child.\n */\n"
+            + "public class Child extends Parent\n{\n    /** Other field. */\n    private int other;\n}\n" );
+        List<File> sources = Arrays.asList( parent, child );
+
+        Map<String, JavadocClass> javadocClasses = parse( sources );
+        JavadocClass childClass = javadocClasses.get( "p.Child" );
+        assertEquals( "Child.", childClass.getContent().getDescription() );
+        // inherited from the source superclass
+        assertEquals( "1.0", childClass.getContent().getSince() );
+        assertNull( childClass.getContent().getDeprecated() );
+        assertEquals( "p.Parent", childClass.getSuperClassNames().get( 0 ) );
+        assertEquals( "no more", javadocClasses.get( "p.Parent" ).getFields().get( "field" ).getDeprecated() );
+
+        JavadocCache cache = new JavadocCache( new ConsoleLogger( Logger.LEVEL_WARN, "test" ) );
+        File cacheFile = new File( temporaryFolder.getRoot(), "cache/p.javadoc" );
+        String key = JavadocCache.key( "UTF-8", null, Collections.<Artifact>emptyList(), sources );
+        cache.put( cacheFile, key, javadocClasses );
+
+        Map<String, JavadocClass> cached = cache.get( cacheFile, key );
+        assertEquals( javadocClasses.keySet(), cached.keySet() );
+        JavadocClass cachedChild = cached.get( "p.Child" );
+        assertEquals( "Child.", cachedChild.getContent().getDescription() );
+        assertEquals( "1.0", cachedChild.getContent().getSince() );
+        assertNull( cachedChild.getContent().getDeprecated() );
+        assertEquals( childClass.getSuperClassNames(), cachedChild.getSuperClassNames() );
+        assertEquals( "Other field.", cachedChild.getFields().get( "other" ).getDescription() );
+        assertNull( cachedChild.getFields().get( "other" ).getSince() );
+        assertEquals( "no more", cached.get( "p.Parent" ).getFields().get( "field" ).getDeprecated() );
+
+        // a javadoc change in the superclass invalidates the entry
+        FileUtils.fileWrite( parent, "UTF-8", FileUtils.fileRead( parent, "UTF-8" ).replace( "1.0", "1.1" ) );
+        String changedKey = JavadocCache.key( "UTF-8", null, Collections.<Artifact>emptyList(), sources );
+        assertNotEquals( key, changedKey );
+        assertNull( cache.get( cacheFile, changedKey ) );
+
+        // so does parsing other classes
+        assertNotEquals( key, JavadocCache.key( "UTF-8", Collections.singleton( "p.Child" ),
+                                                Collections.<Artifact>emptyList(), sources ) );
+    }
+
+    @Test
+    public void testArchiveKey()
+        throws IOException
+    {
+        File archive = temporaryFolder.newFile( "a-1.0-sources.jar" );
+        FileUtils.fileWrite( archive, "UTF-8", "content" );
+        File copy = new File( temporaryFolder.newFolder( "other" ), "a-1.0-sources.jar" );
+        FileUtils.copyFile( archive, copy );
+
+        // the same for every project using the archive
+        String key = JavadocCache.key( "UTF-8", null, archive );
+        assertEquals( key, JavadocCache.key( "UTF-8", null, copy ) );
+
+        assertNotEquals( key, JavadocCache.key( "ISO-8859-1", null, archive ) );
+        assertNotEquals( key, JavadocCache.key( "UTF-8", Collections.singleton( "p.Child" ), archive ) );
+        FileUtils.fileWrite( copy, "UTF-8", "changed" );
+        assertNotEquals( key, JavadocCache.key( "UTF-8", null, copy ) );
+
+        assertEquals( JavadocCache.classNamesId( Arrays.asList( "p.A", "p.B" ) ),
+                      JavadocCache.classNamesId( Arrays.asList( "p.A", "p.B" ) ) );
+        assertNotEquals( JavadocCache.classNamesId( Arrays.asList( "p.A", "p.B" ) ),
+                         JavadocCache.classNamesId( Collections.singleton( "p.A" ) ) );
+    }
+
+    private static Map<String, JavadocClass> parse( List<File> sources )
+        throws IOException
+    {
+        JavaProjectBuilder builder = new JavaProjectBuilder();
+        builder.setEncoding( "UTF-8" );
+        for ( File source : sources )
+        {
+            builder.addSource( source );
+        }
+
+        Map<String, JavadocClass> javadocClasses = new HashMap<>();
+        for ( JavaClass javaClass : builder.getClasses() )
+        {
+            javadocClasses.put( javaClass.getFullyQualifiedName(), JavadocClass.of( javaClass ) );
+        }
+        return javadocClasses;
+    }
+}
@@ -0,0 +1,120 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.AnnotatedContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ExecuteAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.ParameterAnnotationContent;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotatedClass;
+import org.junit.Test;
+
+public class MojoClassHierarchyTest
+{
+    @Test
+    public void testOverrideOrder()
+    {
+        Map<String, MojoAnnotatedClass> classes = new HashMap<>();
+        MojoAnnotatedClass base = newClass( classes, "p.Base", null );
+        ParameterAnnotationContent baseA = addParameter( base, "a" );
+        ParameterAnnotationContent baseB = addParameter( base, "b" );
+        ExecuteAnnotationContent execute = new ExecuteAnnotationContent();
+        base.setExecute( execute );
+        MojoAnnotatedClass middle = newClass( classes, "p.Middle", "p.Base" );
+        ParameterAnnotationContent middleA = addParameter( middle, "a" );
+        MojoAnnotatedClass first = newClass( classes, "p.First", "p.Middle" );
+        ParameterAnnotationContent firstB = addParameter( first, "b" );
+        MojoAnnotatedClass second = newClass( classes, "p.Second", "p.Middle" );
+
+        MojoClassHierarchy hierarchy =
+            new MojoClassHierarchy( classes, Collections.<String, JavadocClass>emptyMap() );
+
+        Map<String, ParameterAnnotationContent> firstParameters = hierarchy.getParameters( first );
+        assertEquals( 2, firstParameters.size() );
+        assertSame( middleA, firstParameters.get( "a" ) );
+        assertSame( firstB, firstParameters.get( "b" ) );
+
+        Map<String, ParameterAnnotationContent> secondParameters = hierarchy.getParameters( second );
+        assertSame( middleA, secondParameters.get( "a" ) );
+        assertSame( baseB, secondParameters.get( "b" ) );
+
+        assertSame( baseA, hierarchy.getParameters( base ).get( "a" ) );
+        assertSame( execute, hierarchy.getExecute( second ) );
+        assertNull( new MojoClassHierarchy( classes, Collections.<String, JavadocClass>emptyMap() )
+                        .getExecute( newClass( classes, "p.Other", "p.Unknown" ) ) );
+    }
+
+    @Test
+    public void testJavadocFields()
+    {
+        Map<String, JavadocClass> javadocClasses = new HashMap<>();
+        // p.Middle comes from another source set, where p.Base is not a source class
+        javadocClasses.put( "p.Base", newJavadocClass( "p.Base", new String[] { "java.lang.Object" }, "a", "b" ) );
+        javadocClasses.put( "p.Middle",
+                            newJavadocClass( "p.Middle", new String[] { "p.Base", "java.lang.Object" }, "a" ) );
+        JavadocClass first =
+            newJavadocClass( "p.First", new String[] { "p.Middle", "p.Base", "java.lang.Object" }, "b" );
+
+        MojoClassHierarchy hierarchy =
+            new MojoClassHierarchy( Collections.<String, MojoAnnotatedClass>emptyMap(), javadocClasses );
+        Map<String, AnnotatedContent> fields = hierarchy.getJavadocFields( first );
+        assertEquals( "p.Middle.a", fields.get( "a" ).getDescription() );
+        assertEquals( "p.First.b", fields.get( "b" ).getDescription() );
+        assertEquals( "p.Base.b", hierarchy.getJavadocFields( javadocClasses.get( "p.Middle" ) ).get( "b" )
+            .getDescription() );
+    }
+
+    private static MojoAnnotatedClass newClass( Map<String, MojoAnnotatedClass> classes, String className,
+                                                String parentClassName )
+    {
+        MojoAnnotatedClass mojoAnnotatedClass =
+            new MojoAnnotatedClass().setClassName( className ).setParentClassName( parentClassName );
+        classes.put( className, mojoAnnotatedClass );
+        return mojoAnnotatedClass;
+    }
+
+    private static ParameterAnnotationContent addParameter( MojoAnnotatedClass mojoAnnotatedClass, String fieldName )
+    {
+        ParameterAnnotationContent parameter = new ParameterAnnotationContent( fieldName, "java.lang.String" );
+        mojoAnnotatedClass.getParameters().put( fieldName, parameter );
+        return parameter;
+    }
+
+    private static JavadocClass newJavadocClass( String name, String[] superClassNames, String... fieldNames )
+    {
+        Map<String, AnnotatedContent> fields = new LinkedHashMap<>();
+        for ( String fieldName : fieldNames )
+        {
+            AnnotatedContent content = new AnnotatedContent();
+            content.setDescription( name + '.' + fieldName );
+            fields.put( fieldName, content );
+        }
+        return new JavadocClass( name, Arrays.asList( superClassNames ), new AnnotatedContent(), fields );
+    }
+}
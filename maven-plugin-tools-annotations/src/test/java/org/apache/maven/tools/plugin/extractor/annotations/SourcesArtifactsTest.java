@@ -0,0 +1,206 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryFactory;
+import org.apache.maven.artifact.repository.layout.ArtifactRepositoryLayout;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.extractor.MojoDescriptorExtractor;
+import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotatedClass;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Resolution and parsing of the sources artifacts of dependencies, from a local file-based repository.
+ */
+public class SourcesArtifactsTest
+    extends PlexusTestCase
+{
+    private static final String SOURCES = "src/test/java/org/apache/maven/tools/plugin/extractor/annotations/";
+
+    public void testConcurrentResolution()
+        throws Exception
+    {
+        File localRepository = new File( getBasedir(), "target/sources-artifacts-test/repository" );
+        FileUtils.deleteDirectory( localRepository );
+
+        ArtifactFactory artifactFactory = lookup( ArtifactFactory.class );
+        Artifact first = createArtifact( artifactFactory, "first", localRepository, "FooMojo.java" );
+        Artifact second = createArtifact( artifactFactory, "second", localRepository, "AbstractFooMojo.java" );
+        // no sources artifact
+        Artifact third = artifactFactory.createArtifact( "test", "third", "1.0", null, "jar" );
+
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add( third );
+        dependencies.add( second );
+        dependencies.add( first );
+
+        PluginToolsRequest request = newRequest( localRepository );
+        request.setScanThreads( 3 );
+
+        JavaAnnotationsMojoDescriptorExtractor extractor =
+            (JavaAnnotationsMojoDescriptorExtractor) lookup( MojoDescriptorExtractor.class, "java-annotations" );
+        Map<String, JavadocClass> javadocClasses = extractor.discoverJavadocFromSourcesJars(
+            request, dependencies, Collections.<String, MojoAnnotatedClass>emptyMap() );
+
+        assertEquals( 2, javadocClasses.size() );
+        JavadocClass fooMojo = javadocClasses.get( FooMojo.class.getName() );
+        assertEquals( "the cool bar to go", fooMojo.getFields().get( "bar" ).getDescription() );
+        assertEquals( "1.0", fooMojo.getFields().get( "bar" ).getSince() );
+        assertEquals( "wine is better", fooMojo.getFields().get( "beer" ).getDeprecated() );
+        assertNotNull( javadocClasses.get( AbstractFooMojo.class.getName() ) );
+
+        // sources jars are read in place
+        assertFalse( new File( request.getProject().getBuild().getDirectory(), "maven-plugin-plugin-sources" )
+                         .exists() );
+    }
+
+    public void testMissingSourcesCache()
+        throws Exception
+    {
+        File localRepository = new File( getBasedir(), "target/sources-artifacts-test/missing-repository" );
+        FileUtils.deleteDirectory( localRepository );
+        File cacheDirectory = new File( getBasedir(), "target/sources-artifacts-test/missing-cache" );
+        FileUtils.deleteDirectory( cacheDirectory );
+
+        ArtifactFactory artifactFactory = lookup( ArtifactFactory.class );
+        Artifact missing = artifactFactory.createArtifact( "test", "missing", "1.0", null, "jar" );
+        Set<Artifact> dependencies = Collections.singleton( missing );
+
+        PluginToolsRequest request = newRequest( localRepository );
+        request.setScanCacheDirectory( cacheDirectory );
+        request.setMissingSourcesCacheTtl( 60 );
+
+        JavaAnnotationsMojoDescriptorExtractor extractor =
+            (JavaAnnotationsMojoDescriptorExtractor) lookup( MojoDescriptorExtractor.class, "java-annotations" );
+        assertTrue( extractor.discoverJavadocFromSourcesJars(
+            request, dependencies, Collections.<String, MojoAnnotatedClass>emptyMap() ).isEmpty() );
+        assertTrue( FileUtils.fileRead( new File( cacheDirectory, "missing-sources.properties" ) )
+                        .contains( "test\\:missing\\:1.0\\:sources" ) );
+
+        // published meanwhile: not resolved again until the entry expires
+        createArtifact( artifactFactory, "missing", localRepository, "FooMojo.java" );
+        assertTrue( extractor.discoverJavadocFromSourcesJars(
+            request, dependencies, Collections.<String, MojoAnnotatedClass>emptyMap() ).isEmpty() );
+
+        request.setMissingSourcesCacheTtl( 0 );
+        assertEquals( 1, extractor.discoverJavadocFromSourcesJars(
+            request, dependencies, Collections.<String, MojoAnnotatedClass>emptyMap() ).size() );
+    }
+
+    public void testMissingSourcesOncePerBuild()
+        throws Exception
+    {
+        File localRepository = new File( getBasedir(), "target/sources-artifacts-test/missing-build-repository" );
+        FileUtils.deleteDirectory( localRepository );
+
+        ArtifactFactory artifactFactory = lookup( ArtifactFactory.class );
+        Artifact missing = artifactFactory.createArtifact( "test", "missing", "1.0", null, "jar" );
+        Set<Artifact> dependencies = Collections.singleton( missing );
+        MavenExecutionRequest executionRequest = mock( MavenExecutionRequest.class );
+
+        // no cache directory: remembered for the build only
+        PluginToolsRequest request = newRequest( localRepository );
+        request.setSession( mockSession( executionRequest ) );
+        JavaAnnotationsMojoDescriptorExtractor extractor =
+            (JavaAnnotationsMojoDescriptorExtractor) lookup( MojoDescriptorExtractor.class, "java-annotations" );
+        assertTrue( extractor.discoverJavadocFromSourcesJars(
+            request, dependencies, Collections.<String, MojoAnnotatedClass>emptyMap() ).isEmpty() );
+
+        // published meanwhile: not resolved again by another module, with its own clone of the session
+        createArtifact( artifactFactory, "missing", localRepository, "FooMojo.java" );
+        request = newRequest( localRepository );
+        request.setSession( mockSession( executionRequest ) );
+        assertTrue( extractor.discoverJavadocFromSourcesJars(
+            request, dependencies, Collections.<String, MojoAnnotatedClass>emptyMap() ).isEmpty() );
+
+        // next build
+        request.setSession( mockSession( mock( MavenExecutionRequest.class ) ) );
+        assertEquals( 1, extractor.discoverJavadocFromSourcesJars(
+            request, dependencies, Collections.<String, MojoAnnotatedClass>emptyMap() ).size() );
+    }
+
+    private static MavenSession mockSession( MavenExecutionRequest executionRequest )
+    {
+        MavenSession session = mock( MavenSession.class );
+        when( session.getRequest() ).thenReturn( executionRequest );
+        return session;
+    }
+
+    private PluginToolsRequest newRequest( File localRepository )
+        throws Exception
+    {
+        ArtifactRepository local = lookup( ArtifactRepositoryFactory.class ).createArtifactRepository(
+            "local", localRepository.toURI().toString(), lookup( ArtifactRepositoryLayout.class, "default" ), null,
+            null );
+
+        MavenProject project = new MavenProject();
+        project.getBuild().setDirectory( new File( getBasedir(), "target/sources-artifacts-test" ).getPath() );
+
+        PluginToolsRequest request = new DefaultPluginToolsRequest( project, new PluginDescriptor() );
+        request.setEncoding( "UTF-8" );
+        request.setLocal( local );
+        request.setRemoteRepos( Collections.<ArtifactRepository>emptyList() );
+        request.setDependencies( Collections.<Artifact>emptySet() );
+        return request;
+    }
+
+    private Artifact createArtifact( ArtifactFactory artifactFactory, String artifactId, File localRepository,
+                                     String source )
+        throws IOException
+    {
+        File directory = new File( localRepository, "test/" + artifactId + "/1.0" );
+        directory.mkdirs();
+        File sourcesJar = new File( directory, artifactId + "-1.0-sources.jar" );
+        try ( ZipOutputStream out = new ZipOutputStream( new FileOutputStream( sourcesJar ) );
+              InputStream in = new FileInputStream( new File( getBasedir(), SOURCES + source ) ) )
+        {
+            out.putNextEntry( new ZipEntry( "org/apache/maven/tools/plugin/extractor/annotations/" + source ) );
+            IOUtil.copy( in, out );
+            out.closeEntry();
+        }
+
+        return artifactFactory.createArtifact( "test", artifactId, "1.0", null, "jar" );
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.maven.tools.plugin.extractor.annotations;
  * under the License.
  */
 
+import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
 import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -29,6 +30,7 @@ import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotated
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsScanner;
 import org.apache.maven.tools.plugin.extractor.annotations.scanner.MojoAnnotationsScannerRequest;
 import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.compiler.manager.CompilerManager;
 import org.fest.assertions.Assertions;
 
 import java.io.File;
@@ -80,6 +82,13 @@ public class TestAnnotationsReader
         Collection<ComponentAnnotationContent> components = mojoAnnotatedClass.getComponents().values();
         Assertions.assertThat( components ).isNotNull().isNotEmpty().hasSize( 2 );
 
+        ComponentAnnotationContent artifactMetadataSource =
+            mojoAnnotatedClass.getComponents().get( "artifactMetadataSource" );
+        assertEquals( ArtifactMetadataSource.class.getName(), artifactMetadataSource.getRoleClassName() );
+        assertEquals( "maven", artifactMetadataSource.hint() );
+        assertEquals( CompilerManager.class.getName(),
+                      mojoAnnotatedClass.getComponents().get( "compilerManager" ).getRoleClassName() );
+
         Collection<ParameterAnnotationContent> parameters = mojoAnnotatedClass.getParameters().values();
         Assertions.assertThat( parameters ).isNotNull().isNotEmpty().hasSize( 2 ).contains(
             new ParameterAnnotationContent( "bar", null, "thebar", "coolbar", true, false, String.class.getName() ),
@@ -19,15 +19,47 @@ package org.apache.maven.tools.plugin.extractor.annotations.scanner;
  * under the License.
  */
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.extractor.annotations.AbstractFooMojo;
+import org.apache.maven.tools.plugin.extractor.annotations.FooMojo;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class DefaultMojoAnnotationsScannerTest
 {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private DefaultMojoAnnotationsScanner scanner = new DefaultMojoAnnotationsScanner();
 
     @Test
@@ -43,4 +75,346 @@ public class DefaultMojoAnnotationsScannerTest
         scanner.scanArchive( new File( "target/test-classes/java8-annotations.jar"), null, false );
     }
 
+    @Test
+    public void testSkipNonArchiveDependency() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+        assertTrue( scanner.scanArchive( new File( "pom.xml" ), null, true ).isEmpty() );
+    }
+
+    @Test
+    public void testClassWithoutAnnotationsKeepsHierarchy() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        Map<String, MojoAnnotatedClass> mojoAnnotatedClasses =
+            scanner.scanDirectory( new File( "target/test-classes" ),
+                                   Arrays.asList( "**/DefaultMojoAnnotationsScannerTest.class",
+                                                  "**/AbstractFooMojo.class" ), null, false );
+
+        MojoAnnotatedClass testClass = mojoAnnotatedClasses.get( DefaultMojoAnnotationsScannerTest.class.getName() );
+        assertEquals( Object.class.getName(), testClass.getParentClassName() );
+        assertFalse( testClass.hasAnnotations() );
+
+        MojoAnnotatedClass abstractFooMojo = mojoAnnotatedClasses.get( AbstractFooMojo.class.getName() );
+        assertEquals( AbstractMojo.class.getName(), abstractFooMojo.getParentClassName() );
+        assertEquals( "abstract", abstractFooMojo.getMojo().name() );
+    }
+
+    @Test
+    public void testConcurrentScanMatchesSequentialScan() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add( mockArtifact( "target/test-classes/java8-annotations.jar" ) );
+        dependencies.add( mockArtifact( "target/test-classes/java9-module.jar" ) );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setClassesDirectories( Arrays.asList( new File( "target/test-classes" ) ) );
+        request.setDependencies( dependencies );
+        request.setProject( new MavenProject() );
+
+        Map<String, MojoAnnotatedClass> sequential = scanner.scan( request );
+
+        request.setThreads( 4 );
+        Map<String, MojoAnnotatedClass> concurrent = scanner.scan( request );
+
+        assertEquals( toStrings( sequential ), toStrings( concurrent ) );
+    }
+
+    @Test
+    public void testCachedScanMatchesScan() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        Artifact dependency = new DefaultArtifact( "org.apache.maven.plugin-tools", "java8-annotations", "1.0",
+                                                   Artifact.SCOPE_COMPILE, "jar", null,
+                                                   new DefaultArtifactHandler( "jar" ) );
+        dependency.setFile( new File( "target/test-classes/java8-annotations.jar" ) );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setDependencies( Collections.singleton( dependency ) );
+        request.setProject( new MavenProject() );
+        request.setCacheDirectory( temporaryFolder.getRoot() );
+
+        Map<String, MojoAnnotatedClass> scanned = scanner.scan( request );
+        assertTrue( new File( temporaryFolder.getRoot(), "org.apache.maven.plugin-tools/java8-annotations/1.0/"
+            + "java8-annotations-1.0.jar.scan" ).isFile() );
+
+        File reportFile = new File( temporaryFolder.getRoot(), "report.json" );
+        request.setReportFile( reportFile );
+        Map<String, MojoAnnotatedClass> cached = scanner.scan( request );
+
+        assertEquals( toStrings( scanned ), toStrings( cached ) );
+        String report = FileUtils.fileRead( reportFile, "UTF-8" );
+        assertTrue( report, report.contains( "\"cached\": true" ) );
+    }
+
+    @Test
+    public void testIncrementalScanMatchesScan() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        File classesDirectory = temporaryFolder.newFolder( "classes" );
+        String packagePath = FooMojo.class.getPackage().getName().replace( '.', '/' ) + '/';
+        File fooMojo = new File( classesDirectory, packagePath + "FooMojo.class" );
+        FileUtils.copyFile( new File( "target/test-classes/" + packagePath + "FooMojo.class" ), fooMojo );
+        FileUtils.copyFile( new File( "target/test-classes/" + packagePath + "AbstractFooMojo.class" ),
+                            new File( classesDirectory, packagePath + "AbstractFooMojo.class" ) );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setClassesDirectories( Arrays.asList( classesDirectory ) );
+        request.setProject( new MavenProject() );
+
+        Map<String, MojoAnnotatedClass> scanned = scanner.scan( request );
+
+        request.setIncrementalDirectory( temporaryFolder.newFolder( "state" ) );
+        assertEquals( toStrings( scanned ), toStrings( scanner.scan( request ) ) );
+        // nothing changed: everything comes from the manifest
+        assertEquals( toStrings( scanned ), toStrings( scanner.scan( request ) ) );
+
+        assertTrue( fooMojo.delete() );
+        Map<String, MojoAnnotatedClass> incremental = scanner.scan( request );
+        assertEquals( Collections.singleton( AbstractFooMojo.class.getName() ), incremental.keySet() );
+    }
+
+    @Test
+    public void testLazyDependencyScanOnlyKeepsAncestors() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        File classesDirectory = temporaryFolder.newFolder( "classes" );
+        String packagePath = FooMojo.class.getPackage().getName().replace( '.', '/' ) + '/';
+        FileUtils.copyFile( new File( "target/test-classes/" + packagePath + "FooMojo.class" ),
+                            new File( classesDirectory, packagePath + "FooMojo.class" ) );
+
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add( mockArtifact( "target/test-classes/java8-annotations.jar" ) );
+        dependencies.add( mockArtifact( "target/test-classes" ) );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setClassesDirectories( Arrays.asList( classesDirectory ) );
+        request.setDependencies( dependencies );
+        request.setProject( new MavenProject() );
+
+        Map<String, MojoAnnotatedClass> scanned = scanner.scan( request );
+
+        request.setLazyDependencyScan( true );
+        Map<String, MojoAnnotatedClass> lazy = scanner.scan( request );
+
+        assertEquals( new LinkedHashSet<>( Arrays.asList( FooMojo.class.getName(), AbstractFooMojo.class.getName() ) ),
+                      lazy.keySet() );
+        scanned.keySet().retainAll( lazy.keySet() );
+        assertEquals( toStrings( scanned ), toStrings( lazy ) );
+    }
+
+    @Test
+    public void testDependencyPackageFilters() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add( mockArtifact( "target/test-classes/java8-annotations.jar" ) );
+        dependencies.add( mockArtifact( "target/test-classes" ) );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setDependencies( dependencies );
+        request.setProject( new MavenProject() );
+
+        Map<String, MojoAnnotatedClass> scanned = scanner.scan( request );
+        assertTrue( scanned.containsKey( "java8.Java8Class" ) );
+        assertTrue( scanned.containsKey( DefaultMojoAnnotationsScannerTest.class.getName() ) );
+
+        request.setDependencyPackageIncludes( Arrays.asList( "java8", "org.apache.maven.tools.**" ) );
+        request.setDependencyPackageExcludes( Arrays.asList( "org.apache.maven.tools.plugin.extractor.*.scanner" ) );
+        Map<String, MojoAnnotatedClass> filtered = scanner.scan( request );
+        assertTrue( filtered.containsKey( "java8.Java8Class" ) );
+        assertTrue( filtered.containsKey( FooMojo.class.getName() ) );
+        assertFalse( filtered.containsKey( DefaultMojoAnnotationsScannerTest.class.getName() ) );
+
+        request.setDependencyPackageIncludes( Arrays.asList( "org.apache.*" ) );
+        assertTrue( scanner.scan( request ).isEmpty() );
+    }
+
+    @Test
+    public void testScanReport() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setClassesDirectories( Arrays.asList( new File( "target/test-classes" ) ) );
+        request.setIncludePatterns( Arrays.asList( "**/FooMojo.class", "**/AbstractFooMojo.class" ) );
+        request.setDependencies( Collections.singleton( mockArtifact( "target/test-classes/java8-annotations.jar" ) ) );
+        request.setProject( new MavenProject() );
+        File reportFile = new File( temporaryFolder.getRoot(), "report.json" );
+        request.setReportFile( reportFile );
+
+        scanner.scan( request );
+
+        String report = FileUtils.fileRead( reportFile, "UTF-8" );
+        assertTrue( report, report.contains( "java8-annotations.jar\", \"timeMillis\": " ) );
+        assertTrue( report, report.contains( "\"entries\": 2, \"classesVisited\": 2, \"classesWithAnnotations\": 2" ) );
+    }
+
+    @Test
+    public void testSharedScanCacheInSession() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+        MavenExecutionRequest executionRequest = mock( MavenExecutionRequest.class );
+
+        // two modules depending on the same archive
+        Artifact dependency1 = mockArtifact( "target/test-classes/java8-annotations.jar" );
+        Artifact dependency2 = mockArtifact( "target/test-classes/java8-annotations.jar" );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setDependencies( Collections.singleton( dependency1 ) );
+        request.setProject( new MavenProject() );
+        request.setSession( mockSession( executionRequest ) );
+        Map<String, MojoAnnotatedClass> scanned = scanner.scan( request );
+
+        // each module gets its own clone of the session
+        request.setSession( mockSession( executionRequest ) );
+        request.setDependencies( Collections.singleton( dependency2 ) );
+        File reportFile = new File( temporaryFolder.getRoot(), "report.json" );
+        request.setReportFile( reportFile );
+        Map<String, MojoAnnotatedClass> shared = scanner.scan( request );
+
+        assertEquals( toStrings( scanned ), toStrings( shared ) );
+        String report = FileUtils.fileRead( reportFile, "UTF-8" );
+        assertTrue( report, report.contains( "\"cached\": true" ) );
+
+        // each module gets its own classes, bound to its own artifact
+        for ( String className : scanned.keySet() )
+        {
+            assertNotSame( scanned.get( className ), shared.get( className ) );
+            assertSame( dependency1, scanned.get( className ).getArtifact() );
+            assertSame( dependency2, shared.get( className ).getArtifact() );
+        }
+    }
+
+    @Test
+    public void testPurgeScanCacheOncePerSession() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+        MavenExecutionRequest executionRequest = mock( MavenExecutionRequest.class );
+
+        File cacheDirectory = temporaryFolder.newFolder( "cache" );
+        File staleEntry = new File( cacheDirectory, "org.example/old/1.0/old-1.0.jar.scan" );
+        File javadocEntry = new File( cacheDirectory, "org.example/old/1.0/old-1.0-sources.javadoc" );
+        File missingSources = new File( cacheDirectory, "missing-sources.properties" );
+        for ( File file : Arrays.asList( staleEntry, javadocEntry, missingSources ) )
+        {
+            file.getParentFile().mkdirs();
+            FileUtils.fileWrite( file, "UTF-8", "stale" );
+        }
+        File entry = new File( cacheDirectory, "org.apache.maven.plugin-tools/java8-annotations/1.0/"
+            + "java8-annotations-1.0.jar.scan" );
+
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setDependencies( Collections.singleton( newJava8AnnotationsArtifact() ) );
+        request.setProject( new MavenProject() );
+        request.setSession( mockSession( executionRequest ) );
+        request.setCacheDirectory( cacheDirectory );
+        request.setPurgeCache( true );
+        scanner.scan( request );
+
+        // only the entries of the scanner are purged
+        assertFalse( staleEntry.exists() );
+        assertTrue( javadocEntry.isFile() );
+        assertTrue( missingSources.isFile() );
+        assertTrue( entry.isFile() );
+
+        // another module of the session keeps the entries stored by the previous ones
+        request.setSession( mockSession( executionRequest ) );
+        request.setDependencies( Collections.singleton( newJava8AnnotationsArtifact() ) );
+        scanner.scan( request );
+        assertTrue( entry.isFile() );
+    }
+
+    @Test
+    public void testMojoAnnotationsIndex() throws Exception
+    {
+        scanner.enableLogging( mock( Logger.class ) );
+
+        // classes of the upstream plugin, with javadoc populated by its extractor
+        Map<String, MojoAnnotatedClass> upstreamClasses =
+            scanner.scanDirectory( new File( "target/test-classes" ),
+                                   Arrays.asList( "**/FooMojo.class", "**/AbstractFooMojo.class" ), null, false );
+        MojoAnnotatedClass fooMojo = upstreamClasses.get( FooMojo.class.getName() );
+        fooMojo.getMojo().setDescription( "Foo mojo." );
+        fooMojo.getParameters().get( "bar" ).setDescription( "The bar." );
+        fooMojo.getParameters().get( "bar" ).setSince( "1.1" );
+        fooMojo.getComponents().get( "compilerManager" ).setDeprecated( "use another compiler" );
+
+        File indexFile = temporaryFolder.newFile( "mojo-annotations.idx" );
+        MojoAnnotationsIndex.write( indexFile, upstreamClasses.values() );
+
+        // the upstream plugin jar only contains the index: its bytecode is not scanned
+        File jar = temporaryFolder.newFile( "upstream-maven-plugin.jar" );
+        try ( ZipOutputStream out = new ZipOutputStream( new FileOutputStream( jar ) ) )
+        {
+            out.putNextEntry( new ZipEntry( MojoAnnotationsIndex.getPath( "org.example", "upstream-maven-plugin" ) ) );
+            out.write( Files.readAllBytes( indexFile.toPath() ) );
+            out.closeEntry();
+        }
+        Artifact upstream = new DefaultArtifact( "org.example", "upstream-maven-plugin", "1.0",
+                                                 Artifact.SCOPE_COMPILE, "maven-plugin", null,
+                                                 new DefaultArtifactHandler( "maven-plugin" ) );
+        upstream.setFile( jar );
+
+        Map<String, MojoAnnotatedClass> indexedClasses = scanner.scanArchive( jar, upstream, true );
+
+        assertEquals( upstreamClasses.keySet(), indexedClasses.keySet() );
+        MojoAnnotatedClass indexedFooMojo = indexedClasses.get( FooMojo.class.getName() );
+        assertTrue( indexedFooMojo.isIndexed() );
+        assertSame( upstream, indexedFooMojo.getArtifact() );
+        // mojo annotations of dependencies are excluded, as with a bytecode scan
+        assertNull( indexedFooMojo.getMojo() );
+        assertEquals( "The bar.", indexedFooMojo.getParameters().get( "bar" ).getDescription() );
+        assertEquals( "1.1", indexedFooMojo.getParameters().get( "bar" ).getSince() );
+        assertEquals( "coolbar", indexedFooMojo.getParameters().get( "bar" ).defaultValue() );
+        assertEquals( "use another compiler",
+                      indexedFooMojo.getComponents().get( "compilerManager" ).getDeprecated() );
+
+        // a dependency without coordinates has no index
+        assertTrue( scanner.scanArchive( jar, null, true ).isEmpty() );
+    }
+
+    private static Artifact newJava8AnnotationsArtifact()
+    {
+        Artifact artifact = new DefaultArtifact( "org.apache.maven.plugin-tools", "java8-annotations", "1.0",
+                                                 Artifact.SCOPE_COMPILE, "jar", null,
+                                                 new DefaultArtifactHandler( "jar" ) );
+        artifact.setFile( new File( "target/test-classes/java8-annotations.jar" ) );
+        return artifact;
+    }
+
+    private static MavenSession mockSession( MavenExecutionRequest executionRequest )
+    {
+        MavenSession session = mock( MavenSession.class );
+        when( session.getRequest() ).thenReturn( executionRequest );
+        return session;
+    }
+
+    private static Artifact mockArtifact( String file )
+    {
+        Artifact artifact = mock( Artifact.class );
+        when( artifact.getFile() ).thenReturn( new File( file ) );
+        return artifact;
+    }
+
+    private static Map<String, String> toStrings( Map<String, MojoAnnotatedClass> mojoAnnotatedClasses )
+    {
+        Map<String, String> result = new TreeMap<>();
+        for ( Map.Entry<String, MojoAnnotatedClass> entry : mojoAnnotatedClasses.entrySet() )
+        {
+            // parameters and components maps are lazily created
+            entry.getValue().getParameters();
+            entry.getValue().getComponents();
+            result.put( entry.getKey(), entry.getValue().toString() );
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,128 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.tools.plugin.extractor.annotations.datamodel.MojoAnnotationContent;
+import org.junit.Test;
+
+public class MojoAnnotatedClassMapTest
+{
+    @Test
+    public void testMapContract()
+        throws Exception
+    {
+        Artifact artifact = mock( Artifact.class );
+        Map<String, MojoAnnotatedClass> expected = new HashMap<>();
+        Map<String, MojoAnnotatedClass> map = new MojoAnnotatedClassMap();
+
+        // enough classes to grow the tables
+        for ( int i = 0; i < 1000; i++ )
+        {
+            MojoAnnotatedClass mojoAnnotatedClass = newClass( "p.C" + i, i > 0 ? "p.C" + ( i - 1 ) : null, artifact );
+            if ( i % 100 == 0 )
+            {
+                mojoAnnotatedClass.setMojo( new MojoAnnotationContent() );
+            }
+            expected.put( mojoAnnotatedClass.getClassName(), mojoAnnotatedClass );
+            map.put( mojoAnnotatedClass.getClassName(), mojoAnnotatedClass );
+        }
+
+        assertEquals( expected.size(), map.size() );
+        assertEquals( expected.keySet(), map.keySet() );
+        for ( MojoAnnotatedClass mojoAnnotatedClass : expected.values() )
+        {
+            MojoAnnotatedClass actual = map.get( mojoAnnotatedClass.getClassName() );
+            assertEquals( mojoAnnotatedClass.toString(), actual.toString() );
+            assertSame( artifact, actual.getArtifact() );
+        }
+
+        // annotated classes are kept as is
+        assertSame( expected.get( "p.C100" ), map.get( "p.C100" ) );
+
+        // a superclass name is not a key
+        map.put( "p.D", newClass( "p.D", "p.Unknown", null ) );
+        assertFalse( map.containsKey( "p.Unknown" ) );
+        assertNull( map.get( "p.Unknown" ) );
+        assertEquals( 1001, map.size() );
+
+        // override an annotated class with a class without annotations
+        map.put( "p.C100", newClass( "p.C100", "p.D", null ) );
+        assertNull( map.get( "p.C100" ).getMojo() );
+        assertEquals( "p.D", map.get( "p.C100" ).getParentClassName() );
+
+        Map<String, MojoAnnotatedClass> copy = new MojoAnnotatedClassMap();
+        copy.putAll( map );
+        assertEquals( map.keySet(), copy.keySet() );
+        assertEquals( "p.D", copy.get( "p.C100" ).getParentClassName() );
+
+        // indexed flag of a compact entry, kept through a copy and a serialization round trip
+        MojoAnnotatedClass indexedClass = newClass( "p.E", "p.D", artifact );
+        indexedClass.setIndexed( true );
+        map.put( "p.E", indexedClass );
+        assertTrue( map.get( "p.E" ).isIndexed() );
+        assertFalse( map.get( "p.D" ).isIndexed() );
+        copy = new MojoAnnotatedClassMap();
+        copy.putAll( map );
+        assertTrue( copy.get( "p.E" ).isIndexed() );
+        assertFalse( copy.get( "p.D" ).isIndexed() );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MojoAnnotationsScanCache.writeClasses( new DataOutputStream( bytes ), map );
+        Map<String, MojoAnnotatedClass> read = MojoAnnotationsScanCache.readClasses(
+            new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ), artifact );
+        assertTrue( read.get( "p.E" ).isIndexed() );
+        assertFalse( read.get( "p.D" ).isIndexed() );
+        read = MojoAnnotationsScanCache.readClasses(
+            new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ), artifact, true );
+        assertTrue( read.get( "p.D" ).isIndexed() );
+        map.remove( "p.E" );
+
+        assertTrue( map.keySet().retainAll( expected.keySet() ) );
+        assertEquals( 1000, map.size() );
+        assertNull( map.remove( "p.D" ) );
+        assertEquals( "p.C41", map.remove( "p.C42" ).getParentClassName() );
+        assertFalse( map.containsKey( "p.C42" ) );
+        assertEquals( 999, map.size() );
+    }
+
+    private static MojoAnnotatedClass newClass( String className, String parentClassName, Artifact artifact )
+    {
+        MojoAnnotatedClass mojoAnnotatedClass = new MojoAnnotatedClass();
+        mojoAnnotatedClass.setClassName( className );
+        mojoAnnotatedClass.setParentClassName( parentClassName );
+        mojoAnnotatedClass.setArtifact( artifact );
+        return mojoAnnotatedClass;
+    }
+}
@@ -21,11 +21,15 @@ package org.apache.maven.tools.plugin;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.extractor.ExtractionListener;
+import org.apache.maven.tools.plugin.extractor.JavaSourceModel;
 import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.StringUtils;
 
+import java.io.File;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -58,6 +62,38 @@ public class DefaultPluginToolsRequest
 
     private ArtifactRepository local;
 
+    private int scanThreads = 1;
+
+    private File scanCacheDirectory;
+
+    private boolean purgeScanCache;
+
+    private boolean incrementalScan;
+
+    private boolean lazyDependencyScan;
+
+    private List<String> dependencyPackageIncludes;
+
+    private List<String> dependencyPackageExcludes;
+
+    private boolean scanReport;
+
+    private MavenSession session;
+
+    private boolean mojoAnnotationsIndex;
+
+    private boolean targetedJavadocScan;
+
+    private boolean javadocCache;
+
+    private int missingSourcesCacheTtl;
+
+    private boolean parallelExtractors;
+
+    private JavaSourceModel javaSourceModel = new JavaSourceModel();
+
+    private ExtractionListener extractionListener;
+
     public DefaultPluginToolsRequest( MavenProject project, PluginDescriptor pluginDescriptor )
     {
         this.project = project;
@@ -176,4 +212,180 @@ public class DefaultPluginToolsRequest
         this.local = local;
         return this;
     }
+
+    public int getScanThreads()
+    {
+        return scanThreads;
+    }
+
+    public PluginToolsRequest setScanThreads( int scanThreads )
+    {
+        this.scanThreads = scanThreads;
+        return this;
+    }
+
+    public File getScanCacheDirectory()
+    {
+        return scanCacheDirectory;
+    }
+
+    public PluginToolsRequest setScanCacheDirectory( File scanCacheDirectory )
+    {
+        this.scanCacheDirectory = scanCacheDirectory;
+        return this;
+    }
+
+    public boolean isPurgeScanCache()
+    {
+        return purgeScanCache;
+    }
+
+    public PluginToolsRequest setPurgeScanCache( boolean purgeScanCache )
+    {
+        this.purgeScanCache = purgeScanCache;
+        return this;
+    }
+
+    public boolean isIncrementalScan()
+    {
+        return incrementalScan;
+    }
+
+    public PluginToolsRequest setIncrementalScan( boolean incrementalScan )
+    {
+        this.incrementalScan = incrementalScan;
+        return this;
+    }
+
+    public boolean isLazyDependencyScan()
+    {
+        return lazyDependencyScan;
+    }
+
+    public PluginToolsRequest setLazyDependencyScan( boolean lazyDependencyScan )
+    {
+        this.lazyDependencyScan = lazyDependencyScan;
+        return this;
+    }
+
+    public List<String> getDependencyPackageIncludes()
+    {
+        return dependencyPackageIncludes;
+    }
+
+    public PluginToolsRequest setDependencyPackageIncludes( List<String> dependencyPackageIncludes )
+    {
+        this.dependencyPackageIncludes = dependencyPackageIncludes;
+        return this;
+    }
+
+    public List<String> getDependencyPackageExcludes()
+    {
+        return dependencyPackageExcludes;
+    }
+
+    public PluginToolsRequest setDependencyPackageExcludes( List<String> dependencyPackageExcludes )
+    {
+        this.dependencyPackageExcludes = dependencyPackageExcludes;
+        return this;
+    }
+
+    public boolean isScanReport()
+    {
+        return scanReport;
+    }
+
+    public PluginToolsRequest setScanReport( boolean scanReport )
+    {
+        this.scanReport = scanReport;
+        return this;
+    }
+
+    public MavenSession getSession()
+    {
+        return session;
+    }
+
+    public PluginToolsRequest setSession( MavenSession session )
+    {
+        this.session = session;
+        return this;
+    }
+
+    public boolean isMojoAnnotationsIndex()
+    {
+        return mojoAnnotationsIndex;
+    }
+
+    public PluginToolsRequest setMojoAnnotationsIndex( boolean mojoAnnotationsIndex )
+    {
+        this.mojoAnnotationsIndex = mojoAnnotationsIndex;
+        return this;
+    }
+
+    public boolean isTargetedJavadocScan()
+    {
+        return targetedJavadocScan;
+    }
+
+    public PluginToolsRequest setTargetedJavadocScan( boolean targetedJavadocScan )
+    {
+        this.targetedJavadocScan = targetedJavadocScan;
+        return this;
+    }
+
+    public boolean isJavadocCache()
+    {
+        return javadocCache;
+    }
+
+    public PluginToolsRequest setJavadocCache( boolean javadocCache )
+    {
+        this.javadocCache = javadocCache;
+        return this;
+    }
+
+    public int getMissingSourcesCacheTtl()
+    {
+        return missingSourcesCacheTtl;
+    }
+
+    public PluginToolsRequest setMissingSourcesCacheTtl( int missingSourcesCacheTtl )
+    {
+        this.missingSourcesCacheTtl = missingSourcesCacheTtl;
+        return this;
+    }
+
+    public boolean isParallelExtractors()
+    {
+        return parallelExtractors;
+    }
+
+    public PluginToolsRequest setParallelExtractors( boolean parallelExtractors )
+    {
+        this.parallelExtractors = parallelExtractors;
+        return this;
+    }
+
+    public JavaSourceModel getJavaSourceModel()
+    {
+        return javaSourceModel;
+    }
+
+    public PluginToolsRequest setJavaSourceModel( JavaSourceModel javaSourceModel )
+    {
+        this.javaSourceModel = javaSourceModel;
+        return this;
+    }
+
+    public ExtractionListener getExtractionListener()
+    {
+        return extractionListener;
+    }
+
+    public PluginToolsRequest setExtractionListener( ExtractionListener extractionListener )
+    {
+        this.extractionListener = extractionListener;
+        return this;
+    }
 }
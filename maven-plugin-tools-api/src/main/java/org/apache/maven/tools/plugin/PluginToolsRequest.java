@@ -21,9 +21,13 @@ package org.apache.maven.tools.plugin;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.extractor.ExtractionListener;
+import org.apache.maven.tools.plugin.extractor.JavaSourceModel;
 
+import java.io.File;
 import java.util.List;
 import java.util.Set;
 
@@ -140,4 +144,239 @@ public interface PluginToolsRequest
      */
     PluginToolsRequest setLocal( ArtifactRepository local );
 
+    /**
+     * Gets the number of threads used to scan dependencies and classes directories for annotations.
+     *
+     * @return the number of scan threads, <code>1</code> for a sequential scan
+     * @since 3.6.1
+     */
+    int getScanThreads();
+
+    /**
+     * @param scanThreads the number of scan threads, values lower than <code>2</code> mean a sequential scan
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setScanThreads( int scanThreads );
+
+    /**
+     * Gets the directory where the results of dependencies scans are cached between builds.
+     *
+     * @return the scan cache directory, or <code>null</code> if scan results are not cached
+     * @since 3.6.1
+     */
+    File getScanCacheDirectory();
+
+    /**
+     * @param scanCacheDirectory the scan cache directory, <code>null</code> to disable caching
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setScanCacheDirectory( File scanCacheDirectory );
+
+    /**
+     * @return <code>true</code> if the dependencies scan results cached in the {@link #getScanCacheDirectory() scan
+     * cache directory} should be deleted before the first scan of the session
+     * @since 3.6.1
+     */
+    boolean isPurgeScanCache();
+
+    /**
+     * @param purgeScanCache <code>true</code> to delete the cached dependencies scan results before the first scan of
+     * the session
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setPurgeScanCache( boolean purgeScanCache );
+
+    /**
+     * @return <code>true</code> if the scan of the project classes should only analyze classes added or modified
+     * since the previous scan
+     * @since 3.6.1
+     */
+    boolean isIncrementalScan();
+
+    /**
+     * @param incrementalScan <code>true</code> to only analyze project classes changed since the previous scan
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setIncrementalScan( boolean incrementalScan );
+
+    /**
+     * @return <code>true</code> if only the dependency classes that are ancestors of project classes should be
+     * analyzed, instead of every class of every dependency
+     * @since 3.6.1
+     */
+    boolean isLazyDependencyScan();
+
+    /**
+     * @param lazyDependencyScan <code>true</code> to only analyze the dependency classes that are ancestors of project
+     * classes
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setLazyDependencyScan( boolean lazyDependencyScan );
+
+    /**
+     * Gets the packages of dependencies classes to scan for Mojo annotations, as package names where <code>*</code>
+     * matches part of a package name segment and <code>**</code> any number of segments.
+     *
+     * @return the included packages, <code>null</code> or empty to scan all packages
+     * @since 3.6.1
+     */
+    List<String> getDependencyPackageIncludes();
+
+    /**
+     * @param dependencyPackageIncludes the packages of dependencies classes to scan
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setDependencyPackageIncludes( List<String> dependencyPackageIncludes );
+
+    /**
+     * Gets the packages of dependencies classes not to scan for Mojo annotations, with the same syntax as
+     * {@link #getDependencyPackageIncludes()}.
+     *
+     * @return the excluded packages, <code>null</code> or empty to exclude none
+     * @since 3.6.1
+     */
+    List<String> getDependencyPackageExcludes();
+
+    /**
+     * @param dependencyPackageExcludes the packages of dependencies classes not to scan
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setDependencyPackageExcludes( List<String> dependencyPackageExcludes );
+
+    /**
+     * @return <code>true</code> if the statistics of the scan of each dependency and classes directory should be
+     * written to a JSON report in the build directory
+     * @since 3.6.1
+     */
+    boolean isScanReport();
+
+    /**
+     * @param scanReport <code>true</code> to write the scan statistics to a JSON report in the build directory
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setScanReport( boolean scanReport );
+
+    /**
+     * @return the current session, used to share dependency scan results between the modules of a build; may be
+     * <code>null</code>
+     * @since 3.6.1
+     */
+    MavenSession getSession();
+
+    /**
+     * @param session the current session, used to share dependency scan results between the modules of a build
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setSession( MavenSession session );
+
+    /**
+     * @return <code>true</code> if an index of the mojo annotations of the project classes, with their javadoc
+     * content, should be written to the classes directory, for plugins extending the mojos of this plugin
+     * @since 3.6.1
+     */
+    boolean isMojoAnnotationsIndex();
+
+    /**
+     * @param mojoAnnotationsIndex <code>true</code> to write an index of the mojo annotations of the project classes
+     * to the classes directory
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setMojoAnnotationsIndex( boolean mojoAnnotationsIndex );
+
+    /**
+     * @return <code>true</code> if only the source files of classes with Mojo annotations and of their ancestors
+     * should be parsed to read javadoc, instead of every source file
+     * @since 3.6.1
+     */
+    boolean isTargetedJavadocScan();
+
+    /**
+     * @param targetedJavadocScan <code>true</code> to only parse the source files of classes with Mojo annotations
+     * and of their ancestors
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setTargetedJavadocScan( boolean targetedJavadocScan );
+
+    /**
+     * @return <code>true</code> if the javadoc content of sources should be cached between builds, and only read
+     * again from the sources when they changed
+     * @since 3.6.1
+     */
+    boolean isJavadocCache();
+
+    /**
+     * @param javadocCache <code>true</code> to cache the javadoc content of sources between builds
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setJavadocCache( boolean javadocCache );
+
+    /**
+     * @return how long, in minutes, a sources artifact found missing is not resolved again, when a
+     * {@link #getScanCacheDirectory() scan cache directory} is set; <code>0</code> to always resolve it
+     * @since 3.6.1
+     */
+    int getMissingSourcesCacheTtl();
+
+    /**
+     * @param missingSourcesCacheTtl how long, in minutes, a sources artifact found missing is not resolved again
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setMissingSourcesCacheTtl( int missingSourcesCacheTtl );
+
+    /**
+     * @return <code>true</code> if the mojo descriptor extractors should run concurrently; their descriptors are
+     * still added to the plugin descriptor in the order of a sequential run
+     * @since 3.6.1
+     */
+    boolean isParallelExtractors();
+
+    /**
+     * @param parallelExtractors <code>true</code> to run the mojo descriptor extractors concurrently
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setParallelExtractors( boolean parallelExtractors );
+
+    /**
+     * Gets the Java sources parsed for this request, shared by the extractors so that each source tree is parsed
+     * once.
+     *
+     * @return the parsed sources, not null
+     * @since 3.6.1
+     */
+    JavaSourceModel getJavaSourceModel();
+
+    /**
+     * @param javaSourceModel the parsed sources to share, for example with another request on the same project
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setJavaSourceModel( JavaSourceModel javaSourceModel );
+
+    /**
+     * @return the listener notified of the extractors and of their phases, or <code>null</code>
+     * @since 3.6.1
+     */
+    ExtractionListener getExtractionListener();
+
+    /**
+     * @param extractionListener the listener notified of the extractors and of their phases, <code>null</code> for
+     * none
+     * @return This request.
+     * @since 3.6.1
+     */
+    PluginToolsRequest setExtractionListener( ExtractionListener extractionListener );
 }
@@ -21,6 +21,7 @@ package org.apache.maven.tools.plugin.extractor;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -41,7 +42,7 @@ import org.codehaus.plexus.util.StringUtils;
  */
 public abstract class AbstractScriptedMojoDescriptorExtractor
     extends AbstractLogEnabled
-    implements MojoDescriptorExtractor
+    implements ApplicableMojoDescriptorExtractor
 {
     /** {@inheritDoc} */
     public List<MojoDescriptor> execute( PluginToolsRequest request )
@@ -58,18 +59,21 @@ public abstract class AbstractScriptedMojoDescriptorExtractor
             gatherFilesByBasedir( project.getBasedir(), project.getScriptSourceRoots(), scriptExtension, request );
 
         List<MojoDescriptor> mojoDescriptors;
-        if ( !StringUtils.isEmpty( metadataExtension ) )
+        try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.DESCRIPTOR_BUILD ) )
         {
-            @SuppressWarnings( "unchecked" )
-            Map<String, Set<File>> metadataFilesKeyedByBasedir =
-                gatherFilesByBasedir( project.getBasedir(), project.getScriptSourceRoots(), metadataExtension,
-                                      request );
+            if ( !StringUtils.isEmpty( metadataExtension ) )
+            {
+                @SuppressWarnings( "unchecked" )
+                Map<String, Set<File>> metadataFilesKeyedByBasedir =
+                    gatherFilesByBasedir( project.getBasedir(), project.getScriptSourceRoots(), metadataExtension,
+                                          request );
 
-            mojoDescriptors = extractMojoDescriptorsFromMetadata( metadataFilesKeyedByBasedir, request );
-        }
-        else
-        {
-            mojoDescriptors = extractMojoDescriptors( scriptFilesKeyedByBasedir, request );
+                mojoDescriptors = extractMojoDescriptorsFromMetadata( metadataFilesKeyedByBasedir, request );
+            }
+            else
+            {
+                mojoDescriptors = extractMojoDescriptors( scriptFilesKeyedByBasedir, request );
+            }
         }
 
         copyScriptsToOutputDirectory( scriptFilesKeyedByBasedir, project.getBuild().getOutputDirectory(), request );
@@ -77,6 +81,40 @@ public abstract class AbstractScriptedMojoDescriptorExtractor
         return mojoDescriptors;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Applicable when a script source root contains a script or metadata file.
+     * </p>
+     */
+    public boolean isApplicable( PluginToolsRequest request )
+    {
+        MavenProject project = request.getProject();
+        @SuppressWarnings( "unchecked" )
+        List<String> scriptSourceRoots = project.getScriptSourceRoots();
+
+        List<String> extensions = new ArrayList<>();
+        extensions.add( getScriptFileExtension( request ) );
+        if ( !StringUtils.isEmpty( getMetadataFileExtension( request ) ) )
+        {
+            extensions.add( getMetadataFileExtension( request ) );
+        }
+
+        for ( String extension : extensions )
+        {
+            for ( Set<File> files : gatherFilesByBasedir( project.getBasedir(), scriptSourceRoots, extension, request )
+                .values() )
+            {
+                if ( !files.isEmpty() )
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * @param scriptFilesKeyedByBasedir not null
      * @param outputDirectory not null
@@ -0,0 +1,41 @@
+package org.apache.maven.tools.plugin.extractor;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+
+/**
+ * A {@link MojoDescriptorExtractor} able to tell cheaply, before the extraction, whether the project has any input it
+ * could find mojo descriptors in. Extractors not implementing this interface are always run.
+ *
+ * @since 3.6.1
+ */
+public interface ApplicableMojoDescriptorExtractor
+    extends MojoDescriptorExtractor
+{
+    /**
+     * Cheap check, run before the extraction, of whether the project has any input this extractor could find mojo
+     * descriptors in. Extractors that are not applicable are skipped.
+     *
+     * @param request The {@link PluginToolsRequest} containing information for the extraction process.
+     * @return <code>false</code> only if {@link #execute(PluginToolsRequest)} could not find any mojo descriptor
+     */
+    boolean isApplicable( PluginToolsRequest request );
+}
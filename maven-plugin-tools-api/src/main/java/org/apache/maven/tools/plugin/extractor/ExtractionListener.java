@@ -0,0 +1,72 @@
+package org.apache.maven.tools.plugin.extractor;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Listener of the lifecycle of a mojo descriptors extraction, notified by the {@link
+ * org.apache.maven.tools.plugin.scanner.MojoScanner MojoScanner} around each extractor and by the extractors around
+ * each phase of their extraction, for example to measure their duration. Extractors may run concurrently, so
+ * implementations must be thread safe.
+ *
+ * @see org.apache.maven.tools.plugin.PluginToolsRequest#setExtractionListener(ExtractionListener)
+ * @since 3.6.1
+ */
+public interface ExtractionListener
+{
+    /** Scan of the classes for Mojo annotations. */
+    String ANNOTATION_SCAN = "annotation-scan";
+
+    /** Parse of the sources for javadoc content and tags. */
+    String JAVADOC_SCAN = "javadoc-scan";
+
+    /** Build of the mojo descriptors from the scanned content. */
+    String DESCRIPTOR_BUILD = "descriptor-build";
+
+    /** Validation of the built mojo descriptors. */
+    String VALIDATION = "validation";
+
+    /**
+     * @param extractorId the id of the extractor
+     * @param extractor the extractor about to run
+     */
+    void extractorStarted( String extractorId, MojoDescriptorExtractor extractor );
+
+    /**
+     * @param extractor the running extractor
+     * @param phase the phase, one of the constants of this interface or a phase specific to the extractor
+     */
+    void phaseStarted( MojoDescriptorExtractor extractor, String phase );
+
+    /**
+     * @param extractor the running extractor
+     * @param phase the ended phase
+     * @param durationNanos the duration of the phase, in nanoseconds
+     */
+    void phaseEnded( MojoDescriptorExtractor extractor, String phase, long durationNanos );
+
+    /**
+     * @param extractorId the id of the extractor
+     * @param extractor the extractor that ran
+     * @param mojoDescriptors the number of mojo descriptors found, <code>-1</code> if the extraction failed
+     * @param durationNanos the duration of the extraction, in nanoseconds
+     */
+    void extractorEnded( String extractorId, MojoDescriptorExtractor extractor, int mojoDescriptors,
+                         long durationNanos );
+}
@@ -0,0 +1,79 @@
+package org.apache.maven.tools.plugin.extractor;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+
+/**
+ * A phase of an extraction, notified to the {@link ExtractionListener} of the request when it starts and when it is
+ * closed. Meant for try-with-resources blocks:
+ * <pre>
+ * try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.JAVADOC_SCAN ) )
+ * {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @since 3.6.1
+ */
+public final class ExtractionPhase
+    implements AutoCloseable
+{
+    private final ExtractionListener listener;
+
+    private final MojoDescriptorExtractor extractor;
+
+    private final String phase;
+
+    private final long startNanos = System.nanoTime();
+
+    private ExtractionPhase( ExtractionListener listener, MojoDescriptorExtractor extractor, String phase )
+    {
+        this.listener = listener;
+        this.extractor = extractor;
+        this.phase = phase;
+    }
+
+    /**
+     * @param request the extraction request, possibly without listener
+     * @param extractor the running extractor
+     * @param phase the starting phase
+     * @return the started phase, to close when it ends
+     */
+    public static ExtractionPhase start( PluginToolsRequest request, MojoDescriptorExtractor extractor,
+                                         String phase )
+    {
+        ExtractionListener listener = request.getExtractionListener();
+        if ( listener != null )
+        {
+            listener.phaseStarted( extractor, phase );
+        }
+        return new ExtractionPhase( listener, extractor, phase );
+    }
+
+    @Override
+    public void close()
+    {
+        if ( listener != null )
+        {
+            listener.phaseEnded( extractor, phase, System.nanoTime() - startNanos );
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.apache.maven.tools.plugin.extractor;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.tools.plugin.util.DataFileUtils;
+
+/**
+ * {@link ExtractionListener} recording the duration of each extractor and of each of its phases, written as a JSON
+ * report. Durations of a phase run several times by an extractor are summed.
+ *
+ * @since 3.6.1
+ */
+public class ExtractionTimingReport
+    implements ExtractionListener
+{
+    private final Map<MojoDescriptorExtractor, ExtractorTiming> timings = new IdentityHashMap<>();
+
+    /**
+     * timings in extractors start order
+     */
+    private final List<ExtractorTiming> orderedTimings = new ArrayList<>();
+
+    private static final class ExtractorTiming
+    {
+        private final String extractorId;
+
+        private long nanos;
+
+        private int mojoDescriptors = -1;
+
+        private final Map<String, Long> phases = new LinkedHashMap<>();
+
+        ExtractorTiming( String extractorId )
+        {
+            this.extractorId = extractorId;
+        }
+    }
+
+    private ExtractorTiming getTiming( String extractorId, MojoDescriptorExtractor extractor )
+    {
+        ExtractorTiming timing = timings.get( extractor );
+        if ( timing == null )
+        {
+            timing = new ExtractorTiming( extractorId != null ? extractorId : extractor.getClass().getName() );
+            timings.put( extractor, timing );
+            orderedTimings.add( timing );
+        }
+        return timing;
+    }
+
+    /**
+     * Register the extractor, so that the report lists extractors in the order they started.
+     *
+     * @param extractorId the id of the extractor
+     * @param extractor the extractor about to run
+     */
+    public synchronized void extractorStarted( String extractorId, MojoDescriptorExtractor extractor )
+    {
+        getTiming( extractorId, extractor );
+    }
+
+    /**
+     * Does nothing: only the duration notified when the phase ends is recorded.
+     *
+     * @param extractor the running extractor
+     * @param phase the phase
+     */
+    public void phaseStarted( MojoDescriptorExtractor extractor, String phase )
+    {
+        // only durations are recorded
+    }
+
+    /**
+     * Add the duration of the phase to the durations of the phase already recorded for the extractor.
+     *
+     * @param extractor the running extractor
+     * @param phase the ended phase
+     * @param durationNanos the duration of the phase, in nanoseconds
+     */
+    public synchronized void phaseEnded( MojoDescriptorExtractor extractor, String phase, long durationNanos )
+    {
+        ExtractorTiming timing = getTiming( null, extractor );
+        Long nanos = timing.phases.get( phase );
+        timing.phases.put( phase, nanos != null ? nanos + durationNanos : durationNanos );
+    }
+
+    /**
+     * Record the duration of the extractor and the number of mojo descriptors it found.
+     *
+     * @param extractorId the id of the extractor
+     * @param extractor the extractor that ran
+     * @param mojoDescriptors the number of mojo descriptors found, <code>-1</code> if the extraction failed
+     * @param durationNanos the duration of the extraction, in nanoseconds
+     */
+    public synchronized void extractorEnded( String extractorId, MojoDescriptorExtractor extractor,
+                                             int mojoDescriptors, long durationNanos )
+    {
+        ExtractorTiming timing = getTiming( extractorId, extractor );
+        timing.nanos += durationNanos;
+        timing.mojoDescriptors = mojoDescriptors;
+    }
+
+    /**
+     * Write the recorded durations as a JSON object, with extractors in the order they started.
+     *
+     * @param file the JSON file
+     * @throws IOException if the file could not be written
+     */
+    public synchronized void writeJson( File file )
+        throws IOException
+    {
+        DataFileUtils.writeAtomically( file, new DataFileUtils.ContentWriter()
+        {
+            public void write( OutputStream out )
+                throws IOException
+            {
+                Writer writer = new OutputStreamWriter( out, StandardCharsets.UTF_8 );
+                writeJson( writer );
+                writer.flush();
+            }
+        } );
+    }
+
+    private void writeJson( Writer writer )
+        throws IOException
+    {
+        writer.write( "{\"extractors\": [" );
+        String separator = "\n";
+        for ( ExtractorTiming timing : orderedTimings )
+        {
+            writer.write( separator );
+            writer.write( "  {\"id\": \"" + DataFileUtils.escapeJson( timing.extractorId ) + "\", \"timeMillis\": "
+                + toMillis( timing.nanos ) + ", \"mojoDescriptors\": " + timing.mojoDescriptors + ", \"phases\": {" );
+            String phaseSeparator = "";
+            for ( Map.Entry<String, Long> phase : timing.phases.entrySet() )
+            {
+                writer.write( phaseSeparator + "\"" + DataFileUtils.escapeJson( phase.getKey() ) + "\": "
+                    + toMillis( phase.getValue() ) );
+                phaseSeparator = ", ";
+            }
+            writer.write( "}}" );
+            separator = ",\n";
+        }
+        writer.write( "\n]}\n" );
+    }
+
+    private static long toMillis( long nanos )
+    {
+        return TimeUnit.NANOSECONDS.toMillis( nanos );
+    }
+}
@@ -0,0 +1,144 @@
+package org.apache.maven.tools.plugin.extractor;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+
+import com.thoughtworks.qdox.JavaProjectBuilder;
+import com.thoughtworks.qdox.library.SortedClassLibraryBuilder;
+import com.thoughtworks.qdox.model.JavaClass;
+
+/**
+ * Java sources parsed with QDox, shared by the extractors of a {@link PluginToolsRequest} so that each source tree is
+ * parsed once. Source trees are parsed on first use, and the same classes are returned for the same encoding, source
+ * directories and classpath.
+ * <p>
+ * QDox resolves types lazily, so the returned classes must be read while holding the lock of this model.
+ * </p>
+ *
+ * @since 3.6.1
+ */
+public class JavaSourceModel
+{
+    private final Map<List<Object>, Collection<JavaClass>> classes = new HashMap<>();
+
+    /**
+     * Get the classes of the sources of the project of a request, with the dependencies of the request as classpath.
+     * Extractors use it to share a single parse of the project sources.
+     *
+     * @param request the request
+     * @return the classes of the {@link #getSourceDirectories(MavenProject) source directories} of the project
+     */
+    public Collection<JavaClass> getClasses( PluginToolsRequest request )
+    {
+        return getClasses( request.getEncoding(), getSourceDirectories( request.getProject() ),
+                           request.getDependencies() );
+    }
+
+    /**
+     * @param encoding the encoding of the sources
+     * @param sourceDirectories the source directories, missing directories are ignored
+     * @param classpath the artifacts used to resolve the types not found in the sources
+     * @return the classes of the source directories
+     */
+    public synchronized Collection<JavaClass> getClasses( String encoding, List<File> sourceDirectories,
+                                                          Collection<Artifact> classpath )
+    {
+        List<File> existingDirectories = new ArrayList<>( sourceDirectories.size() );
+        for ( File sourceDirectory : sourceDirectories )
+        {
+            if ( sourceDirectory.isDirectory() )
+            {
+                existingDirectories.add( sourceDirectory.getAbsoluteFile() );
+            }
+        }
+
+        List<URL> urls = new ArrayList<>( classpath.size() );
+        for ( Artifact artifact : classpath )
+        {
+            try
+            {
+                urls.add( artifact.getFile().toURI().toURL() );
+            }
+            catch ( MalformedURLException e )
+            {
+                // noop
+            }
+        }
+
+        // URLs as strings: URL#equals resolves host names
+        List<Object> key = Arrays.<Object>asList( encoding, existingDirectories, urls.toString() );
+        Collection<JavaClass> javaClasses = classes.get( key );
+        if ( javaClasses == null )
+        {
+            JavaProjectBuilder builder = new JavaProjectBuilder( new SortedClassLibraryBuilder() );
+            builder.setEncoding( encoding );
+
+            // Build isolated Classloader with only the artifacts of the project (none of this plugin)
+            builder.addClassLoader( new URLClassLoader( urls.toArray( new URL[0] ),
+                                                        ClassLoader.getSystemClassLoader() ) );
+
+            for ( File sourceDirectory : existingDirectories )
+            {
+                builder.addSourceTree( sourceDirectory );
+            }
+
+            javaClasses = builder.getClasses();
+            classes.put( key, javaClasses );
+        }
+        return javaClasses;
+    }
+
+    /**
+     * @param project the project
+     * @return the compile source roots of the project and its generated plugin sources
+     */
+    @SuppressWarnings( "unchecked" )
+    public static List<File> getSourceDirectories( MavenProject project )
+    {
+        List<File> sourceDirectories = new ArrayList<>();
+        for ( String source : (List<String>) project.getCompileSourceRoots() )
+        {
+            sourceDirectories.add( new File( source ) );
+        }
+
+        // TODO be more dynamic
+        File generatedPlugin = new File( project.getBasedir(), "target/generated-sources/plugin" );
+        if ( !project.getCompileSourceRoots().contains( generatedPlugin.getAbsolutePath() ) )
+        {
+            sourceDirectories.add( generatedPlugin );
+        }
+
+        return sourceDirectories;
+    }
+}
@@ -22,17 +22,26 @@ package org.apache.maven.tools.plugin.scanner;
 import org.apache.maven.plugin.descriptor.InvalidPluginDescriptorException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.extractor.ApplicableMojoDescriptorExtractor;
 import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.ExtractionListener;
 import org.apache.maven.tools.plugin.extractor.MojoDescriptorExtractor;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
 import org.codehaus.plexus.logging.Logger;
 import org.codehaus.plexus.logging.console.ConsoleLogger;
 import org.codehaus.plexus.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * @author jdcasey
@@ -80,32 +89,37 @@ public class DefaultMojoScanner
 
         logger.debug( "Using " + activeExtractorsInternal.size() + " mojo extractors." );
 
-        int numMojoDescriptors = 0;
-
+        Map<String, MojoDescriptorExtractor> applicableExtractors = new LinkedHashMap<>();
         for ( String extractorId : activeExtractorsInternal )
         {
-            MojoDescriptorExtractor extractor = mojoDescriptorExtractors.get( extractorId );
+            MojoDescriptorExtractor extractor = getExtractor( extractorId );
 
-            if ( extractor == null )
+            if ( isApplicable( extractor, request ) )
             {
-                throw new ExtractionException( "No mojo extractor with '" + extractorId + "' id." );
+                applicableExtractors.put( extractorId, extractor );
             }
+            else
+            {
+                logger.debug( extractorId + " mojo extractor skipped: no input to extract mojo descriptors from." );
+            }
+        }
 
-            logger.debug( "Applying " + extractorId + " mojo extractor" );
-
-            List<MojoDescriptor> extractorDescriptors = extractor.execute( request );
-
-            logger.info( extractorId + " mojo extractor found " + extractorDescriptors.size()
-                             + " mojo descriptor" + ( extractorDescriptors.size() > 1 ? "s" : "" ) + "." );
-            numMojoDescriptors += extractorDescriptors.size();
+        int numMojoDescriptors = 0;
 
-            for ( MojoDescriptor descriptor : extractorDescriptors )
+        if ( request.isParallelExtractors() && applicableExtractors.size() > 1 )
+        {
+            numMojoDescriptors = populatePluginDescriptorInParallel( request, applicableExtractors );
+        }
+        else
+        {
+            for ( Map.Entry<String, MojoDescriptorExtractor> entry : applicableExtractors.entrySet() )
             {
-                logger.debug( "Adding mojo: " + descriptor + " to plugin descriptor." );
+                String extractorId = entry.getKey();
 
-                descriptor.setPluginDescriptor( request.getPluginDescriptor() );
+                logger.debug( "Applying " + extractorId + " mojo extractor" );
 
-                request.getPluginDescriptor().addMojo( descriptor );
+                numMojoDescriptors +=
+                    addMojoDescriptors( request, extractorId, execute( extractorId, entry.getValue(), request ) );
             }
         }
 
@@ -117,6 +131,148 @@ public class DefaultMojoScanner
         }
     }
 
+    /**
+     * Runs the extractors concurrently, then adds their descriptors in the order of the sequential run. The exception
+     * of the first failing extractor in that order is thrown.
+     */
+    private int populatePluginDescriptorInParallel( final PluginToolsRequest request,
+                                                    Map<String, MojoDescriptorExtractor> extractors )
+        throws ExtractionException, InvalidPluginDescriptorException
+    {
+        Map<String, Callable<List<MojoDescriptor>>> tasks = new LinkedHashMap<>();
+        for ( Map.Entry<String, MojoDescriptorExtractor> entry : extractors.entrySet() )
+        {
+            final String extractorId = entry.getKey();
+            final MojoDescriptorExtractor extractor = entry.getValue();
+            tasks.put( extractorId, new Callable<List<MojoDescriptor>>()
+            {
+                @Override
+                public List<MojoDescriptor> call()
+                    throws ExtractionException, InvalidPluginDescriptorException
+                {
+                    getLogger().debug( "Applying " + extractorId + " mojo extractor" );
+
+                    return execute( extractorId, extractor, request );
+                }
+            } );
+        }
+
+        int numMojoDescriptors = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool( tasks.size() );
+        try
+        {
+            List<Future<List<MojoDescriptor>>> futures =
+                executor.invokeAll( new ArrayList<>( tasks.values() ) );
+
+            int i = 0;
+            for ( String extractorId : tasks.keySet() )
+            {
+                numMojoDescriptors += addMojoDescriptors( request, extractorId, futures.get( i++ ).get() );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException( e.getMessage(), e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof ExtractionException )
+            {
+                throw (ExtractionException) cause;
+            }
+            if ( cause instanceof InvalidPluginDescriptorException )
+            {
+                throw (InvalidPluginDescriptorException) cause;
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new ExtractionException( cause.getMessage(), cause );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return numMojoDescriptors;
+    }
+
+    /**
+     * Runs an extractor, notifying the extraction listener of the request.
+     */
+    private static List<MojoDescriptor> execute( String extractorId, MojoDescriptorExtractor extractor,
+                                                 PluginToolsRequest request )
+        throws ExtractionException, InvalidPluginDescriptorException
+    {
+        ExtractionListener listener = request.getExtractionListener();
+        if ( listener == null )
+        {
+            return extractor.execute( request );
+        }
+
+        listener.extractorStarted( extractorId, extractor );
+        long startNanos = System.nanoTime();
+        int mojoDescriptors = -1;
+        try
+        {
+            List<MojoDescriptor> extractorDescriptors = extractor.execute( request );
+            mojoDescriptors = extractorDescriptors.size();
+            return extractorDescriptors;
+        }
+        finally
+        {
+            listener.extractorEnded( extractorId, extractor, mojoDescriptors, System.nanoTime() - startNanos );
+        }
+    }
+
+    private static boolean isApplicable( MojoDescriptorExtractor extractor, PluginToolsRequest request )
+    {
+        return !( extractor instanceof ApplicableMojoDescriptorExtractor )
+            || ( (ApplicableMojoDescriptorExtractor) extractor ).isApplicable( request );
+    }
+
+    private MojoDescriptorExtractor getExtractor( String extractorId )
+        throws ExtractionException
+    {
+        MojoDescriptorExtractor extractor = mojoDescriptorExtractors.get( extractorId );
+
+        if ( extractor == null )
+        {
+            throw new ExtractionException( "No mojo extractor with '" + extractorId + "' id." );
+        }
+
+        return extractor;
+    }
+
+    private int addMojoDescriptors( PluginToolsRequest request, String extractorId,
+                                    List<MojoDescriptor> extractorDescriptors )
+        throws InvalidPluginDescriptorException
+    {
+        Logger logger = getLogger();
+
+        logger.info( extractorId + " mojo extractor found " + extractorDescriptors.size()
+                         + " mojo descriptor" + ( extractorDescriptors.size() > 1 ? "s" : "" ) + "." );
+
+        for ( MojoDescriptor descriptor : extractorDescriptors )
+        {
+            logger.debug( "Adding mojo: " + descriptor + " to plugin descriptor." );
+
+            descriptor.setPluginDescriptor( request.getPluginDescriptor() );
+
+            request.getPluginDescriptor().addMojo( descriptor );
+        }
+
+        return extractorDescriptors.size();
+    }
+
     /**
      * Gets the name of the active extractors.
      *
@@ -0,0 +1,290 @@
+package org.apache.maven.tools.plugin.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Convenience methods to write and read the data files of the plugin tools: caches, indexes and generated files.
+ *
+ * @since 3.6.1
+ */
+public final class DataFileUtils
+{
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Random RANDOM = new Random();
+
+    private DataFileUtils()
+    {
+        // nop
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    public interface ContentWriter
+    {
+        /**
+         * @param out the stream of the file, closed by the caller
+         * @throws IOException if any
+         */
+        void write( OutputStream out )
+            throws IOException;
+    }
+
+    /**
+     * Write a file through a temporary file in the same directory, then moved in place in one step (atomically,
+     * when supported), so that concurrent builds never read a partially written file. The file gets the default
+     * permissions of a new file, as if written directly.
+     *
+     * @param file the file to write, not null
+     * @param content writes the content of the file
+     * @throws IOException if any
+     */
+    public static void writeAtomically( File file, ContentWriter content )
+        throws IOException
+    {
+        File directory = file.getAbsoluteFile().getParentFile();
+        directory.mkdirs();
+
+        // not Files.createTempFile(), whose owner only permissions would replace the permissions of the file
+        Path tmpFile;
+        OutputStream tmpOut;
+        while ( true )
+        {
+            tmpFile =
+                directory.toPath().resolve( file.getName() + '.' + Long.toHexString( RANDOM.nextLong() ) + ".tmp" );
+            try
+            {
+                tmpOut = Files.newOutputStream( tmpFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE );
+                break;
+            }
+            catch ( FileAlreadyExistsException e )
+            {
+                // concurrent write of the same file: try another name
+            }
+        }
+        try
+        {
+            try ( OutputStream out = tmpOut )
+            {
+                content.write( out );
+            }
+            try
+            {
+                Files.move( tmpFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( tmpFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( tmpFile );
+        }
+    }
+
+    /**
+     * @param file the file to write, not null
+     * @param content the content of the file, not null
+     * @throws IOException if any
+     * @see #writeAtomically(File, ContentWriter)
+     */
+    public static void writeAtomically( File file, final byte[] content )
+        throws IOException
+    {
+        writeAtomically( file, new ContentWriter()
+        {
+            public void write( OutputStream out )
+                throws IOException
+            {
+                out.write( content );
+            }
+        } );
+    }
+
+    /**
+     * Write the content to the file only if it differs from the current content of the file, so that an unchanged
+     * file keeps its timestamp and doesn't trigger downstream work. The file is replaced atomically when supported.
+     *
+     * @param file the file to write, not null
+     * @param content the content of the file, not null
+     * @return <code>true</code> if the file was written, <code>false</code> if it was already up to date
+     * @throws IOException if any
+     */
+    public static boolean writeIfChanged( File file, byte[] content )
+        throws IOException
+    {
+        if ( file.isFile() && file.length() == content.length
+            && Arrays.equals( content, Files.readAllBytes( file.toPath() ) ) )
+        {
+            return false;
+        }
+
+        writeAtomically( file, content );
+        return true;
+    }
+
+    /**
+     * @param value the text, not null
+     * @return the text escaped to be written between the quotes of a JSON string
+     */
+    public static String escapeJson( String value )
+    {
+        StringBuilder escaped = new StringBuilder( value.length() );
+        for ( char c : value.toCharArray() )
+        {
+            if ( c == '"' || c == '\\' )
+            {
+                escaped.append( '\\' ).append( c );
+            }
+            else if ( c < 0x20 )
+            {
+                escaped.append( String.format( "\\u%04x", (int) c ) );
+            }
+            else
+            {
+                escaped.append( c );
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * @return a new SHA-1 digest
+     * @throws IOException if SHA-1 is not available
+     */
+    public static MessageDigest newSha1Digest()
+        throws IOException
+    {
+        try
+        {
+            return MessageDigest.getInstance( "SHA-1" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IOException( e.getMessage(), e );
+        }
+    }
+
+    /**
+     * @param digest not null
+     * @param file the file whose content updates the digest, not null
+     * @throws IOException if the file could not be read
+     */
+    public static void update( MessageDigest digest, File file )
+        throws IOException
+    {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try ( InputStream in = new FileInputStream( file ) )
+        {
+            for ( int n = in.read( buffer ); n >= 0; n = in.read( buffer ) )
+            {
+                digest.update( buffer, 0, n );
+            }
+        }
+    }
+
+    /**
+     * @param file not null
+     * @return the SHA-1 checksum of the file content, as an hexadecimal string
+     * @throws IOException if the file could not be read
+     */
+    public static String checksum( File file )
+        throws IOException
+    {
+        MessageDigest digest = newSha1Digest();
+        update( digest, file );
+        return toHex( digest.digest() );
+    }
+
+    /**
+     * @param bytes not null
+     * @return the bytes as a lower case hexadecimal string
+     */
+    public static String toHex( byte[] bytes )
+    {
+        StringBuilder hex = new StringBuilder( bytes.length * 2 );
+        for ( byte b : bytes )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Write a string which may be <code>null</code> or longer than the 64 KB supported by
+     * {@link DataOutputStream#writeUTF(String)}, as javadoc comments may be.
+     *
+     * @param out not null
+     * @param value the string to write, may be <code>null</code>
+     * @throws IOException if any
+     */
+    public static void writeText( DataOutputStream out, String value )
+        throws IOException
+    {
+        if ( value == null )
+        {
+            out.writeInt( -1 );
+            return;
+        }
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        out.writeInt( bytes.length );
+        out.write( bytes );
+    }
+
+    /**
+     * @param in not null
+     * @return the string written by {@link #writeText(DataOutputStream, String)}, may be <code>null</code>
+     * @throws IOException if any
+     */
+    public static String readText( DataInputStream in )
+        throws IOException
+    {
+        int length = in.readInt();
+        if ( length < 0 )
+        {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully( bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+}
@@ -0,0 +1,66 @@
+package org.apache.maven.tools.plugin.extractor;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.thoughtworks.qdox.model.JavaClass;
+
+public class JavaSourceModelTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSourceTreesParsedOnce()
+        throws IOException
+    {
+        File sources = temporaryFolder.newFolder( "sources" );
+        FileUtils.fileWrite( new File( sources, "Foo.java" ), "UTF-8", "/** Foo. */\npublic class Foo\n{\n}\n" );
+        List<File> sourceDirectories = Arrays.asList( sources, new File( temporaryFolder.getRoot(), "missing" ) );
+
+        JavaSourceModel javaSourceModel = new JavaSourceModel();
+        Collection<JavaClass> javaClasses =
+            javaSourceModel.getClasses( "UTF-8", sourceDirectories, Collections.<Artifact>emptySet() );
+        assertEquals( 1, javaClasses.size() );
+        assertEquals( "Foo.", javaClasses.iterator().next().getComment() );
+
+        // missing directories don't contribute classes
+        assertSame( javaClasses, javaSourceModel.getClasses( "UTF-8", Collections.singletonList( sources ),
+                                                             Collections.<Artifact>emptySet() ) );
+        assertNotSame( javaClasses, javaSourceModel.getClasses( "ISO-8859-1", sourceDirectories,
+                                                                Collections.<Artifact>emptySet() ) );
+    }
+}
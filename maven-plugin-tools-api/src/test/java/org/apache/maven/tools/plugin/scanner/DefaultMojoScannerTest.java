@@ -26,12 +26,19 @@ import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.extractor.ApplicableMojoDescriptorExtractor;
 import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.ExtractionListener;
+import org.apache.maven.tools.plugin.extractor.ExtractionPhase;
+import org.apache.maven.tools.plugin.extractor.ExtractionTimingReport;
 import org.apache.maven.tools.plugin.extractor.MojoDescriptorExtractor;
+import org.codehaus.plexus.util.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -165,6 +172,104 @@ public class DefaultMojoScannerTest
         checkResult( pluginDescriptor, Collections.<String>emptySet() );
     }
 
+    @Test
+    public void testNotApplicableExtractor()
+        throws Exception
+    {
+        extractors.put( "four", new NotApplicableExtractor( "four" ) );
+
+        PluginDescriptor pluginDescriptor = createPluginDescriptor();
+
+        scanner.populatePluginDescriptor( new DefaultPluginToolsRequest( project, pluginDescriptor ) );
+
+        checkResult( pluginDescriptor, Arrays.asList( "one", "two", "three" ) );
+    }
+
+    @Test
+    public void testParallelExtractors()
+        throws Exception
+    {
+        PluginDescriptor sequentialDescriptor = createPluginDescriptor();
+        scanner.populatePluginDescriptor( new DefaultPluginToolsRequest( project, sequentialDescriptor ) );
+
+        PluginDescriptor pluginDescriptor = createPluginDescriptor();
+        scanner.populatePluginDescriptor(
+            new DefaultPluginToolsRequest( project, pluginDescriptor ).setParallelExtractors( true ) );
+
+        checkResult( pluginDescriptor, extractors.keySet() );
+        assertEquals( getGoals( sequentialDescriptor ), getGoals( pluginDescriptor ) );
+    }
+
+    @Test
+    public void testParallelExtractorFailure()
+        throws Exception
+    {
+        extractors.put( "failing", new ScannerTestExtractor( "failing" )
+        {
+            @Override
+            public List<MojoDescriptor> execute( PluginToolsRequest request )
+                throws ExtractionException
+            {
+                throw new ExtractionException( "failing extractor" );
+            }
+        } );
+
+        PluginDescriptor pluginDescriptor = createPluginDescriptor();
+        try
+        {
+            scanner.populatePluginDescriptor(
+                new DefaultPluginToolsRequest( project, pluginDescriptor ).setParallelExtractors( true ) );
+            fail( "Expected exception" );
+        }
+        catch ( ExtractionException e )
+        {
+            assertEquals( "failing extractor", e.getMessage() );
+        }
+    }
+
+    @Test
+    public void testExtractionTimingReport()
+        throws Exception
+    {
+        extractors.put( "phased", new ScannerTestExtractor( "phased" )
+        {
+            @Override
+            public List<MojoDescriptor> execute( PluginToolsRequest request )
+                throws ExtractionException, InvalidPluginDescriptorException
+            {
+                try ( ExtractionPhase phase =
+                    ExtractionPhase.start( request, this, ExtractionListener.DESCRIPTOR_BUILD ) )
+                {
+                    return super.execute( request );
+                }
+            }
+        } );
+
+        ExtractionTimingReport extractionTimingReport = new ExtractionTimingReport();
+        scanner.populatePluginDescriptor( new DefaultPluginToolsRequest( project, createPluginDescriptor() )
+                                              .setExtractionListener( extractionTimingReport ) );
+
+        File reportFile = File.createTempFile( "timing-report", ".json" );
+        reportFile.deleteOnExit();
+        extractionTimingReport.writeJson( reportFile );
+        String report = FileUtils.fileRead( reportFile, "UTF-8" );
+        for ( String extractorId : extractors.keySet() )
+        {
+            assertTrue( report, report.contains( "{\"id\": \"" + extractorId + "\", \"timeMillis\": " ) );
+        }
+        assertTrue( report, report.contains( "\"mojoDescriptors\": 1, \"phases\": {\"descriptor-build\": " ) );
+    }
+
+    private static List<String> getGoals( PluginDescriptor pluginDescriptor )
+    {
+        List<String> goals = new ArrayList<>();
+        for ( MojoDescriptor descriptor : pluginDescriptor.getMojos() )
+        {
+            goals.add( descriptor.getGoal() );
+        }
+        return goals;
+    }
+
     private PluginDescriptor createPluginDescriptor()
     {
         PluginDescriptor pluginDescriptor = new PluginDescriptor();
@@ -204,4 +309,19 @@ public class DefaultMojoScannerTest
         assertEquals( "Expected goals missing from PluginDescriptor: " + remainingGoals, 0, remainingGoals.size() );
     }
 
-}
\ No newline at end of file
+    private static class NotApplicableExtractor
+        extends ScannerTestExtractor
+        implements ApplicableMojoDescriptorExtractor
+    {
+        NotApplicableExtractor( String goal )
+        {
+            super( goal );
+        }
+
+        @Override
+        public boolean isApplicable( PluginToolsRequest request )
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.apache.maven.tools.plugin.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import org.codehaus.plexus.util.FileUtils;
+
+import junit.framework.TestCase;
+
+public class DataFileUtilsTest
+    extends TestCase
+{
+    public void testWriteAtomically()
+        throws Exception
+    {
+        File dir = new File( "target/data-file-utils" );
+        FileUtils.deleteDirectory( dir );
+        File file = new File( dir, "sub/data.bin" );
+
+        DataFileUtils.writeAtomically( file, new byte[] { 1, 2, 3 } );
+        assertEquals( 3, file.length() );
+
+        DataFileUtils.writeAtomically( file, new byte[] { 4 } );
+        assertEquals( 1, file.length() );
+
+        try
+        {
+            DataFileUtils.writeAtomically( file, new DataFileUtils.ContentWriter()
+            {
+                public void write( OutputStream out )
+                    throws IOException
+                {
+                    out.write( 5 );
+                    throw new IOException( "failed" );
+                }
+            } );
+            fail( "IOException expected" );
+        }
+        catch ( IOException e )
+        {
+            assertEquals( "failed", e.getMessage() );
+        }
+        // failed write keeps the previous content and leaves no temporary file
+        assertEquals( 1, file.length() );
+        assertEquals( 1, file.getParentFile().list().length );
+    }
+
+    public void testWriteAtomicallyPermissions()
+        throws Exception
+    {
+        if ( !FileSystems.getDefault().supportedFileAttributeViews().contains( "posix" ) )
+        {
+            return;
+        }
+
+        File dir = new File( "target/data-file-utils-permissions" );
+        FileUtils.deleteDirectory( dir );
+        dir.mkdirs();
+
+        // permissions of a file written directly, from the umask
+        File reference = new File( dir, "reference.bin" );
+        try ( OutputStream out = new FileOutputStream( reference ) )
+        {
+            out.write( 1 );
+        }
+        Set<PosixFilePermission> permissions = Files.getPosixFilePermissions( reference.toPath() );
+
+        File file = new File( dir, "data.bin" );
+        DataFileUtils.writeAtomically( file, new byte[] { 1 } );
+        assertEquals( permissions, Files.getPosixFilePermissions( file.toPath() ) );
+
+        // replaced file
+        DataFileUtils.writeAtomically( file, new byte[] { 2 } );
+        assertEquals( permissions, Files.getPosixFilePermissions( file.toPath() ) );
+    }
+
+    public void testWriteIfChanged()
+        throws Exception
+    {
+        File file = new File( "target/write-if-changed/file.txt" );
+        FileUtils.deleteDirectory( file.getParentFile() );
+
+        assertTrue( DataFileUtils.writeIfChanged( file, "content".getBytes( UTF_8 ) ) );
+        file.setLastModified( 1000L );
+
+        assertFalse( DataFileUtils.writeIfChanged( file, "content".getBytes( UTF_8 ) ) );
+        assertEquals( 1000L, file.lastModified() );
+
+        assertTrue( DataFileUtils.writeIfChanged( file, "content2".getBytes( UTF_8 ) ) );
+        assertEquals( "content2", FileUtils.fileRead( file, "UTF-8" ) );
+        assertEquals( 1, file.getParentFile().list().length );
+    }
+
+    public void testText()
+        throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream( bytes );
+        DataFileUtils.writeText( out, "café" );
+        DataFileUtils.writeText( out, null );
+        DataFileUtils.writeText( out, "" );
+
+        DataInputStream in = new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ) );
+        assertEquals( "café", DataFileUtils.readText( in ) );
+        assertNull( DataFileUtils.readText( in ) );
+        assertEquals( "", DataFileUtils.readText( in ) );
+    }
+
+    public void testEscapeJson()
+    {
+        assertEquals( "C:\\\\a \\\"b\\\" \\u000a\\u0009c", DataFileUtils.escapeJson( "C:\\a \"b\" \n\tc" ) );
+    }
+
+    public void testChecksum()
+        throws Exception
+    {
+        File file = new File( "target/data-file-utils-checksum.txt" );
+        FileUtils.fileWrite( file, "UTF-8", "abc" );
+        assertEquals( "a9993e364706816aba3e25717850c26c9cd0d89d", DataFileUtils.checksum( file ) );
+        assertEquals( "00ff10", DataFileUtils.toHex( new byte[] { 0, -1, 16 } ) );
+    }
+}
@@ -0,0 +1,147 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.descriptor.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.MojoDescriptorExtractor;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.util.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of {@link JavaAnnotationsMojoDescriptorExtractor}: scan of the classes, parsing of the
+ * sources for javadoc and creation of the mojo descriptors of a synthetic plugin. Run with <code>-prof gc</code> to
+ * report the allocation rate along with the throughput.
+ *
+ * @since 3.6.1
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class JavaAnnotationsMojoDescriptorExtractorBenchmark
+{
+    @Param( { "1000" } )
+    private int classes;
+
+    @Param( { "10" } )
+    private int mojos;
+
+    /**
+     * number of fields per class
+     */
+    @Param( { "10" } )
+    private int fields;
+
+    /**
+     * length of inheritance chains
+     */
+    @Param( { "3" } )
+    private int depth;
+
+    private File baseDirectory;
+
+    private DefaultPlexusContainer container;
+
+    private MojoDescriptorExtractor extractor;
+
+    private MavenProject project;
+
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        baseDirectory = Files.createTempDirectory( "java-annotations-extractor" ).toFile();
+        SyntheticPlugin plugin =
+            SyntheticPlugin.generate( baseDirectory, "org.example.plugin", classes, mojos, fields, depth );
+
+        // components are declared in META-INF/plexus/components.xml
+        container = new DefaultPlexusContainer();
+        extractor = container.lookup( MojoDescriptorExtractor.class, "java-annotations" );
+
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( "synthetic-maven-plugin" );
+        model.setVersion( "1.0" );
+        model.setPackaging( "maven-plugin" );
+        model.setBuild( new Build() );
+        project = new MavenProject( model );
+        project.setFile( new File( baseDirectory, "pom.xml" ) );
+        project.getBuild().setDirectory( new File( baseDirectory, "target" ).getAbsolutePath() );
+        project.getBuild().setOutputDirectory( plugin.getClassesDirectory().getAbsolutePath() );
+        project.addCompileSourceRoot( plugin.getSourcesDirectory().getAbsolutePath() );
+        project.setArtifact( new DefaultArtifact( "org.example", "synthetic-maven-plugin", "1.0",
+                                                  Artifact.SCOPE_COMPILE, "maven-plugin", null,
+                                                  new DefaultArtifactHandler( "maven-plugin" ) ) );
+        project.setArtifacts( Collections.<Artifact>emptySet() );
+    }
+
+    @TearDown
+    public void tearDown()
+        throws Exception
+    {
+        container.dispose();
+        FileUtils.deleteDirectory( baseDirectory );
+    }
+
+    @Benchmark
+    public List<MojoDescriptor> execute()
+        throws ExtractionException, InvalidPluginDescriptorException
+    {
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId( "org.example" );
+        pluginDescriptor.setArtifactId( "synthetic-maven-plugin" );
+        pluginDescriptor.setGoalPrefix( "synthetic" );
+
+        PluginToolsRequest request = new DefaultPluginToolsRequest( project, pluginDescriptor );
+        request.setEncoding( "UTF-8" );
+        return extractor.execute( request );
+    }
+}
@@ -0,0 +1,221 @@
+package org.apache.maven.tools.plugin.extractor.annotations;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.FileUtils;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates a synthetic plugin: class files, the same classes packaged as a jar, and their Java sources.
+ * <p>
+ * Classes are generated as inheritance chains of <code>depth</code> classes. The first <code>mojos</code> chains
+ * extend <code>AbstractMojo</code>: every class of such a chain has <code>fields</code> fields annotated with
+ * <code>@Parameter</code>, and the last class of the chain is annotated with <code>@Mojo</code>. Other chains are
+ * plain classes with <code>fields</code> fields and no annotation, as found in most dependencies.
+ *
+ * @since 3.6.1
+ */
+public final class SyntheticPlugin
+{
+    private static final String ABSTRACT_MOJO = "org/apache/maven/plugin/AbstractMojo";
+
+    private static final String MOJO_DESCRIPTOR = "Lorg/apache/maven/plugins/annotations/Mojo;";
+
+    private static final String PARAMETER_DESCRIPTOR = "Lorg/apache/maven/plugins/annotations/Parameter;";
+
+    private final File classesDirectory;
+
+    private final File sourcesDirectory;
+
+    private final File jar;
+
+    private SyntheticPlugin( File classesDirectory, File sourcesDirectory, File jar )
+    {
+        this.classesDirectory = classesDirectory;
+        this.sourcesDirectory = sourcesDirectory;
+        this.jar = jar;
+    }
+
+    public File getClassesDirectory()
+    {
+        return classesDirectory;
+    }
+
+    public File getSourcesDirectory()
+    {
+        return sourcesDirectory;
+    }
+
+    public File getJar()
+    {
+        return jar;
+    }
+
+    /**
+     * @param baseDirectory directory where <code>classes</code>, <code>sources</code> and the jar are generated
+     * @param packageName package of the generated classes
+     * @param classes total number of classes
+     * @param mojos number of mojos, each at the end of a chain of <code>depth</code> annotated classes
+     * @param fields number of fields per class
+     * @param depth length of inheritance chains
+     * @return the generated plugin
+     * @throws IOException if a file could not be written
+     */
+    public static SyntheticPlugin generate( File baseDirectory, String packageName, int classes, int mojos,
+                                            int fields, int depth )
+        throws IOException
+    {
+        File classesDirectory = new File( baseDirectory, "classes" );
+        File sourcesDirectory = new File( baseDirectory, "sources" );
+        File jar = new File( baseDirectory, packageName + ".jar" );
+        FileUtils.deleteDirectory( classesDirectory );
+        FileUtils.deleteDirectory( sourcesDirectory );
+
+        String packagePath = packageName.replace( '.', '/' );
+        new File( classesDirectory, packagePath ).mkdirs();
+        new File( sourcesDirectory, packagePath ).mkdirs();
+
+        try ( ZipOutputStream jarOutput = new ZipOutputStream( new FileOutputStream( jar ) ) )
+        {
+            for ( int i = 0; i < classes; i++ )
+            {
+                int chain = i / depth;
+                int level = i % depth;
+                boolean mojoChain = chain < mojos;
+
+                String simpleName = ( mojoChain ? "Mojo" : "Plain" ) + chain + "Level" + level;
+                String superName;
+                if ( level > 0 )
+                {
+                    superName = packagePath + '/' + ( mojoChain ? "Mojo" : "Plain" ) + chain + "Level" + ( level - 1 );
+                }
+                else
+                {
+                    superName = mojoChain ? ABSTRACT_MOJO : "java/lang/Object";
+                }
+                boolean mojo = mojoChain && ( level == depth - 1 || i == classes - 1 );
+
+                byte[] bytecode = generateClass( packagePath + '/' + simpleName, superName, mojoChain, mojo,
+                                                 "goal" + chain, fields );
+                try ( FileOutputStream out =
+                    new FileOutputStream( new File( classesDirectory, packagePath + '/' + simpleName + ".class" ) ) )
+                {
+                    out.write( bytecode );
+                }
+
+                jarOutput.putNextEntry( new ZipEntry( packagePath + '/' + simpleName + ".class" ) );
+                jarOutput.write( bytecode );
+                jarOutput.closeEntry();
+
+                writeSource( new File( sourcesDirectory, packagePath + '/' + simpleName + ".java" ), packageName,
+                             simpleName, superName.replace( '/', '.' ), mojoChain, mojo, "goal" + chain, fields );
+            }
+        }
+
+        return new SyntheticPlugin( classesDirectory, sourcesDirectory, jar );
+    }
+
+    private static byte[] generateClass( String name, String superName, boolean annotated, boolean mojo, String goal,
+                                         int fields )
+    {
+        ClassWriter classWriter = new ClassWriter( 0 );
+        classWriter.visit( Opcodes.V1_7, Opcodes.ACC_PUBLIC | ( mojo ? 0 : Opcodes.ACC_ABSTRACT ), name, null,
+                           superName, null );
+
+        if ( mojo )
+        {
+            // plugin annotations have a CLASS retention
+            AnnotationVisitor annotationVisitor = classWriter.visitAnnotation( MOJO_DESCRIPTOR, false );
+            annotationVisitor.visit( "name", goal );
+            annotationVisitor.visit( "threadSafe", Boolean.TRUE );
+            annotationVisitor.visitEnd();
+        }
+
+        String simpleName = name.substring( name.lastIndexOf( '/' ) + 1 );
+        for ( int f = 0; f < fields; f++ )
+        {
+            FieldVisitor fieldVisitor =
+                classWriter.visitField( Opcodes.ACC_PRIVATE, fieldName( simpleName, f ), "Ljava/lang/String;", null,
+                                        null );
+            if ( annotated )
+            {
+                AnnotationVisitor annotationVisitor = fieldVisitor.visitAnnotation( PARAMETER_DESCRIPTOR, false );
+                annotationVisitor.visit( "property", goal + '.' + fieldName( simpleName, f ) );
+                annotationVisitor.visit( "defaultValue", "value" + f );
+                annotationVisitor.visitEnd();
+            }
+            fieldVisitor.visitEnd();
+        }
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static void writeSource( File file, String packageName, String simpleName, String superName,
+                                     boolean annotated, boolean mojo, String goal, int fields )
+        throws IOException
+    {
+        try ( Writer writer = new OutputStreamWriter( new FileOutputStream( file ), StandardCharsets.UTF_8 ) )
+        {
+            writer.write( "package " + packageName + ";\n\n" );
+            writer.write( "/**\n * Synthetic class " + simpleName + ".\n *\n * @since 1.0\n */\n" );
+            if ( mojo )
+            {
+                writer.write( "@org.apache.maven.plugins.annotations.Mojo( name = \"" + goal
+                    + "\", threadSafe = true )\n" );
+            }
+            writer.write( "public " + ( mojo ? "" : "abstract " ) + "class " + simpleName + "\n    extends "
+                + superName + "\n{\n" );
+            for ( int f = 0; f < fields; f++ )
+            {
+                writer.write( "    /**\n     * Field " + f + " of " + simpleName + ".\n     */\n" );
+                if ( annotated )
+                {
+                    writer.write( "    @org.apache.maven.plugins.annotations.Parameter( property = \"" + goal + '.'
+                        + fieldName( simpleName, f ) + "\", defaultValue = \"value" + f + "\" )\n" );
+                }
+                writer.write( "    private String " + fieldName( simpleName, f ) + ";\n\n" );
+            }
+            if ( mojo )
+            {
+                writer.write( "    public void execute()\n    {\n    }\n" );
+            }
+            writer.write( "}\n" );
+        }
+    }
+
+    private static String fieldName( String simpleName, int index )
+    {
+        // unique in the hierarchy, as parameters are keyed by field name
+        return Character.toLowerCase( simpleName.charAt( 0 ) ) + simpleName.substring( 1 ) + "Field" + index;
+    }
+}
@@ -0,0 +1,161 @@
+package org.apache.maven.tools.plugin.extractor.annotations.scanner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.annotations.SyntheticPlugin;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.codehaus.plexus.util.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link DefaultMojoAnnotationsScanner} on a synthetic plugin and a synthetic dependency without
+ * mojos. Run with <code>-prof gc</code> to report the allocation rate along with the throughput.
+ *
+ * @since 3.6.1
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class MojoAnnotationsScannerBenchmark
+{
+    /**
+     * number of classes of the plugin and of its dependency
+     */
+    @Param( { "1000" } )
+    private int classes;
+
+    @Param( { "10" } )
+    private int mojos;
+
+    /**
+     * number of fields per class
+     */
+    @Param( { "10" } )
+    private int fields;
+
+    /**
+     * length of inheritance chains
+     */
+    @Param( { "3" } )
+    private int depth;
+
+    private File baseDirectory;
+
+    private SyntheticPlugin plugin;
+
+    private Artifact pluginArtifact;
+
+    private Artifact dependency;
+
+    private MavenProject project;
+
+    private DefaultMojoAnnotationsScanner scanner;
+
+    @Setup
+    public void setUp()
+        throws IOException
+    {
+        baseDirectory = Files.createTempDirectory( "mojo-annotations-scanner" ).toFile();
+        plugin = SyntheticPlugin.generate( new File( baseDirectory, "plugin" ), "org.example.plugin", classes, mojos,
+                                           fields, depth );
+        SyntheticPlugin library = SyntheticPlugin.generate( new File( baseDirectory, "library" ),
+                                                            "org.example.library", classes, 0, fields, depth );
+
+        pluginArtifact = newArtifact( "plugin", plugin.getJar() );
+        dependency = newArtifact( "library", library.getJar() );
+
+        // classes directories are attributed to the project artifact
+        project = new MavenProject();
+        project.setArtifact( pluginArtifact );
+
+        scanner = new DefaultMojoAnnotationsScanner();
+        scanner.enableLogging( new ConsoleLogger( Logger.LEVEL_ERROR, "scanner" ) );
+    }
+
+    @TearDown
+    public void tearDown()
+        throws IOException
+    {
+        FileUtils.deleteDirectory( baseDirectory );
+    }
+
+    private static Artifact newArtifact( String artifactId, File file )
+    {
+        Artifact artifact = new DefaultArtifact( "org.example", artifactId, "1.0", Artifact.SCOPE_COMPILE, "jar",
+                                                 null, new DefaultArtifactHandler( "jar" ) );
+        artifact.setFile( file );
+        return artifact;
+    }
+
+    /**
+     * Scan of the classes directory of the plugin and of its dependency, as done by the extractor.
+     */
+    @Benchmark
+    public Map<String, MojoAnnotatedClass> scan()
+        throws ExtractionException
+    {
+        MojoAnnotationsScannerRequest request = new MojoAnnotationsScannerRequest();
+        request.setClassesDirectories( Collections.singletonList( plugin.getClassesDirectory() ) );
+        request.setDependencies( Collections.singleton( dependency ) );
+        request.setProject( project );
+        return scanner.scan( request );
+    }
+
+    @Benchmark
+    public Map<String, MojoAnnotatedClass> scanArchive()
+        throws IOException, ExtractionException
+    {
+        return scanner.scanArchive( plugin.getJar(), pluginArtifact, false );
+    }
+
+    @Benchmark
+    public Map<String, MojoAnnotatedClass> scanDirectory()
+        throws IOException, ExtractionException
+    {
+        return scanner.scanDirectory( plugin.getClassesDirectory(), null, pluginArtifact, false );
+    }
+}
@@ -21,11 +21,12 @@ package org.apache.maven.tools.plugin.generator;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -40,8 +41,8 @@ import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.tools.plugin.ExtendedMojoDescriptor;
 import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
 import org.apache.maven.tools.plugin.util.PluginUtils;
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.codehaus.plexus.util.xml.XMLWriter;
@@ -57,9 +58,42 @@ public class PluginDescriptorGenerator
 
     private final Log log;
 
+    /**
+     * whether a subclass overrides {@link #writeDescriptor(File, PluginToolsRequest, boolean)}, to be called for each
+     * descriptor instead of writing both in a single pass
+     */
+    private final boolean writeDescriptorOverridden;
+
+    /**
+     * whether a subclass overrides {@link #processMojoDescriptor(MojoDescriptor, XMLWriter, boolean)}, to be called
+     * for each descriptor instead of writing both in a single pass
+     */
+    private final boolean processMojoDescriptorOverridden;
+
     public PluginDescriptorGenerator( Log log )
     {
         this.log = log;
+        this.writeDescriptorOverridden =
+            isOverridden( "writeDescriptor", File.class, PluginToolsRequest.class, boolean.class );
+        this.processMojoDescriptorOverridden =
+            isOverridden( "processMojoDescriptor", MojoDescriptor.class, XMLWriter.class, boolean.class );
+    }
+
+    private boolean isOverridden( String name, Class<?>... parameterTypes )
+    {
+        for ( Class<?> c = getClass(); c != PluginDescriptorGenerator.class; c = c.getSuperclass() )
+        {
+            try
+            {
+                c.getDeclaredMethod( name, parameterTypes );
+                return true;
+            }
+            catch ( NoSuchMethodException e )
+            {
+                // not overridden at this level
+            }
+        }
+        return false;
     }
 
     /**
@@ -75,15 +109,22 @@ public class PluginDescriptorGenerator
         {
             // write complete plugin.xml descriptor
             File f = new File( destinationDirectory, "plugin.xml" );
-            writeDescriptor( f, request, false );
 
-            // write plugin-help.xml help-descriptor
+            // and plugin-help.xml help-descriptor, in the same pass
             MavenProject mavenProject = request.getProject();
 
-            f = new File( mavenProject.getBuild().getOutputDirectory(),
-                          PluginHelpGenerator.getPluginHelpPath( mavenProject ) );
+            File helpFile = new File( mavenProject.getBuild().getOutputDirectory(),
+                                      PluginHelpGenerator.getPluginHelpPath( mavenProject ) );
 
-            writeDescriptor( f, request, true );
+            if ( writeDescriptorOverridden )
+            {
+                writeDescriptor( f, request, false );
+                writeDescriptor( helpFile, request, true );
+            }
+            else
+            {
+                writeDescriptors( f, helpFile, request );
+            }
         }
         catch ( IOException e )
         {
@@ -105,83 +146,153 @@ public class PluginDescriptorGenerator
     public void writeDescriptor( File destinationFile, PluginToolsRequest request, boolean helpDescriptor )
         throws IOException, DuplicateMojoDescriptorException
     {
-        PluginDescriptor pluginDescriptor = request.getPluginDescriptor();
-
-        if ( destinationFile.exists() )
+        if ( helpDescriptor )
         {
-            destinationFile.delete();
+            writeDescriptors( null, destinationFile, request );
         }
         else
         {
-            if ( !destinationFile.getParentFile().exists() )
-            {
-                destinationFile.getParentFile().mkdirs();
-            }
+            writeDescriptors( destinationFile, null, request );
         }
+    }
 
-        Writer writer = null;
-        try
-        {
-            writer = new OutputStreamWriter( new FileOutputStream( destinationFile ), UTF_8 );
+    /**
+     * Write the plugin descriptor and the help descriptor in a single traversal of the plugin descriptor. Each
+     * description is converted to text once for the help descriptor, even when shared by several parameters.
+     * Files whose content didn't change are not rewritten. When a subclass overrides
+     * {@link #processMojoDescriptor(MojoDescriptor, XMLWriter, boolean)}, it is called for each descriptor instead.
+     *
+     * @param destinationFile the plugin descriptor file, or <code>null</code>
+     * @param helpDestinationFile the help descriptor file, or <code>null</code>
+     * @param request not null
+     * @throws IOException if any
+     * @throws DuplicateMojoDescriptorException if any
+     * @since 3.6.1
+     */
+    public void writeDescriptors( File destinationFile, File helpDestinationFile, PluginToolsRequest request )
+        throws IOException, DuplicateMojoDescriptorException
+    {
+        PluginDescriptor pluginDescriptor = request.getPluginDescriptor();
 
-            XMLWriter w = new PrettyPrintXMLWriter( writer, UTF_8.name(), null );
+        // rendered in memory, to leave the files untouched when their content didn't change
+        ByteArrayOutputStream out = destinationFile != null ? new ByteArrayOutputStream() : null;
+        ByteArrayOutputStream helpOut = helpDestinationFile != null ? new ByteArrayOutputStream() : null;
 
-            w.writeMarkup( "\n<!-- Generated by maven-plugin-tools " + getVersion() + " -->\n\n" );
+        Writer writer = out != null ? new OutputStreamWriter( out, UTF_8 ) : null;
+        Writer helpWriter = helpOut != null ? new OutputStreamWriter( helpOut, UTF_8 ) : null;
 
-            w.startElement( "plugin" );
+        XMLWriter w = writer != null ? new PrettyPrintXMLWriter( writer, UTF_8.name(), null ) : null;
+        XMLWriter h = helpWriter != null ? new PrettyPrintXMLWriter( helpWriter, UTF_8.name(), null ) : null;
+        XMLWriter both = TeeXMLWriter.of( w, h );
 
-            GeneratorUtils.element( w, "name", pluginDescriptor.getName() );
+        // help texts of the descriptions
+        Map<String, String> texts = new HashMap<>();
 
-            GeneratorUtils.element( w, "description", pluginDescriptor.getDescription(), helpDescriptor );
+        both.writeMarkup( "\n<!-- Generated by maven-plugin-tools " + getVersion() + " -->\n\n" );
 
-            GeneratorUtils.element( w, "groupId", pluginDescriptor.getGroupId() );
+        both.startElement( "plugin" );
 
-            GeneratorUtils.element( w, "artifactId", pluginDescriptor.getArtifactId() );
+        GeneratorUtils.element( both, "name", pluginDescriptor.getName() );
 
-            GeneratorUtils.element( w, "version", pluginDescriptor.getVersion() );
+        if ( w != null )
+        {
+            GeneratorUtils.element( w, "description", pluginDescriptor.getDescription() );
+        }
+        if ( h != null )
+        {
+            GeneratorUtils.element( h, "description", toText( pluginDescriptor.getDescription(), texts ) );
+        }
 
-            GeneratorUtils.element( w, "goalPrefix", pluginDescriptor.getGoalPrefix() );
+        GeneratorUtils.element( both, "groupId", pluginDescriptor.getGroupId() );
 
-            if ( !helpDescriptor )
-            {
-                GeneratorUtils.element( w, "isolatedRealm", String.valueOf( pluginDescriptor.isIsolatedRealm() ) );
+        GeneratorUtils.element( both, "artifactId", pluginDescriptor.getArtifactId() );
 
-                GeneratorUtils.element( w, "inheritedByDefault",
-                                        String.valueOf( pluginDescriptor.isInheritedByDefault() ) );
-            }
+        GeneratorUtils.element( both, "version", pluginDescriptor.getVersion() );
 
-            w.startElement( "mojos" );
+        GeneratorUtils.element( both, "goalPrefix", pluginDescriptor.getGoalPrefix() );
 
-            if ( pluginDescriptor.getMojos() != null )
-            {
-                @SuppressWarnings( "unchecked" ) List<MojoDescriptor> descriptors = pluginDescriptor.getMojos();
+        if ( w != null )
+        {
+            GeneratorUtils.element( w, "isolatedRealm", String.valueOf( pluginDescriptor.isIsolatedRealm() ) );
+
+            GeneratorUtils.element( w, "inheritedByDefault",
+                                    String.valueOf( pluginDescriptor.isInheritedByDefault() ) );
+        }
+
+        both.startElement( "mojos" );
+
+        if ( pluginDescriptor.getMojos() != null )
+        {
+            @SuppressWarnings( "unchecked" ) List<MojoDescriptor> descriptors = pluginDescriptor.getMojos();
 
-                PluginUtils.sortMojos( descriptors );
+            PluginUtils.sortMojos( descriptors );
 
-                for ( MojoDescriptor descriptor : descriptors )
+            for ( MojoDescriptor descriptor : descriptors )
+            {
+                if ( processMojoDescriptorOverridden )
                 {
-                    processMojoDescriptor( descriptor, w, helpDescriptor );
+                    if ( w != null )
+                    {
+                        processMojoDescriptor( descriptor, w, false );
+                    }
+                    if ( h != null )
+                    {
+                        processMojoDescriptor( descriptor, h, true );
+                    }
+                }
+                else
+                {
+                    processMojoDescriptor( descriptor, w, h, texts );
                 }
             }
+        }
 
-            w.endElement();
+        both.endElement();
 
-            if ( !helpDescriptor )
-            {
-                GeneratorUtils.writeDependencies( w, pluginDescriptor );
-            }
+        if ( w != null )
+        {
+            GeneratorUtils.writeDependencies( w, pluginDescriptor );
+        }
 
-            w.endElement();
+        both.endElement();
 
+        if ( writer != null )
+        {
             writer.flush();
-
+            DataFileUtils.writeIfChanged( destinationFile, out.toByteArray() );
         }
-        finally
+        if ( helpWriter != null )
         {
-            IOUtil.close( writer );
+            helpWriter.flush();
+            DataFileUtils.writeIfChanged( helpDestinationFile, helpOut.toByteArray() );
         }
     }
 
+    /**
+     * @param html the description, possibly <code>null</code>
+     * @param texts the texts of the descriptions already converted
+     * @return the description converted to text
+     */
+    private String toText( String html, Map<String, String> texts )
+    {
+        String text = texts.get( html );
+        if ( text == null )
+        {
+            text = toText( html );
+            texts.put( html, text );
+        }
+        return text;
+    }
+
+    /**
+     * @param html the description, possibly <code>null</code>
+     * @return the description converted to text
+     */
+    String toText( String html )
+    {
+        return GeneratorUtils.toText( html );
+    }
+
     protected void processMojoDescriptor( MojoDescriptor mojoDescriptor, XMLWriter w )
     {
         processMojoDescriptor( mojoDescriptor, w, false );
@@ -194,15 +305,30 @@ public class PluginDescriptorGenerator
      */
     protected void processMojoDescriptor( MojoDescriptor mojoDescriptor, XMLWriter w, boolean helpDescriptor )
     {
-        w.startElement( "mojo" );
+        processMojoDescriptor( mojoDescriptor, helpDescriptor ? null : w, helpDescriptor ? w : null,
+                               new HashMap<String, String>() );
+    }
+
+    /**
+     * @param mojoDescriptor not null
+     * @param w the plugin descriptor writer, or <code>null</code>
+     * @param h the help descriptor writer, or <code>null</code>
+     * @param texts the texts of the descriptions already converted
+     */
+    private void processMojoDescriptor( MojoDescriptor mojoDescriptor, XMLWriter w, XMLWriter h,
+                                        Map<String, String> texts )
+    {
+        XMLWriter both = TeeXMLWriter.of( w, h );
+
+        both.startElement( "mojo" );
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        w.startElement( "goal" );
-        w.writeText( mojoDescriptor.getGoal() );
-        w.endElement();
+        both.startElement( "goal" );
+        both.writeText( mojoDescriptor.getGoal() );
+        both.endElement();
 
         // ----------------------------------------------------------------------
         //
@@ -212,16 +338,14 @@ public class PluginDescriptorGenerator
 
         if ( StringUtils.isNotEmpty( description ) )
         {
-            w.startElement( "description" );
-            if ( helpDescriptor )
+            if ( w != null )
             {
-                w.writeText( GeneratorUtils.toText( mojoDescriptor.getDescription() ) );
+                GeneratorUtils.element( w, "description", description );
             }
-            else
+            if ( h != null )
             {
-                w.writeText( mojoDescriptor.getDescription() );
+                GeneratorUtils.element( h, "description", toText( description, texts ) );
             }
-            w.endElement();
         }
 
         // ----------------------------------------------------------------------
@@ -230,7 +354,7 @@ public class PluginDescriptorGenerator
 
         if ( StringUtils.isNotEmpty( mojoDescriptor.isDependencyResolutionRequired() ) )
         {
-            GeneratorUtils.element( w, "requiresDependencyResolution",
+            GeneratorUtils.element( both, "requiresDependencyResolution",
                                     mojoDescriptor.isDependencyResolutionRequired() );
         }
 
@@ -238,38 +362,38 @@ public class PluginDescriptorGenerator
         //
         // ----------------------------------------------------------------------
 
-        GeneratorUtils.element( w, "requiresDirectInvocation",
+        GeneratorUtils.element( both, "requiresDirectInvocation",
                                 String.valueOf( mojoDescriptor.isDirectInvocationOnly() ) );
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        GeneratorUtils.element( w, "requiresProject", String.valueOf( mojoDescriptor.isProjectRequired() ) );
+        GeneratorUtils.element( both, "requiresProject", String.valueOf( mojoDescriptor.isProjectRequired() ) );
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        GeneratorUtils.element( w, "requiresReports", String.valueOf( mojoDescriptor.isRequiresReports() ) );
+        GeneratorUtils.element( both, "requiresReports", String.valueOf( mojoDescriptor.isRequiresReports() ) );
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        GeneratorUtils.element( w, "aggregator", String.valueOf( mojoDescriptor.isAggregator() ) );
+        GeneratorUtils.element( both, "aggregator", String.valueOf( mojoDescriptor.isAggregator() ) );
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        GeneratorUtils.element( w, "requiresOnline", String.valueOf( mojoDescriptor.isOnlineRequired() ) );
+        GeneratorUtils.element( both, "requiresOnline", String.valueOf( mojoDescriptor.isOnlineRequired() ) );
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        GeneratorUtils.element( w, "inheritedByDefault", String.valueOf( mojoDescriptor.isInheritedByDefault() ) );
+        GeneratorUtils.element( both, "inheritedByDefault", String.valueOf( mojoDescriptor.isInheritedByDefault() ) );
 
         // ----------------------------------------------------------------------
         //
@@ -277,7 +401,7 @@ public class PluginDescriptorGenerator
 
         if ( StringUtils.isNotEmpty( mojoDescriptor.getPhase() ) )
         {
-            GeneratorUtils.element( w, "phase", mojoDescriptor.getPhase() );
+            GeneratorUtils.element( both, "phase", mojoDescriptor.getPhase() );
         }
 
         // ----------------------------------------------------------------------
@@ -286,34 +410,34 @@ public class PluginDescriptorGenerator
 
         if ( StringUtils.isNotEmpty( mojoDescriptor.getExecutePhase() ) )
         {
-            GeneratorUtils.element( w, "executePhase", mojoDescriptor.getExecutePhase() );
+            GeneratorUtils.element( both, "executePhase", mojoDescriptor.getExecutePhase() );
         }
 
         if ( StringUtils.isNotEmpty( mojoDescriptor.getExecuteGoal() ) )
         {
-            GeneratorUtils.element( w, "executeGoal", mojoDescriptor.getExecuteGoal() );
+            GeneratorUtils.element( both, "executeGoal", mojoDescriptor.getExecuteGoal() );
         }
 
         if ( StringUtils.isNotEmpty( mojoDescriptor.getExecuteLifecycle() ) )
         {
-            GeneratorUtils.element( w, "executeLifecycle", mojoDescriptor.getExecuteLifecycle() );
+            GeneratorUtils.element( both, "executeLifecycle", mojoDescriptor.getExecuteLifecycle() );
         }
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        w.startElement( "implementation" );
-        w.writeText( mojoDescriptor.getImplementation() );
-        w.endElement();
+        both.startElement( "implementation" );
+        both.writeText( mojoDescriptor.getImplementation() );
+        both.endElement();
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        w.startElement( "language" );
-        w.writeText( mojoDescriptor.getLanguage() );
-        w.endElement();
+        both.startElement( "language" );
+        both.writeText( mojoDescriptor.getLanguage() );
+        both.endElement();
 
         // ----------------------------------------------------------------------
         //
@@ -321,9 +445,9 @@ public class PluginDescriptorGenerator
 
         if ( StringUtils.isNotEmpty( mojoDescriptor.getComponentConfigurator() ) )
         {
-            w.startElement( "configurator" );
-            w.writeText( mojoDescriptor.getComponentConfigurator() );
-            w.endElement();
+            both.startElement( "configurator" );
+            both.writeText( mojoDescriptor.getComponentConfigurator() );
+            both.endElement();
         }
 
         // ----------------------------------------------------------------------
@@ -332,26 +456,26 @@ public class PluginDescriptorGenerator
 
         if ( StringUtils.isNotEmpty( mojoDescriptor.getComponentComposer() ) )
         {
-            w.startElement( "composer" );
-            w.writeText( mojoDescriptor.getComponentComposer() );
-            w.endElement();
+            both.startElement( "composer" );
+            both.writeText( mojoDescriptor.getComponentComposer() );
+            both.endElement();
         }
 
         // ----------------------------------------------------------------------
         //
         // ----------------------------------------------------------------------
 
-        w.startElement( "instantiationStrategy" );
-        w.writeText( mojoDescriptor.getInstantiationStrategy() );
-        w.endElement();
+        both.startElement( "instantiationStrategy" );
+        both.writeText( mojoDescriptor.getInstantiationStrategy() );
+        both.endElement();
 
         // ----------------------------------------------------------------------
         // Strategy for handling repeated reference to mojo in
         // the calculated (decorated, resolved) execution stack
         // ----------------------------------------------------------------------
-        w.startElement( "executionStrategy" );
-        w.writeText( mojoDescriptor.getExecutionStrategy() );
-        w.endElement();
+        both.startElement( "executionStrategy" );
+        both.writeText( mojoDescriptor.getExecutionStrategy() );
+        both.endElement();
 
         // ----------------------------------------------------------------------
         //
@@ -359,18 +483,18 @@ public class PluginDescriptorGenerator
 
         if ( mojoDescriptor.getSince() != null )
         {
-            w.startElement( "since" );
+            both.startElement( "since" );
 
             if ( StringUtils.isEmpty( mojoDescriptor.getSince() ) )
             {
-                w.writeText( "No version given" );
+                both.writeText( "No version given" );
             }
             else
             {
-                w.writeText( mojoDescriptor.getSince() );
+                both.writeText( mojoDescriptor.getSince() );
             }
 
-            w.endElement();
+            both.endElement();
         }
 
         // ----------------------------------------------------------------------
@@ -379,18 +503,18 @@ public class PluginDescriptorGenerator
 
         if ( mojoDescriptor.getDeprecated() != null )
         {
-            w.startElement( "deprecated" );
+            both.startElement( "deprecated" );
 
             if ( StringUtils.isEmpty( mojoDescriptor.getDeprecated() ) )
             {
-                w.writeText( "No reason given" );
+                both.writeText( "No reason given" );
             }
             else
             {
-                w.writeText( mojoDescriptor.getDeprecated() );
+                both.writeText( mojoDescriptor.getDeprecated() );
             }
 
-            w.endElement();
+            both.endElement();
         }
 
         // ----------------------------------------------------------------------
@@ -402,11 +526,11 @@ public class PluginDescriptorGenerator
             ExtendedMojoDescriptor extendedMojoDescriptor = (ExtendedMojoDescriptor) mojoDescriptor;
             if ( extendedMojoDescriptor.getDependencyCollectionRequired() != null )
             {
-                GeneratorUtils.element( w, "requiresDependencyCollection",
+                GeneratorUtils.element( both, "requiresDependencyCollection",
                                         extendedMojoDescriptor.getDependencyCollectionRequired() );
             }
 
-            GeneratorUtils.element( w, "threadSafe", String.valueOf( extendedMojoDescriptor.isThreadSafe() ) );
+            GeneratorUtils.element( both, "threadSafe", String.valueOf( extendedMojoDescriptor.isThreadSafe() ) );
         }
 
         // ----------------------------------------------------------------------
@@ -415,6 +539,64 @@ public class PluginDescriptorGenerator
 
         List<Parameter> parameters = mojoDescriptor.getParameters();
 
+        Map<String, Requirement> requirements = null;
+
+        if ( w != null )
+        {
+            requirements = processParameters( parameters, w, false, texts );
+        }
+
+        if ( h != null )
+        {
+            if ( parameters != null )
+            {
+                PluginUtils.sortMojoParameters( parameters );
+            }
+
+            processParameters( parameters, h, true, texts );
+        }
+
+        // ----------------------------------------------------------------------
+        // Requirements
+        // ----------------------------------------------------------------------
+
+        if ( requirements != null && !requirements.isEmpty() )
+        {
+            w.startElement( "requirements" );
+
+            for ( Map.Entry<String, Requirement> entry : requirements.entrySet() )
+            {
+                String key = entry.getKey();
+                Requirement requirement = entry.getValue();
+
+                w.startElement( "requirement" );
+
+                GeneratorUtils.element( w, "role", requirement.getRole() );
+
+                if ( StringUtils.isNotEmpty( requirement.getRoleHint() ) )
+                {
+                    GeneratorUtils.element( w, "role-hint", requirement.getRoleHint() );
+                }
+
+                GeneratorUtils.element( w, "field-name", key );
+
+                w.endElement();
+            }
+
+            w.endElement();
+        }
+
+        both.endElement();
+    }
+
+    /**
+     * Write the parameters and their configuration.
+     *
+     * @return the requirements, i.e. the parameters that are components
+     */
+    private Map<String, Requirement> processParameters( List<Parameter> parameters, XMLWriter w,
+                                                        boolean helpDescriptor, Map<String, String> texts )
+    {
         w.startElement( "parameters" );
 
         Map<String, Requirement> requirements = new LinkedHashMap<>();
@@ -423,11 +605,6 @@ public class PluginDescriptorGenerator
 
         if ( parameters != null )
         {
-            if ( helpDescriptor )
-            {
-                PluginUtils.sortMojoParameters( parameters );
-            }
-
             for ( Parameter parameter : parameters )
             {
                 String expression = getExpression( parameter );
@@ -508,7 +685,8 @@ public class PluginDescriptorGenerator
 
                     GeneratorUtils.element( w, "editable", Boolean.toString( parameter.isEditable() ) );
 
-                    GeneratorUtils.element( w, "description", parameter.getDescription(), helpDescriptor );
+                    GeneratorUtils.element( w, "description", helpDescriptor
+                        ? toText( parameter.getDescription(), texts ) : parameter.getDescription() );
 
                     if ( StringUtils.isNotEmpty( parameter.getDefaultValue() ) || StringUtils.isNotEmpty(
                         parameter.getExpression() ) )
@@ -564,37 +742,7 @@ public class PluginDescriptorGenerator
             w.endElement();
         }
 
-        // ----------------------------------------------------------------------
-        // Requirements
-        // ----------------------------------------------------------------------
-
-        if ( !requirements.isEmpty() && !helpDescriptor )
-        {
-            w.startElement( "requirements" );
-
-            for ( Map.Entry<String, Requirement> entry : requirements.entrySet() )
-            {
-                String key = entry.getKey();
-                Requirement requirement = entry.getValue();
-
-                w.startElement( "requirement" );
-
-                GeneratorUtils.element( w, "role", requirement.getRole() );
-
-                if ( StringUtils.isNotEmpty( requirement.getRoleHint() ) )
-                {
-                    GeneratorUtils.element( w, "role-hint", requirement.getRoleHint() );
-                }
-
-                GeneratorUtils.element( w, "field-name", key );
-
-                w.endElement();
-            }
-
-            w.endElement();
-        }
-
-        w.endElement();
+        return requirements;
     }
 
     /**
@@ -613,4 +761,63 @@ public class PluginDescriptorGenerator
         }
         return expression;
     }
+
+    /**
+     * Writes the same content to two writers.
+     */
+    private static final class TeeXMLWriter
+        implements XMLWriter
+    {
+        private final XMLWriter w1;
+
+        private final XMLWriter w2;
+
+        private TeeXMLWriter( XMLWriter w1, XMLWriter w2 )
+        {
+            this.w1 = w1;
+            this.w2 = w2;
+        }
+
+        /**
+         * @return a writer to both writers, or to the only one not <code>null</code>
+         */
+        static XMLWriter of( XMLWriter w1, XMLWriter w2 )
+        {
+            if ( w1 == null )
+            {
+                return w2;
+            }
+            return w2 != null ? new TeeXMLWriter( w1, w2 ) : w1;
+        }
+
+        public void startElement( String name )
+        {
+            w1.startElement( name );
+            w2.startElement( name );
+        }
+
+        public void addAttribute( String key, String value )
+        {
+            w1.addAttribute( key, value );
+            w2.addAttribute( key, value );
+        }
+
+        public void writeText( String text )
+        {
+            w1.writeText( text );
+            w2.writeText( text );
+        }
+
+        public void writeMarkup( String text )
+        {
+            w1.writeMarkup( text );
+            w2.writeMarkup( text );
+        }
+
+        public void endElement()
+        {
+            w1.endElement();
+            w2.endElement();
+        }
+    }
 }
@@ -26,11 +26,11 @@ import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.util.DataFileUtils;
 import org.apache.velocity.VelocityContext;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
 import org.codehaus.plexus.logging.Logger;
 import org.codehaus.plexus.logging.console.ConsoleLogger;
-import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.PropertyUtils;
 import org.codehaus.plexus.util.StringUtils;
@@ -42,13 +42,13 @@ import org.objectweb.asm.commons.ClassRemapper;
 import org.objectweb.asm.commons.Remapper;
 import org.objectweb.asm.commons.SimpleRemapper;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.StringWriter;
@@ -146,12 +146,13 @@ public class PluginHelpGenerator
             String sourcePath = helpImplementation.replace( '.', File.separatorChar ) + ".java";
 
             File helpClass = new File( destinationDirectory, sourcePath );
-            helpClass.getParentFile().mkdirs();
 
             String helpClassSources =
                 getHelpClassSources( getPluginHelpPath( request.getProject() ), pluginDescriptor );
 
-            FileUtils.fileWrite( helpClass, request.getEncoding(), helpClassSources );
+            // unchanged sources keep their timestamp, to avoid recompiling HelpMojo
+            DataFileUtils.writeIfChanged( helpClass, request.getEncoding() != null
+                ? helpClassSources.getBytes( request.getEncoding() ) : helpClassSources.getBytes() );
         }
         catch ( IOException e )
         {
@@ -246,18 +247,18 @@ public class PluginHelpGenerator
 
         File tmpPropertiesFile = new File( request.getProject().getBuild().getDirectory(), HELP_PROPERTIES_FILENAME );
 
-        if ( tmpPropertiesFile.exists() )
-        {
-            tmpPropertiesFile.delete();
-        }
-        else if ( !tmpPropertiesFile.getParentFile().exists() )
+        try
         {
-            tmpPropertiesFile.getParentFile().mkdirs();
-        }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            properties.store( out, "maven plugin help mojo generation informations" );
 
-        try ( FileOutputStream fos = new FileOutputStream( tmpPropertiesFile ) )
-        {
-            properties.store( fos, "maven plugin help mojo generation informations" );
+            // remove the date comment written after the comments, that would change the content at each build
+            String content = out.toString( "ISO-8859-1" );
+            int dateStart = content.indexOf( '\n' ) + 1;
+            int dateEnd = content.indexOf( '\n', dateStart ) + 1;
+            content = content.substring( 0, dateStart ) + content.substring( dateEnd );
+
+            DataFileUtils.writeIfChanged( tmpPropertiesFile, content.getBytes( "ISO-8859-1" ) );
         }
         catch ( IOException e )
         {
@@ -357,25 +358,25 @@ public class PluginHelpGenerator
         {
             File helpSourceFileNew =
                 new File( destinationDirectory, packageAsDirectory + '/' + HELP_MOJO_CLASS_NAME + ".java" );
-            if ( !helpSourceFileNew.getParentFile().exists() )
-            {
-                helpSourceFileNew.getParentFile().mkdirs();
-            }
             Charset encoding = Charset.forName( request.getEncoding() );
+            StringWriter source = new StringWriter();
             try ( Reader sourceReader = new InputStreamReader( new FileInputStream( helpSourceFile ), //
                                                               encoding ); //
-                 PrintWriter sourceWriter = new PrintWriter(
-                     new OutputStreamWriter( new FileOutputStream( helpSourceFileNew ), //
-                                             encoding ) ) )
+                 PrintWriter sourceWriter = new PrintWriter( source ) )
             {
                 sourceWriter.println( "package " + destinationPackage + ";" );
                 IOUtil.copy( sourceReader, sourceWriter );
+                sourceWriter.flush();
+
+                if ( DataFileUtils.writeIfChanged( helpSourceFileNew, source.toString().getBytes( encoding ) ) )
+                {
+                    helpSourceFileNew.setLastModified( helpSourceFile.lastModified() );
+                }
             }
             catch ( IOException e )
             {
                 throw new GeneratorException( e.getMessage(), e );
             }
-            helpSourceFileNew.setLastModified( helpSourceFile.lastModified() );
             helpSourceFile.delete();
         }
 
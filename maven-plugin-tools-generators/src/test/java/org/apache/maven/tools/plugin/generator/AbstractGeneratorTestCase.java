@@ -60,6 +60,23 @@ public abstract class AbstractGeneratorTestCase
     {
         setupGenerator();
 
+        PluginDescriptor pluginDescriptor = createPluginDescriptor();
+
+        File destinationDirectory = Files.createTempDirectory( "testGenerator-outDir" ).toFile();
+        destinationDirectory.mkdir();
+
+        MavenProject mavenProject = createMavenProject( basedir + "/target" );
+
+        generator.execute( destinationDirectory, new DefaultPluginToolsRequest( mavenProject, pluginDescriptor ) );
+
+        validate( destinationDirectory );
+
+        FileUtils.deleteDirectory( destinationDirectory );
+    }
+
+    protected PluginDescriptor createPluginDescriptor()
+        throws Exception
+    {
         MojoDescriptor mojoDescriptor = new MojoDescriptor();
         mojoDescriptor.setGoal( "testGoal" );
         mojoDescriptor.setImplementation( "org.apache.maven.tools.plugin.generator.TestMojo" );
@@ -95,9 +112,15 @@ public abstract class AbstractGeneratorTestCase
 
         pluginDescriptor.setDependencies( Collections.singletonList( dependency ) );
 
-        File destinationDirectory = Files.createTempDirectory( "testGenerator-outDir" ).toFile();
-        destinationDirectory.mkdir();
+        return pluginDescriptor;
+    }
 
+    /**
+     * @param buildDirectory the build directory, also used as output directory
+     * @return the project
+     */
+    protected MavenProject createMavenProject( final String buildDirectory )
+    {
         MavenProject mavenProject = new MavenProject();
         mavenProject.setGroupId( "foo" );
         mavenProject.setArtifactId( "bar" );
@@ -106,21 +129,16 @@ public abstract class AbstractGeneratorTestCase
             @Override
             public String getDirectory()
             {
-                return basedir + "/target";
+                return buildDirectory;
             }
 
             @Override
             public String getOutputDirectory()
             {
-                return basedir + "/target";
+                return buildDirectory;
             }
         } );
-
-        generator.execute( destinationDirectory, new DefaultPluginToolsRequest( mavenProject, pluginDescriptor ) );
-
-        validate( destinationDirectory );
-
-        FileUtils.deleteDirectory( destinationDirectory );
+        return mavenProject;
     }
 
     // ----------------------------------------------------------------------
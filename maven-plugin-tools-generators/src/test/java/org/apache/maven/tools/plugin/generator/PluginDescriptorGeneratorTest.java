@@ -23,8 +23,16 @@ import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugin.descriptor.Parameter;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.descriptor.PluginDescriptorBuilder;
+import org.apache.maven.plugin.descriptor.Requirement;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
+import org.apache.maven.tools.plugin.ExtendedMojoDescriptor;
+import org.apache.maven.tools.plugin.PluginToolsRequest;
 import org.codehaus.plexus.component.repository.ComponentDependency;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.xml.XMLWriter;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -32,6 +40,9 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -73,6 +84,121 @@ public class PluginDescriptorGeneratorTest
         assertEquals( "0.0.0", dependency.getVersion() );
     }
 
+    public void testWriteDescriptors()
+        throws Exception
+    {
+        File destinationDirectory = new File( basedir, "target/testWriteDescriptors" );
+        FileUtils.deleteDirectory( destinationDirectory );
+
+        final List<String> texts = new ArrayList<>();
+        PluginDescriptorGenerator singlePass = new PluginDescriptorGenerator( new SystemStreamLog() )
+        {
+            @Override
+            String toText( String html )
+            {
+                texts.add( html );
+                return super.toText( html );
+            }
+        };
+        File pluginFile = new File( destinationDirectory, "single/plugin.xml" );
+        File helpFile = new File( destinationDirectory, "single/plugin-help.xml" );
+        singlePass.writeDescriptors( pluginFile, helpFile, newRequest() );
+
+        // overriding processMojoDescriptor writes each descriptor in its own pass, as before
+        PluginDescriptorGenerator twoPass = new PluginDescriptorGenerator( new SystemStreamLog() )
+        {
+            @Override
+            protected void processMojoDescriptor( MojoDescriptor mojoDescriptor, XMLWriter w,
+                                                  boolean helpDescriptor )
+            {
+                super.processMojoDescriptor( mojoDescriptor, w, helpDescriptor );
+            }
+        };
+        File twoPassPluginFile = new File( destinationDirectory, "two-pass/plugin.xml" );
+        File twoPassHelpFile = new File( destinationDirectory, "two-pass/plugin-help.xml" );
+        twoPass.writeDescriptor( twoPassPluginFile, newRequest(), false );
+        twoPass.writeDescriptor( twoPassHelpFile, newRequest(), true );
+
+        String plugin = readFile( pluginFile );
+        String help = readFile( helpFile );
+        assertEquals( readFile( twoPassPluginFile ), plugin );
+        assertEquals( readFile( twoPassHelpFile ), help );
+
+        assertTrue( plugin.contains( "<field-name>component</field-name>" ) );
+        assertTrue( plugin.contains( "<field-name>expression</field-name>" ) );
+        assertTrue( plugin.contains( "<name>readonly</name>" ) );
+        assertFalse( help.contains( "<requirements>" ) );
+        assertFalse( help.contains( "<name>readonly</name>" ) );
+        assertFalse( help.contains( "&lt;b&gt;" ) );
+
+        // each distinct description converted once
+        assertEquals( new HashSet<>( texts ).size(), texts.size() );
+        assertEquals( new HashSet<>( Arrays.asList( "<p>The plugin.</p>", "The <b>mojo</b>.", "The <b>shared</b>.",
+                                                    "The <b>other</b>." ) ), new HashSet<>( texts ) );
+    }
+
+    /**
+     * @return a request for 2 mojos sharing their descriptions, with read-only parameters and requirements
+     */
+    private PluginToolsRequest newRequest()
+        throws Exception
+    {
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId( "test" );
+        pluginDescriptor.setArtifactId( "maven-unitTesting-plugin" );
+        pluginDescriptor.setVersion( "1.0" );
+        pluginDescriptor.setGoalPrefix( "test" );
+        pluginDescriptor.setDescription( "<p>The plugin.</p>" );
+
+        for ( String goal : Arrays.asList( "first", "second" ) )
+        {
+            ExtendedMojoDescriptor mojoDescriptor = new ExtendedMojoDescriptor();
+            mojoDescriptor.setGoal( goal );
+            mojoDescriptor.setImplementation( "org.apache.maven.tools.plugin.generator.TestMojo" );
+            // inherited description
+            mojoDescriptor.setDescription( "The <b>mojo</b>." );
+            mojoDescriptor.setDependencyCollectionRequired( "compile" );
+
+            List<Parameter> parameters = new ArrayList<>();
+            parameters.add( newParameter( "zeta", "The <b>shared</b>.", true ) );
+            parameters.add( newParameter( "alpha", "The <b>shared</b>.", true ) );
+            parameters.add( newParameter( "other", "The <b>other</b>.", true ) );
+            parameters.add( newParameter( "readonly", "The <b>readonly</b>.", false ) );
+
+            Parameter component = newParameter( "component", null, false );
+            component.setRequirement( new Requirement( "org.apache.maven.Component", "hint" ) );
+            parameters.add( component );
+
+            Parameter expression = newParameter( "expression", null, false );
+            expression.setExpression( "${component.org.apache.maven.Other}" );
+            parameters.add( expression );
+
+            mojoDescriptor.setParameters( parameters );
+            mojoDescriptor.setPluginDescriptor( pluginDescriptor );
+            pluginDescriptor.addMojo( mojoDescriptor );
+        }
+
+        MavenProject mavenProject = new MavenProject();
+        mavenProject.setGroupId( "test" );
+        mavenProject.setArtifactId( "maven-unitTesting-plugin" );
+        return new DefaultPluginToolsRequest( mavenProject, pluginDescriptor );
+    }
+
+    private static Parameter newParameter( String name, String description, boolean editable )
+    {
+        Parameter parameter = new Parameter();
+        parameter.setName( name );
+        parameter.setType( "java.lang.String" );
+        parameter.setDescription( description );
+        parameter.setEditable( editable );
+        if ( editable )
+        {
+            parameter.setExpression( "${" + name + "}" );
+            parameter.setDefaultValue( "default" );
+        }
+        return parameter;
+    }
+
     private String readFile( File pluginDescriptorFile )
         throws IOException
     {
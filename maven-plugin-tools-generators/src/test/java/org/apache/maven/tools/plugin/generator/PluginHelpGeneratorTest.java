@@ -19,8 +19,24 @@ package org.apache.maven.tools.plugin.generator;
  * under the License.
  */
 
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
+import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.velocity.VelocityComponent;
 
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
 /**
  * @author <a href="mailto:vincent.siveton@gmail.com">Vincent Siveton</a>
  */
@@ -36,4 +52,82 @@ public class PluginHelpGeneratorTest
             new PluginHelpGenerator().setVelocityComponent( (VelocityComponent) lookup( VelocityComponent.ROLE ) );
 
     }
+
+    public void testUnchangedOutputsKeepTimestamp()
+        throws Exception
+    {
+        File buildDirectory = new File( basedir, "target/testUnchangedOutputsKeepTimestamp" );
+        FileUtils.deleteDirectory( buildDirectory );
+        File destinationDirectory = new File( buildDirectory, "generated-sources/plugin" );
+        MavenProject mavenProject = createMavenProject( buildDirectory.getPath() );
+
+        generate( destinationDirectory, mavenProject );
+
+        List<File> outputs = Arrays.asList( new File( destinationDirectory, "plugin.xml" ),
+                                            new File( buildDirectory, "META-INF/maven/foo/bar/plugin-help.xml" ),
+                                            new File( destinationDirectory,
+                                                      "org/apache/maven/tools/plugin/generator/HelpMojo.java" ),
+                                            new File( buildDirectory, "maven-plugin-help.properties" ) );
+        // back in time, so that a rewrite is detected whatever the timestamp resolution
+        long lastModified = System.currentTimeMillis() / 1000 * 1000 - 60000;
+        for ( File output : outputs )
+        {
+            assertTrue( output + " not generated", output.isFile() );
+            assertTrue( output.setLastModified( lastModified ) );
+        }
+
+        generate( destinationDirectory, mavenProject );
+
+        for ( File output : outputs )
+        {
+            assertEquals( output + " rewritten", lastModified, output.lastModified() );
+        }
+
+        if ( FileSystems.getDefault().supportedFileAttributeViews().contains( "posix" ) )
+        {
+            // outputs get the permissions of a file written directly, from the umask, even when replaced
+            File reference = new File( buildDirectory, "reference.txt" );
+            FileUtils.fileWrite( reference, "UTF-8", "reference" );
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions( reference.toPath() );
+
+            FileUtils.fileWrite( outputs.get( 0 ), "UTF-8", "outdated" );
+            generate( destinationDirectory, mavenProject );
+
+            for ( File output : outputs )
+            {
+                assertEquals( output.getPath(), permissions, Files.getPosixFilePermissions( output.toPath() ) );
+            }
+        }
+
+        // only the fixed comment, without the date of the generation
+        List<String> comments = new ArrayList<>();
+        for ( String line : FileUtils.fileRead( outputs.get( 3 ), "ISO-8859-1" ).split( "\\r?\\n" ) )
+        {
+            if ( line.startsWith( "#" ) )
+            {
+                comments.add( line );
+            }
+        }
+        assertEquals( Arrays.asList( "#maven plugin help mojo generation informations" ), comments );
+
+        Properties properties = new Properties();
+        properties.load( new StringReader( FileUtils.fileRead( outputs.get( 3 ), "ISO-8859-1" ) ) );
+        assertEquals( "org.apache.maven.tools.plugin.generator", properties.getProperty( "helpPackageName" ) );
+        assertEquals( destinationDirectory.getAbsolutePath(), properties.getProperty( "destinationDirectory" ) );
+    }
+
+    /**
+     * Generate the help mojo then the descriptors, as the helpmojo and descriptor goals do.
+     */
+    private void generate( File destinationDirectory, MavenProject mavenProject )
+        throws Exception
+    {
+        PluginToolsRequest request = new DefaultPluginToolsRequest( mavenProject, createPluginDescriptor() );
+        request.setEncoding( "UTF-8" );
+
+        setupGenerator();
+        generator.execute( destinationDirectory, request );
+
+        new PluginDescriptorGenerator( new SystemStreamLog() ).execute( destinationDirectory, request );
+    }
 }
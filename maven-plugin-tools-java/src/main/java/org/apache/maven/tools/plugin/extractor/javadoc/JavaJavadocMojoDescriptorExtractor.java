@@ -19,34 +19,35 @@ package org.apache.maven.tools.plugin.extractor.javadoc;
  * under the License.
  */
 
+import java.io.BufferedReader;
 import java.io.File;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.descriptor.InvalidParameterException;
 import org.apache.maven.plugin.descriptor.InvalidPluginDescriptorException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugin.descriptor.Parameter;
 import org.apache.maven.plugin.descriptor.Requirement;
-import org.apache.maven.project.MavenProject;
 import org.apache.maven.tools.plugin.ExtendedMojoDescriptor;
 import org.apache.maven.tools.plugin.PluginToolsRequest;
+import org.apache.maven.tools.plugin.extractor.ApplicableMojoDescriptorExtractor;
 import org.apache.maven.tools.plugin.extractor.ExtractionException;
+import org.apache.maven.tools.plugin.extractor.ExtractionListener;
+import org.apache.maven.tools.plugin.extractor.ExtractionPhase;
+import org.apache.maven.tools.plugin.extractor.JavaSourceModel;
 import org.apache.maven.tools.plugin.extractor.MojoDescriptorExtractor;
 import org.apache.maven.tools.plugin.util.PluginUtils;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.StringUtils;
 
-import com.thoughtworks.qdox.JavaProjectBuilder;
-import com.thoughtworks.qdox.library.SortedClassLibraryBuilder;
 import com.thoughtworks.qdox.model.DocletTag;
 import com.thoughtworks.qdox.model.JavaClass;
 import com.thoughtworks.qdox.model.JavaField;
@@ -65,7 +66,7 @@ import com.thoughtworks.qdox.model.JavaType;
 @Component( role = MojoDescriptorExtractor.class, hint = "java-javadoc" )
 public class JavaJavadocMojoDescriptorExtractor
     extends AbstractLogEnabled
-    implements MojoDescriptorExtractor, JavadocMojoAnnotation
+    implements ApplicableMojoDescriptorExtractor, JavadocMojoAnnotation
 {
     /**
      * @param parameter not null
@@ -570,23 +571,41 @@ public class JavaJavadocMojoDescriptorExtractor
     public List<MojoDescriptor> execute( PluginToolsRequest request )
         throws ExtractionException, InvalidPluginDescriptorException
     {
-        Collection<JavaClass> javaClasses = discoverClasses( request );
-
         List<MojoDescriptor> descriptors = new ArrayList<>();
 
-        for ( JavaClass javaClass : javaClasses )
+        // the parsed classes are shared with the other extractors of the request, and QDox resolves their types
+        // lazily: descriptors are built while holding the lock of the model, and only validated once it is released
+        synchronized ( request.getJavaSourceModel() )
         {
-            DocletTag tag = javaClass.getTagByName( GOAL );
+            Collection<JavaClass> javaClasses;
+            try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.JAVADOC_SCAN ) )
+            {
+                javaClasses = discoverClasses( request );
+            }
 
-            if ( tag != null )
+            for ( JavaClass javaClass : javaClasses )
             {
-                MojoDescriptor mojoDescriptor = createMojoDescriptor( javaClass );
-                mojoDescriptor.setPluginDescriptor( request.getPluginDescriptor() );
+                DocletTag tag = javaClass.getTagByName( GOAL );
 
-                // Validate the descriptor as best we can before allowing it to be processed.
-                validate( mojoDescriptor );
+                if ( tag != null )
+                {
+                    try ( ExtractionPhase phase =
+                        ExtractionPhase.start( request, this, ExtractionListener.DESCRIPTOR_BUILD ) )
+                    {
+                        MojoDescriptor mojoDescriptor = createMojoDescriptor( javaClass );
+                        mojoDescriptor.setPluginDescriptor( request.getPluginDescriptor() );
+                        descriptors.add( mojoDescriptor );
+                    }
+                }
+            }
+        }
 
-                descriptors.add( mojoDescriptor );
+        for ( MojoDescriptor mojoDescriptor : descriptors )
+        {
+            // Validate the descriptor as best we can before allowing it to be processed.
+            try ( ExtractionPhase phase = ExtractionPhase.start( request, this, ExtractionListener.VALIDATION ) )
+            {
+                validate( mojoDescriptor );
             }
         }
 
@@ -594,45 +613,70 @@ public class JavaJavadocMojoDescriptorExtractor
     }
 
     /**
-     * @param request The plugin request.
-     * @return an array of java class
+     * {@inheritDoc}
+     * <p>
+     * Applicable when a source file contains the <code>@goal</code> text, without parsing it. Sources are read line by
+     * line up to the first match.
+     * </p>
      */
-    @SuppressWarnings( "unchecked" )
-    protected Collection<JavaClass> discoverClasses( final PluginToolsRequest request )
+    public boolean isApplicable( PluginToolsRequest request )
     {
-        JavaProjectBuilder builder = new JavaProjectBuilder( new SortedClassLibraryBuilder() );
-        builder.setEncoding( request.getEncoding() );
-        
-         // Build isolated Classloader with only the artifacts of the project (none of this plugin) 
-        List<URL> urls = new ArrayList<>( request.getDependencies().size() );
-        for ( Artifact artifact : request.getDependencies() )
+        for ( File sourceDirectory : JavaSourceModel.getSourceDirectories( request.getProject() ) )
         {
-            try
+            if ( !sourceDirectory.isDirectory() )
             {
-                urls.add( artifact.getFile().toURI().toURL() );
+                continue;
             }
-            catch ( MalformedURLException e )
+
+            DirectoryScanner scanner = new DirectoryScanner();
+            scanner.setBasedir( sourceDirectory );
+            scanner.setIncludes( new String[] { "**/*.java" } );
+            scanner.scan();
+
+            for ( String source : scanner.getIncludedFiles() )
             {
-                // noop
+                if ( containsGoal( new File( sourceDirectory, source ), request ) )
+                {
+                    return true;
+                }
             }
         }
-        builder.addClassLoader( new URLClassLoader( urls.toArray( new URL[0] ), ClassLoader.getSystemClassLoader() ) );
-        
-        MavenProject project = request.getProject();
 
-        for ( String source : (List<String>) project.getCompileSourceRoots() )
+        return false;
+    }
+
+    private boolean containsGoal( File sourceFile, PluginToolsRequest request )
+    {
+        try ( BufferedReader reader = new BufferedReader( request.getEncoding() == null
+                        ? ReaderFactory.newPlatformReader( sourceFile )
+                        : ReaderFactory.newReader( sourceFile, request.getEncoding() ) ) )
         {
-            builder.addSourceTree( new File( source ) );
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                if ( line.contains( "@" + GOAL ) )
+                {
+                    return true;
+                }
+            }
+            return false;
         }
-
-        // TODO be more dynamic
-        File generatedPlugin = new File( project.getBasedir(), "target/generated-sources/plugin" );
-        if ( !project.getCompileSourceRoots().contains( generatedPlugin.getAbsolutePath() ) )
+        catch ( IOException e )
         {
-            builder.addSourceTree( generatedPlugin );
+            // let the extraction report it
+            getLogger().debug( "Failed to read " + sourceFile + ": " + e.getMessage() );
+            return true;
         }
+    }
 
-        return builder.getClasses();
+    /**
+     * @param request The plugin request.
+     * @return the classes of the project sources, from the {@link PluginToolsRequest#getJavaSourceModel() shared
+     * source model} of the request
+     */
+    protected Collection<JavaClass> discoverClasses( final PluginToolsRequest request )
+    {
+        return request.getJavaSourceModel().getClasses( request );
     }
 
     /**
@@ -170,6 +170,34 @@ public class JavaMojoDescriptorExtractorTest
         return descriptor.getMojos();
     }
 
+    @Test
+    public void testIsApplicable()
+        throws Exception
+    {
+        JavaJavadocMojoDescriptorExtractor extractor = new JavaJavadocMojoDescriptorExtractor();
+        extractor.enableLogging( new ConsoleLogger( Logger.LEVEL_INFO, "test" ) );
+
+        assertTrue( extractor.isApplicable( createRequest( "source" ) ) );
+
+        File basedir = new File( "target/javadoc-probe" ).getAbsoluteFile();
+        FileUtils.deleteDirectory( basedir );
+        File source = new File( basedir, "src/main/java/Plain.java" );
+        source.getParentFile().mkdirs();
+        FileUtils.fileWrite( source, "UTF-8", "/** no mojo */ public class Plain {}" );
+
+        MavenProject project = new MavenProject( new Model() );
+        project.setFile( new File( basedir, "pom.xml" ) );
+        project.getBuild().setDirectory( new File( basedir, "target" ).getPath() );
+        project.addCompileSourceRoot( source.getParent() );
+        PluginToolsRequest request =
+            new DefaultPluginToolsRequest( project, new PluginDescriptor() ).setEncoding( "UTF-8" );
+
+        assertFalse( extractor.isApplicable( request ) );
+
+        FileUtils.fileWrite( source, "UTF-8", "/** @goal mojo */ public class Plain {}" );
+        assertTrue( extractor.isApplicable( request ) );
+    }
+
     @Test
     public void testShouldFindTwoMojoDescriptorsInTestSourceDirectory()
         throws Exception
@@ -38,6 +38,8 @@ import org.apache.maven.tools.plugin.DefaultPluginToolsRequest;
 import org.apache.maven.tools.plugin.PluginToolsRequest;
 import org.apache.maven.tools.plugin.extractor.ExtractionException;
 import org.codehaus.plexus.component.repository.ComponentRequirement;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -98,6 +100,25 @@ public class AntMojoDescriptorExtractorTest
         }
     }
 
+    @Test
+    public void testIsApplicable()
+        throws URISyntaxException
+    {
+        AntMojoDescriptorExtractor extractor = new AntMojoDescriptorExtractor();
+        extractor.enableLogging( new ConsoleLogger( Logger.LEVEL_INFO, "test" ) );
+
+        URL mojosXmlUrl = Thread.currentThread().getContextClassLoader().getResource( "basic/test.mojos.xml" );
+        MavenProject project = new MavenProject();
+        project.addScriptSourceRoot( Paths.get( mojosXmlUrl.toURI() ).toFile().getParent() );
+        assertTrue( extractor.isApplicable( new DefaultPluginToolsRequest( project, new PluginDescriptor() ) ) );
+
+        // neither *.build.xml scripts nor *.mojos.xml metadata
+        project = new MavenProject();
+        project.addScriptSourceRoot( new File( "src/test/java" ).getAbsolutePath() );
+        project.addScriptSourceRoot( new File( "src/main/scripts-missing" ).getAbsolutePath() );
+        assertFalse( extractor.isApplicable( new DefaultPluginToolsRequest( project, new PluginDescriptor() ) ) );
+    }
+
     private Map<String, Set<File>> buildTestMap( String resourceDirName )
     {
         try